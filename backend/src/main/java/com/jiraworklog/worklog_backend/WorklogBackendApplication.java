@@ -1,5 +1,7 @@
 package com.jiraworklog.worklog_backend;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
@@ -12,3 +14,37 @@ import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 
+@SpringBootApplication
+public class WorklogBackendApplication {
+
+	private static final Logger logger = LoggerFactory.getLogger(WorklogBackendApplication.class);
+
+	public static void main(String[] args) {
+		// .env next to the binary (KEY=value per line) provides settings such as jira.token
+		Map<String, String> env = loadDotEnv(Paths.get(".env"));
+		env.forEach((key, value) -> {
+			if (System.getProperty(key) == null) System.setProperty(key, value);
+		});
+		SpringApplication.run(WorklogBackendApplication.class, args);
+	}
+
+	static Map<String, String> loadDotEnv(Path file) {
+		Map<String, String> out = new HashMap<>();
+		if (!Files.isRegularFile(file)) return out;
+		try (BufferedReader br = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = br.readLine()) != null) {
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) continue;
+				int eq = line.indexOf('=');
+				if (eq <= 0) continue;
+				String value = line.substring(eq + 1).trim();
+				if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) value = value.substring(1, value.length() - 1);
+				out.put(line.substring(0, eq).trim(), value);
+			}
+		} catch (IOException e) {
+			logger.warn("Could not read {}: {}", file.toAbsolutePath(), e.getMessage());
+		}
+		return out;
+	}
+}
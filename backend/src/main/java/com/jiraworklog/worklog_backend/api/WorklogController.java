@@ -1,21 +1,37 @@
 package com.jiraworklog.worklog_backend.api;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.jiraworklog.worklog_backend.config.JiraHttpClientMetrics;
+import com.jiraworklog.worklog_backend.config.JiraRequestScheduler;
+import com.jiraworklog.worklog_backend.dto.IssueSummaryCacheStats;
+import com.jiraworklog.worklog_backend.dto.JiraHttpClientStats;
+import com.jiraworklog.worklog_backend.dto.JiraRateLimitStats;
+import com.jiraworklog.worklog_backend.dto.SuggestionExplanation;
 import com.jiraworklog.worklog_backend.dto.SuggestionRequest;
 import com.jiraworklog.worklog_backend.dto.SuggestionResponse;
 import com.jiraworklog.worklog_backend.dto.WorklogHistoryItem;
@@ -23,39 +39,85 @@ import com.jiraworklog.worklog_backend.dto.WorklogRequest;
 import com.jiraworklog.worklog_backend.dto.JiraIssueSummary;
 import com.jiraworklog.worklog_backend.dto.JiraSearchResult;
 import com.jiraworklog.worklog_backend.dto.JiraWorklogResponse;
+import com.jiraworklog.worklog_backend.dto.WorklogBatchResult;
+import com.jiraworklog.worklog_backend.dto.WorklogAggregation;
 import com.jiraworklog.worklog_backend.dto.WorklogEntry;
+import com.jiraworklog.worklog_backend.dto.WorklogFetchFailure;
+import com.jiraworklog.worklog_backend.dto.WorklogFetchResult;
+import com.jiraworklog.worklog_backend.dto.WorklogGapReport;
+import com.jiraworklog.worklog_backend.dto.WorklogMirrorStatus;
+import com.jiraworklog.worklog_backend.dto.WorklogStoreFootprint;
+import com.jiraworklog.worklog_backend.dto.QueuedWorklog;
 import com.jiraworklog.worklog_backend.dto.FavoriteWorklog;
-import com.jiraworklog.worklog_backend.service.CsvService;
+import com.jiraworklog.worklog_backend.service.FavoriteTicketsService;
+import com.jiraworklog.worklog_backend.service.IssueAutocompleteIndex;
+import com.jiraworklog.worklog_backend.service.IssueSummaryCache;
 import com.jiraworklog.worklog_backend.service.JiraService;
 import com.jiraworklog.worklog_backend.service.SuggestionService;
+import com.jiraworklog.worklog_backend.service.TimesheetGapService;
 import com.jiraworklog.worklog_backend.service.FavoritesService;
 import com.jiraworklog.worklog_backend.service.PrefixesService;
+import com.jiraworklog.worklog_backend.service.WorklogAggregator;
+import com.jiraworklog.worklog_backend.service.WorklogMirrorService;
+import com.jiraworklog.worklog_backend.service.WorklogQueueService;
+import com.jiraworklog.worklog_backend.service.WorklogSearchIndex;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import tools.jackson.databind.json.JsonMapper;
+
 @RestController
 public class WorklogController {
 
     private static final Logger logger = LoggerFactory.getLogger(WorklogController.class);
+    private static final String NDJSON_VALUE = "application/x-ndjson";
 
     private final JiraService jiraService;
     private final SuggestionService suggestionService;
-    private final CsvService csvService;
+    private final FavoriteTicketsService favoriteTicketsService;
     private final FavoritesService favoritesService;
     private final PrefixesService prefixesService;
+    private final WorklogMirrorService worklogMirrorService;
+    private final WorklogQueueService worklogQueueService;
+    private final IssueSummaryCache issueSummaryCache;
+    private final IssueAutocompleteIndex issueAutocompleteIndex;
+    private final WorklogSearchIndex worklogSearchIndex;
+    private final TimesheetGapService timesheetGapService;
+    private final JiraHttpClientMetrics jiraHttpClientMetrics;
+    private final JiraRequestScheduler jiraRequestScheduler;
+    private final JsonMapper jsonMapper;
 
     @Value("${worklog.username:arek}")
     private String worklogUsername;
 
+    @Value("${worklog.batch.max-size:200}")
+    private int maxBatchSize;
+
+    // part of every ETag, so tags from before a restart (when store versions start over) never match
+    private final String etagEpoch = Long.toString(System.currentTimeMillis(), 36);
+
     public WorklogController(JiraService jiraService, SuggestionService suggestionService, 
-                           CsvService csvService, FavoritesService favoritesService,
-                           PrefixesService prefixesService) {
+                           FavoriteTicketsService favoriteTicketsService, FavoritesService favoritesService,
+                           PrefixesService prefixesService, WorklogMirrorService worklogMirrorService,
+                           WorklogQueueService worklogQueueService, IssueSummaryCache issueSummaryCache,
+                           IssueAutocompleteIndex issueAutocompleteIndex, WorklogSearchIndex worklogSearchIndex,
+                           TimesheetGapService timesheetGapService, JiraHttpClientMetrics jiraHttpClientMetrics,
+                           JiraRequestScheduler jiraRequestScheduler, JsonMapper jsonMapper) {
         this.jiraService = jiraService;
         this.suggestionService = suggestionService;
-        this.csvService = csvService;
+        this.favoriteTicketsService = favoriteTicketsService;
         this.favoritesService = favoritesService;
         this.prefixesService = prefixesService;
+        this.worklogMirrorService = worklogMirrorService;
+        this.worklogQueueService = worklogQueueService;
+        this.issueSummaryCache = issueSummaryCache;
+        this.issueAutocompleteIndex = issueAutocompleteIndex;
+        this.worklogSearchIndex = worklogSearchIndex;
+        this.timesheetGapService = timesheetGapService;
+        this.jiraHttpClientMetrics = jiraHttpClientMetrics;
+        this.jiraRequestScheduler = jiraRequestScheduler;
+        this.jsonMapper = jsonMapper;
     }
 
     @PostMapping("/api/worklogs")
@@ -65,13 +127,71 @@ public class WorklogController {
         // Override username from request with configured username
         request.setUsername(worklogUsername);
         JiraWorklogResponse resp = jiraService.createWorklog(request);
+        worklogMirrorService.recordCreated(request, resp);
         return ResponseEntity.ok(resp);
     }
 
+    /**
+     * Submits a whole day or week of worklogs in one round trip. Each item gets its own result,
+     * in input order; failed items do not stop the others.
+     */
+    @PostMapping("/api/worklogs/batch")
+    public ResponseEntity<List<WorklogBatchResult>> createWorklogs(@RequestBody List<WorklogRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        logger.info("Received createWorklogs batch - size={}", requests.size());
+        for (WorklogRequest request : requests) {
+            request.setUsername(worklogUsername);
+        }
+        List<WorklogBatchResult> results = jiraService.createWorklogs(requests);
+        for (WorklogBatchResult result : results) {
+            if (WorklogBatchResult.CREATED.equals(result.getStatus())) {
+                worklogMirrorService.recordCreated(requests.get(result.getIndex()), result.getWorklog());
+            }
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Accepts a worklog for asynchronous delivery to Jira. Returns 202 as soon as the request is in
+     * the on-disk journal; the entry can be followed via {@code GET /api/worklogs/queue/{id}}.
+     */
+    @PostMapping("/api/worklogs/queue")
+    public ResponseEntity<QueuedWorklog> queueWorklog(@RequestBody WorklogRequest request,
+                                                      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (request == null || request.getTicketKey() == null || request.getTicketKey().isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        request.setUsername(worklogUsername);
+        QueuedWorklog queued = worklogQueueService.submit(request, idempotencyKey);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(queued);
+    }
+
+    @GetMapping("/api/worklogs/queue")
+    public ResponseEntity<List<QueuedWorklog>> getQueuedWorklogs(@RequestParam(required = false) String status) {
+        return ResponseEntity.ok(worklogQueueService.list(status));
+    }
+
+    @GetMapping("/api/worklogs/queue/{id}")
+    public ResponseEntity<QueuedWorklog> getQueuedWorklog(@PathVariable String id) {
+        QueuedWorklog queued = worklogQueueService.get(id);
+        return queued == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(queued);
+    }
+
+    @PostMapping("/api/worklogs/queue/{id}/retry")
+    public ResponseEntity<QueuedWorklog> retryQueuedWorklog(@PathVariable String id) {
+        QueuedWorklog queued = worklogQueueService.retry(id);
+        return queued == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(queued);
+    }
+
     @GetMapping("/api/worklogs/history")
     public ResponseEntity<List<WorklogHistoryItem>> getHistory(@RequestParam(required = false, defaultValue = "7") int days) {
         // Use configured username, ignore parameter from frontend
         String username = worklogUsername;
+        if (worklogMirrorService.coversHistory(days)) {
+            return mirrorResponse().body(worklogMirrorService.getHistory(days, username));
+        }
         String jql = "worklogDate >= '-" + days + "d'";
         if (username != null && !username.isBlank()) {
             jql += " AND worklogAuthor = '" + username + "'";
@@ -81,6 +201,7 @@ public class WorklogController {
         // convert to WorklogHistoryItem
         List<WorklogHistoryItem> out = new ArrayList<>();
         if (resp != null && resp.getIssues() != null) {
+            issueAutocompleteIndex.recordAll(resp.getIssues(), System.currentTimeMillis());
             for (JiraIssueSummary i : resp.getIssues()) {
                 WorklogHistoryItem item = new WorklogHistoryItem();
                 item.setTicketKey(i.getKey());
@@ -93,24 +214,60 @@ public class WorklogController {
 
     @GetMapping("/api/jira/{key}/summary")
     public ResponseEntity<JiraIssueSummary> getIssueSummary(@PathVariable String key) {
-        JiraIssueSummary resp = jiraService.getIssueSummary(key);
+        JiraIssueSummary resp = issueSummaryCache.get(key);
+        if (resp == null) {
+            return ResponseEntity.notFound().build();
+        }
+        issueAutocompleteIndex.record(resp.getKey(), resp.getSummary(), System.currentTimeMillis());
         return ResponseEntity.ok(resp);
     }
 
+    /**
+     * Ticket suggestions while a key or part of a summary is typed, answered from the local index only.
+     */
+    @GetMapping("/api/jira/autocomplete")
+    public ResponseEntity<List<JiraIssueSummary>> autocompleteIssues(@RequestParam(required = false) String q,
+                                                                     @RequestParam(required = false, defaultValue = "10") int limit) {
+        if (limit < 1 || limit > IssueAutocompleteIndex.MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(issueAutocompleteIndex.complete(q, limit));
+    }
+
+    @GetMapping("/api/jira/summary-cache")
+    public ResponseEntity<IssueSummaryCacheStats> getIssueSummaryCacheStats() {
+        return ResponseEntity.ok(issueSummaryCache.getStats());
+    }
+
+    @GetMapping("/api/jira/client-metrics")
+    public ResponseEntity<JiraHttpClientStats> getJiraClientMetrics() {
+        return ResponseEntity.ok(jiraHttpClientMetrics.snapshot());
+    }
+
+    @GetMapping("/api/jira/rate-limit")
+    public ResponseEntity<JiraRateLimitStats> getJiraRateLimit() {
+        return ResponseEntity.ok(jiraRequestScheduler.snapshot());
+    }
+
     @PostMapping("/api/suggestions/prefixes")
     public ResponseEntity<SuggestionResponse> suggestPrefixes(@RequestBody SuggestionRequest req) {
-        List<String> prefixes = suggestionService.suggestPrefixes(req.getTicketKey(), req.getBaseComment());
-        return ResponseEntity.ok(new SuggestionResponse(prefixes));
+        List<SuggestionExplanation> explanations = suggestionService.explainPrefixes(req.getTicketKey(), req.getBaseComment());
+        SuggestionResponse resp = new SuggestionResponse(SuggestionService.prefixesOf(explanations),
+                suggestionService.suggestComments(req.getTicketKey()));
+        resp.setExplanations(explanations);
+        return ResponseEntity.ok(resp);
     }
 
     @GetMapping("/api/constant-prefixes")
     public ResponseEntity<List<String>> getConstantPrefixes() {
-        return ResponseEntity.ok(prefixesService.getConstantPrefixes());
+        PrefixesService.Snapshot snapshot = prefixesService.getSnapshot();
+        return versioned("prefixes", snapshot.version()).body(snapshot.constantPrefixes());
     }
 
     @GetMapping("/api/prefixes")
     public ResponseEntity<List<?>> getPrefixes() {
-        return ResponseEntity.ok(prefixesService.getAllPrefixes());
+        PrefixesService.Snapshot snapshot = prefixesService.getSnapshot();
+        return versioned("prefixes", snapshot.version()).body(snapshot.prefixes());
     }
 
     @PostMapping("/api/prefixes")
@@ -134,12 +291,32 @@ public class WorklogController {
     @GetMapping("/api/favorites")
     public ResponseEntity<?> getFavorites() {
         // Keep backward compatibility - return old CSV favorites
-        return ResponseEntity.ok(csvService.loadFavoriteTickets());
+        FavoriteTicketsService.Snapshot snapshot = favoriteTicketsService.getSnapshot();
+        return versioned("favorite-tickets", snapshot.version()).body(snapshot.tickets());
     }
 
+    /**
+     * Favorite worklogs, optionally only those of {@code ticketKey}, sorted and paged. Without
+     * {@code page}/{@code size} all matches are returned; {@code X-Total-Count} is the number of matches.
+     */
     @GetMapping("/api/favorites/worklogs")
-    public ResponseEntity<List<FavoriteWorklog>> getFavoriteWorklogs() {
-        return ResponseEntity.ok(favoritesService.getAllFavorites());
+    public ResponseEntity<List<FavoriteWorklog>> getFavoriteWorklogs(@RequestParam(required = false) String ticketKey,
+                                                                     @RequestParam(required = false) String sort,
+                                                                     @RequestParam(required = false, defaultValue = "asc") String direction,
+                                                                     @RequestParam(required = false) Integer page,
+                                                                     @RequestParam(required = false) Integer size) {
+        boolean descending = "desc".equalsIgnoreCase(direction);
+        if ((sort != null && !favoritesService.isSortKey(sort)) || (!descending && !"asc".equalsIgnoreCase(direction))
+                || (page != null && page < 0) || (size != null && (size < 1 || size > FavoritesService.MAX_PAGE_SIZE))) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageNumber = page == null ? 0 : page;
+        int pageSize = size != null ? size : page != null ? FavoritesService.DEFAULT_PAGE_SIZE : Integer.MAX_VALUE;
+        FavoritesService.Snapshot snapshot = favoritesService.getSnapshot();
+        FavoritesService.Page result = favoritesService.findFavorites(snapshot, ticketKey, sort, descending, pageNumber, pageSize);
+        return versioned("favorites", snapshot.version())
+                .header("X-Total-Count", Integer.toString(result.total()))
+                .body(result.items());
     }
 
     @PostMapping("/api/favorites/worklogs")
@@ -164,13 +341,165 @@ public class WorklogController {
     @GetMapping("/api/worklogs/list")
     public ResponseEntity<List<WorklogEntry>> getWorklogsBetween(@RequestParam String from, @RequestParam String to) {
         String username = worklogUsername;
-        List<WorklogEntry> list = jiraService.getWorklogsBetween(from, to, username);
-        return ResponseEntity.ok(list);
+        if (worklogMirrorService.covers(from)) {
+            return mirrorResponse().body(worklogMirrorService.getWorklogsBetween(from, to, username));
+        }
+        WorklogFetchResult result = jiraService.fetchWorklogsBetween(from, to, username);
+        return jiraResponse(result).body(result.getEntries());
+    }
+
+    /**
+     * Total time logged between {@code from} and {@code to}, per day, ISO week, ticket or prefix. Served
+     * from the worklog mirror when it covers {@code from}, otherwise fetched from Jira like
+     * {@code /api/worklogs/list}.
+     */
+    @GetMapping("/api/worklogs/aggregate")
+    public ResponseEntity<WorklogAggregation> aggregateWorklogs(@RequestParam String from, @RequestParam String to,
+                                                                @RequestParam(required = false, defaultValue = WorklogAggregator.DAY) String groupBy) {
+        if (!isDateOrNull(from) || !isDateOrNull(to) || !WorklogAggregator.isGroupBy(groupBy)) {
+            return ResponseEntity.badRequest().build();
+        }
+        String username = worklogUsername;
+        if (worklogMirrorService.covers(from)) {
+            List<WorklogEntry> entries = worklogMirrorService.getWorklogsBetween(from, to, username);
+            return mirrorResponse().body(WorklogAggregator.aggregate(entries, groupBy, from, to));
+        }
+        WorklogFetchResult result = jiraService.fetchWorklogsBetween(from, to, username);
+        return jiraResponse(result).body(WorklogAggregator.aggregate(result.getEntries(), groupBy, from, to));
+    }
+
+    /**
+     * Working days logged short of {@code targetHours} and days logged over {@code worklog.gaps.max-hours}
+     * between {@code from} and {@code to}, from the same worklogs as {@code /api/worklogs/list}.
+     */
+    @GetMapping("/api/worklogs/gaps")
+    public ResponseEntity<WorklogGapReport> findWorklogGaps(@RequestParam String from, @RequestParam String to,
+                                                            @RequestParam(required = false, defaultValue = "8") double targetHours) {
+        if (!isDateOrNull(from) || !isDateOrNull(to) || !(targetHours > 0 && targetHours <= 24)) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDate fromDate = LocalDate.parse(from);
+        LocalDate toDate = LocalDate.parse(to);
+        if (toDate.isBefore(fromDate) || !toDate.isBefore(fromDate.plusDays(TimesheetGapService.MAX_DAYS))) {
+            return ResponseEntity.badRequest().build();
+        }
+        String username = worklogUsername;
+        if (worklogMirrorService.covers(from)) {
+            List<WorklogEntry> entries = worklogMirrorService.getWorklogsBetween(from, to, username);
+            return mirrorResponse().body(timesheetGapService.findGaps(entries, fromDate, toDate, targetHours));
+        }
+        WorklogFetchResult result = jiraService.fetchWorklogsBetween(from, to, username);
+        return jiraResponse(result).body(timesheetGapService.findGaps(result.getEntries(), fromDate, toDate, targetHours));
+    }
+
+    // surface issues whose worklogs could not be fetched instead of returning silently short results
+    private static ResponseEntity.BodyBuilder jiraResponse(WorklogFetchResult result) {
+        if (!result.isPartial()) return ResponseEntity.ok();
+        List<String> failed = new ArrayList<>();
+        for (WorklogFetchFailure f : result.getFailures()) {
+            failed.add(f.getIssueKey() == null ? "search" : f.getIssueKey());
+            logger.warn("Worklog fetch failed - ticket={}, error={}", f.getIssueKey(), f.getMessage());
+        }
+        return ResponseEntity.ok().header("X-Worklog-Fetch-Failures", String.join(",", failed));
+    }
+
+    /**
+     * Full-text search over the comments, ticket keys and summaries of mirrored and created worklogs,
+     * newest first; {@code X-Total-Count} is the number of matches. Never calls Jira.
+     */
+    @GetMapping("/api/worklogs/search")
+    public ResponseEntity<List<WorklogEntry>> searchWorklogs(@RequestParam String q,
+                                                             @RequestParam(required = false) String from,
+                                                             @RequestParam(required = false) String to,
+                                                             @RequestParam(required = false, defaultValue = "50") int limit) {
+        if (q.isBlank() || limit < 1 || limit > WorklogSearchIndex.MAX_LIMIT || !isDateOrNull(from) || !isDateOrNull(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        WorklogSearchIndex.Result result = worklogSearchIndex.search(q, from, to, limit);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", Integer.toString(result.total()))
+                .body(result.items());
+    }
+
+    private static boolean isDateOrNull(String date) {
+        if (date == null) return true;
+        try {
+            LocalDate.parse(date);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Streaming variant of {@code /api/worklogs/list}: writes one JSON entry per line as soon as each
+     * issue's worklogs arrive. Issues that could not be fetched are reported as
+     * {@code {"failure":{"issueKey":...,"message":...}}} lines at the end of the stream.
+     */
+    @GetMapping(value = "/api/worklogs/list/stream", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamWorklogsBetween(@RequestParam String from, @RequestParam String to) {
+        String username = worklogUsername;
+        StreamingResponseBody body = out -> {
+            List<WorklogFetchFailure> failures = jiraService.streamWorklogsBetween(from, to, username, batch -> {
+                try {
+                    for (WorklogEntry entry : batch) {
+                        out.write(jsonMapper.writeValueAsBytes(entry));
+                        out.write('\n');
+                    }
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            for (WorklogFetchFailure f : failures) {
+                logger.warn("Worklog fetch failed - ticket={}, error={}", f.getIssueKey(), f.getMessage());
+                out.write(jsonMapper.writeValueAsBytes(Map.of("failure", f)));
+                out.write('\n');
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
+    }
+
+    @GetMapping("/api/worklogs/mirror")
+    public ResponseEntity<WorklogMirrorStatus> getMirrorStatus() {
+        return ResponseEntity.ok(worklogMirrorService.getStatus());
+    }
+
+    @GetMapping("/api/worklogs/mirror/footprint")
+    public ResponseEntity<WorklogStoreFootprint> getMirrorFootprint() {
+        return ResponseEntity.ok(worklogMirrorService.getFootprint());
+    }
+
+    @PostMapping("/api/worklogs/mirror/sync")
+    public ResponseEntity<WorklogMirrorStatus> syncMirror() {
+        worklogMirrorService.sync();
+        return ResponseEntity.ok(worklogMirrorService.getStatus());
+    }
+
+    /**
+     * 200 with a strong ETag naming {@code version} of {@code store}. When it matches the request's
+     * {@code If-None-Match}, Spring answers 304 without serializing the body. {@code no-cache} lets the
+     * browser keep the response but revalidate it on each use (Spring Security's default would be
+     * {@code no-store}, which disables revalidation).
+     */
+    private ResponseEntity.BodyBuilder versioned(String store, long version) {
+        return ResponseEntity.ok()
+                .eTag("\"" + store + "-" + etagEpoch + "-" + version + "\"")
+                .cacheControl(CacheControl.noCache().cachePrivate());
+    }
+
+    // Responses served from the local mirror say so and tell the client how fresh the data is
+    private ResponseEntity.BodyBuilder mirrorResponse() {
+        return ResponseEntity.ok()
+                .header("X-Worklog-Source", "mirror")
+                .header("X-Worklog-Synced-At", worklogMirrorService.getLastSyncedAt().toString());
     }
 
     @GetMapping("/api/prefixes/enabled")
     public ResponseEntity<Boolean> getPrefixesEnabled() {
-        return ResponseEntity.ok(prefixesService.isPrefixesEnabled());
+        PrefixesService.Snapshot snapshot = prefixesService.getSnapshot();
+        return versioned("prefixes", snapshot.version()).body(snapshot.enabled());
     }
 
     @PutMapping("/api/prefixes/enabled")
@@ -0,0 +1,86 @@
+package com.jiraworklog.worklog_backend.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Asks for gzip-compressed responses and transparently inflates them. The JDK HTTP client does
+ * not do this on its own, and Jira's JSON payloads compress very well.
+ */
+public class GzipDecompressingInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (!request.getHeaders().containsHeader(HttpHeaders.ACCEPT_ENCODING)) {
+            request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        }
+        ClientHttpResponse response = execution.execute(request, body);
+        String encoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        if (encoding != null && encoding.trim().equalsIgnoreCase("gzip")) {
+            return new GzipResponse(response);
+        }
+        return response;
+    }
+
+    private static final class GzipResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final HttpHeaders headers = new HttpHeaders();
+        private InputStream body;
+
+        GzipResponse(ClientHttpResponse delegate) {
+            this.delegate = delegate;
+            // the body handed out is no longer encoded, and its length is unknown
+            delegate.getHeaders().forEach((name, values) -> {
+                if (!name.equalsIgnoreCase(HttpHeaders.CONTENT_ENCODING) && !name.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH)) {
+                    headers.addAll(name, values);
+                }
+            });
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                // an empty body (e.g. 204 or HEAD) is not valid gzip, so peek before inflating
+                PushbackInputStream raw = new PushbackInputStream(delegate.getBody(), 1);
+                int first = raw.read();
+                if (first == -1) {
+                    body = InputStream.nullInputStream();
+                } else {
+                    raw.unread(first);
+                    body = new GZIPInputStream(raw);
+                }
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.jiraworklog.worklog_backend.config;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.jiraworklog.worklog_backend.dto.JiraHttpClientStats;
+
+/**
+ * Counts traffic of the Jira HTTP client: requests, concurrently active exchanges (i.e. connections
+ * or HTTP/2 streams in use), status classes, I/O errors, compressed responses and latency.
+ */
+public class JiraHttpClientMetrics implements ClientHttpRequestInterceptor {
+
+    private final LongAdder requests = new LongAdder();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peakActive = new AtomicInteger();
+    private final LongAdder ioErrors = new LongAdder();
+    private final LongAdder status2xx = new LongAdder();
+    private final LongAdder status4xx = new LongAdder();
+    private final LongAdder status5xx = new LongAdder();
+    private final LongAdder gzipResponses = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    private volatile JiraHttpClientStats config = new JiraHttpClientStats();
+
+    void describePool(String httpVersion, long connectTimeoutMs, long readTimeoutMs, long keepAliveSeconds, int maxConnections) {
+        JiraHttpClientStats c = new JiraHttpClientStats();
+        c.setHttpVersion(httpVersion);
+        c.setConnectTimeoutMs(connectTimeoutMs);
+        c.setReadTimeoutMs(readTimeoutMs);
+        c.setKeepAliveSeconds(keepAliveSeconds);
+        c.setMaxConnections(maxConnections);
+        this.config = c;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        requests.increment();
+        peakActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        long start = System.nanoTime();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            int status = response.getStatusCode().value();
+            if (status >= 500) status5xx.increment();
+            else if (status >= 400) status4xx.increment();
+            else if (status >= 200 && status < 300) status2xx.increment();
+            if ("gzip".equalsIgnoreCase(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))) {
+                gzipResponses.increment();
+            }
+            return response;
+        } catch (IOException e) {
+            ioErrors.increment();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            totalLatencyNanos.add(elapsed);
+            maxLatencyNanos.accumulateAndGet(elapsed, Math::max);
+            active.decrementAndGet();
+        }
+    }
+
+    public JiraHttpClientStats snapshot() {
+        JiraHttpClientStats c = config;
+        JiraHttpClientStats s = new JiraHttpClientStats();
+        s.setHttpVersion(c.getHttpVersion());
+        s.setConnectTimeoutMs(c.getConnectTimeoutMs());
+        s.setReadTimeoutMs(c.getReadTimeoutMs());
+        s.setKeepAliveSeconds(c.getKeepAliveSeconds());
+        s.setMaxConnections(c.getMaxConnections());
+        long count = requests.sum();
+        s.setRequests(count);
+        s.setActive(active.get());
+        s.setPeakActive(peakActive.get());
+        s.setIoErrors(ioErrors.sum());
+        s.setStatus2xx(status2xx.sum());
+        s.setStatus4xx(status4xx.sum());
+        s.setStatus5xx(status5xx.sum());
+        s.setGzipResponses(gzipResponses.sum());
+        s.setAvgLatencyMs(count == 0 ? 0.0 : totalLatencyNanos.sum() / 1_000_000.0 / count);
+        s.setMaxLatencyMs(maxLatencyNanos.get() / 1_000_000.0);
+        return s;
+    }
+}
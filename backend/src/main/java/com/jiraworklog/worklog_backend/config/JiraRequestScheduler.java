@@ -0,0 +1,269 @@
+package com.jiraworklog.worklog_backend.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.jiraworklog.worklog_backend.dto.JiraRateLimitStats;
+
+/**
+ * Admission control for Jira requests. A request is started only when
+ * <ul>
+ *   <li>the token bucket has a token (steady rate plus a burst allowance),</li>
+ *   <li>fewer requests than the current concurrency limit are in flight, and</li>
+ *   <li>Jira has not asked us to pause ({@code Retry-After}, or {@code X-RateLimit-Remaining: 0} with
+ *       {@code X-RateLimit-Reset}).</li>
+ * </ul>
+ * The concurrency limit adapts AIMD-style: it grows by about one per limit's worth of successful
+ * requests and is halved when Jira answers 429, at most once per round trip. Throttled requests are
+ * retried after the requested pause. A request that cannot start before its queueing deadline fails
+ * with {@link JiraThrottledException}.
+ */
+public class JiraRequestScheduler implements ClientHttpRequestInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(JiraRequestScheduler.class);
+
+    private final double configuredRate;
+    private final int burst;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final long queueTimeoutNanos;
+    private final int maxRetries;
+    private final long maxPauseNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    // guarded by lock
+    private double rate;
+    private double tokens;
+    private long refilledAtNanos;
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private long pausedUntilNanos;
+    private long lastDecreaseNanos;
+
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder decreases = new LongAdder();
+
+    public JiraRequestScheduler(double requestsPerSecond, int burst, int initialConcurrency, int minConcurrency,
+                                int maxConcurrency, long queueTimeoutMs, int maxRetries, long maxPauseMs) {
+        this.configuredRate = Math.max(0.1, requestsPerSecond);
+        this.burst = Math.max(1, burst);
+        this.minConcurrency = Math.max(1, minConcurrency);
+        this.maxConcurrency = Math.max(this.minConcurrency, maxConcurrency);
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMs);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.maxPauseNanos = TimeUnit.MILLISECONDS.toNanos(maxPauseMs);
+        this.rate = configuredRate;
+        this.tokens = this.burst;
+        this.refilledAtNanos = System.nanoTime();
+        this.limit = Math.min(this.maxConcurrency, Math.max(this.minConcurrency, initialConcurrency));
+        this.lastDecreaseNanos = refilledAtNanos;
+        this.pausedUntilNanos = refilledAtNanos;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        long deadline = System.nanoTime() + queueTimeoutNanos;
+        for (int attempt = 0; ; attempt++) {
+            acquire(deadline, request);
+            long startedAt = System.nanoTime();
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException | RuntimeException e) {
+                release(startedAt, false, 0);
+                throw e;
+            }
+            int status = response.getStatusCode().value();
+            HttpHeaders headers = response.getHeaders();
+            adjustRate(headers);
+            long pauseNanos = pauseRequested(headers, status);
+            // a 429 was not processed by Jira, so it is safe to send again; so is a 503 that names a retry time
+            boolean overloaded = status == 429 || (status == 503 && pauseNanos > 0);
+            if (overloaded) throttled.increment();
+            long resumeAt = release(startedAt, overloaded, overloaded ? Math.max(pauseNanos, TimeUnit.SECONDS.toNanos(1)) : pauseNanos);
+            if (overloaded && attempt < maxRetries && resumeAt - deadline < 0) {
+                logger.debug("Jira throttled {} {} ({}), retrying", request.getMethod(), request.getURI().getPath(), status);
+                retries.increment();
+                response.close();
+                continue;
+            }
+            return response;
+        }
+    }
+
+    private void acquire(long deadline, HttpRequest request) throws IOException {
+        lock.lock();
+        waiting++;
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                refill(now);
+                long waitNanos; // -1 = until a request completes
+                if (pausedUntilNanos - now > 0) {
+                    waitNanos = pausedUntilNanos - now;
+                } else if (inFlight >= (int) limit) {
+                    waitNanos = -1;
+                } else if (tokens < 1) {
+                    waitNanos = (long) Math.ceil((1 - tokens) / rate * 1e9);
+                } else {
+                    tokens -= 1;
+                    inFlight++;
+                    return;
+                }
+                long remaining = deadline - now;
+                if (remaining <= 0 || waitNanos > remaining) {
+                    rejected.increment();
+                    throw new JiraThrottledException("Jira request " + request.getMethod() + " " + request.getURI().getPath()
+                            + " not started within " + TimeUnit.NANOSECONDS.toMillis(queueTimeoutNanos) + " ms (rate limited)");
+                }
+                changed.awaitNanos(waitNanos < 0 ? remaining : waitNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to call Jira", e);
+        } finally {
+            waiting--;
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return when requests may resume (nanoTime)
+     */
+    private long release(long startedAt, boolean overloaded, long pauseNanos) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            inFlight--;
+            if (overloaded) {
+                // requests sent before the last decrease saw the old limit; count each overload once
+                if (startedAt - lastDecreaseNanos > 0) {
+                    limit = Math.max(minConcurrency, limit / 2);
+                    lastDecreaseNanos = now;
+                    decreases.increment();
+                    logger.info("Jira is throttling, concurrency limit lowered to {}", (int) limit);
+                }
+            } else {
+                limit = Math.min(maxConcurrency, limit + 1 / limit);
+            }
+            if (pauseNanos > 0) {
+                long until = now + Math.min(pauseNanos, maxPauseNanos);
+                if (until - pausedUntilNanos > 0) pausedUntilNanos = until;
+            }
+            changed.signalAll();
+            return pausedUntilNanos - now > 0 ? pausedUntilNanos : now;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - refilledAtNanos) / 1e9 * rate);
+        refilledAtNanos = now;
+    }
+
+    // Jira Cloud publishes its bucket as X-RateLimit-FillRate tokens per X-RateLimit-Interval-Seconds
+    private void adjustRate(HttpHeaders headers) {
+        Double fillRate = parseDouble(headers.getFirst("X-RateLimit-FillRate"));
+        Double interval = parseDouble(headers.getFirst("X-RateLimit-Interval-Seconds"));
+        if (fillRate == null || interval == null || fillRate <= 0 || interval <= 0) return;
+        double serverRate = Math.min(configuredRate, fillRate / interval);
+        lock.lock();
+        try {
+            if (serverRate != rate) {
+                refill(System.nanoTime());
+                rate = serverRate;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static long pauseRequested(HttpHeaders headers, int status) {
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter != null && (status == 429 || status == 503)) {
+            Long nanos = parseRetryAfter(retryAfter.trim());
+            if (nanos != null) return nanos;
+        }
+        if ("0".equals(headers.getFirst("X-RateLimit-Remaining"))) {
+            String reset = headers.getFirst("X-RateLimit-Reset");
+            if (reset != null) {
+                try {
+                    return Math.max(0, Duration.between(Instant.now(), Instant.parse(reset.trim())).toNanos());
+                } catch (DateTimeParseException e) {
+                    // unknown format, ignore
+                }
+            }
+        }
+        return 0;
+    }
+
+    // delay-seconds or an HTTP-date
+    private static Long parseRetryAfter(String value) {
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            // not a number, try the date form
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(Instant.now(), at.toInstant()).toNanos());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static Double parseDouble(String value) {
+        if (value == null) return null;
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public JiraRateLimitStats snapshot() {
+        JiraRateLimitStats s = new JiraRateLimitStats();
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refill(now);
+            s.setRequestsPerSecond(rate);
+            s.setBurst(burst);
+            s.setAvailableTokens(tokens);
+            s.setConcurrencyLimit(limit);
+            s.setMinConcurrency(minConcurrency);
+            s.setMaxConcurrency(maxConcurrency);
+            s.setInFlight(inFlight);
+            s.setWaiting(waiting);
+            s.setPausedForMs(Math.max(0, TimeUnit.NANOSECONDS.toMillis(pausedUntilNanos - now)));
+        } finally {
+            lock.unlock();
+        }
+        s.setThrottledResponses(throttled.sum());
+        s.setRetries(retries.sum());
+        s.setRejected(rejected.sum());
+        s.setLimitDecreases(decreases.sum());
+        return s;
+    }
+}
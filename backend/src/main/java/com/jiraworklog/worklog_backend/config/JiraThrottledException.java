@@ -0,0 +1,14 @@
+package com.jiraworklog.worklog_backend.config;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Thrown when a Jira request could not be started before its queueing deadline, because the rate
+ * limit, the concurrency limit or a server-requested pause kept it waiting too long.
+ */
+public class JiraThrottledException extends RestClientException {
+
+    public JiraThrottledException(String message) {
+        super(message);
+    }
+}
@@ -1,14 +1,73 @@
 package com.jiraworklog.worklog_backend.config;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public JiraHttpClientMetrics jiraHttpClientMetrics() {
+        return new JiraHttpClientMetrics();
+    }
+
+    @Bean
+    public JiraRequestScheduler jiraRequestScheduler(@Value("${jira.rate-limit.requests-per-second:10}") double requestsPerSecond,
+                                                     @Value("${jira.rate-limit.burst:20}") int burst,
+                                                     @Value("${jira.rate-limit.initial-concurrency:8}") int initialConcurrency,
+                                                     @Value("${jira.rate-limit.min-concurrency:1}") int minConcurrency,
+                                                     @Value("${jira.rate-limit.max-concurrency:32}") int maxConcurrency,
+                                                     @Value("${jira.rate-limit.queue-timeout-ms:30000}") long queueTimeoutMs,
+                                                     @Value("${jira.rate-limit.max-retries:3}") int maxRetries,
+                                                     @Value("${jira.rate-limit.max-pause-ms:120000}") long maxPauseMs) {
+        return new JiraRequestScheduler(requestsPerSecond, burst, initialConcurrency, minConcurrency, maxConcurrency,
+                queueTimeoutMs, maxRetries, maxPauseMs);
+    }
+
+    /**
+     * Client used for all Jira calls. A single shared JDK {@link HttpClient} keeps connections alive
+     * and reuses them across requests, negotiates HTTP/2 over TLS when Jira supports it, and never
+     * waits longer than the configured connect/read timeouts. Responses are requested gzip-compressed.
+     * Every request first passes the {@link JiraRequestScheduler} (rate and concurrency limits).
+     *
+     * <p>Pool size and keep-alive are JVM-wide settings of the JDK client, read once from the
+     * {@code jdk.httpclient.connectionPoolSize} and {@code jdk.httpclient.keepalive.timeout} system
+     * properties. They are passed as {@code -D} flags by {@code run.sh} and {@code spring-boot:run},
+     * not set from here.
+     */
+    @Bean
+    public RestTemplate jiraRestTemplate(JiraHttpClientMetrics metrics, JiraRequestScheduler scheduler,
+                                         @Value("${jira.url:}") String jiraUrl,
+                                         @Value("${jira.http.connect-timeout-ms:5000}") long connectTimeoutMs,
+                                         @Value("${jira.http.read-timeout-ms:30000}") long readTimeoutMs,
+                                         @Value("${jira.http.http2-enabled:true}") boolean http2Enabled) {
+        // HTTP/2 is only attempted over TLS (ALPN); plain-http stubs and proxies stay on HTTP/1.1
+        HttpClient.Version version = http2Enabled && jiraUrl.startsWith("https")
+                ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1;
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        RestTemplate template = new RestTemplate(requestFactory);
+        // the scheduler is outermost, so each retry of a throttled request is counted by the metrics;
+        // gzip comes before metrics, so the metrics interceptor still sees the original Content-Encoding
+        template.getInterceptors().add(scheduler);
+        template.getInterceptors().add(new GzipDecompressingInterceptor());
+        template.getInterceptors().add(metrics);
+        // reported as the JDK client sees them; its defaults are a 30 s keep-alive and no pool limit
+        metrics.describePool(version.name(), connectTimeoutMs, readTimeoutMs,
+                Long.getLong("jdk.httpclient.keepalive.timeout", 30), Integer.getInteger("jdk.httpclient.connectionPoolSize", 0));
+        return template;
     }
 }
@@ -3,6 +3,7 @@ package com.jiraworklog.worklog_backend.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -74,3 +75,14 @@ public class SecurityConfig {
                     "/*.css"
                 ).permitAll()
                 // API requires authentication
+                .requestMatchers("/api/**").authenticated()
+                // SPA routes are forwarded to index.html
+                .anyRequest().permitAll()
+            )
+            .httpBasic(Customizer.withDefaults())
+            .userDetailsService(userDetailsService)
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+
+        return http.build();
+    }
+}
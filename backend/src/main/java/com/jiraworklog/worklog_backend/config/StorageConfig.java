@@ -0,0 +1,76 @@
+package com.jiraworklog.worklog_backend.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.jiraworklog.worklog_backend.service.CsvStorageBackend;
+import com.jiraworklog.worklog_backend.service.DataFileWatcher;
+import com.jiraworklog.worklog_backend.service.JdbcStorageBackend;
+import com.jiraworklog.worklog_backend.service.StorageBackend;
+import com.jiraworklog.worklog_backend.service.StorageMigration;
+
+import tools.jackson.databind.json.JsonMapper;
+
+@Configuration
+public class StorageConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageConfig.class);
+
+    // looked up relative to the working directory when data.dir is not set
+    private static final String[] DATA_DIR_CANDIDATES = {"data", "backend/data", "../data"};
+
+    /**
+     * The active {@link StorageBackend} ({@code data.storage.backend}). When {@code data.storage.migrate-from}
+     * names the other backend and the active one is still empty, everything is copied over first.
+     */
+    @Bean
+    public StorageBackend storageBackend(DataFileWatcher dataFileWatcher, JsonMapper jsonMapper,
+                                         @Value("${data.dir:}") String dataDir,
+                                         @Value("${data.storage.backend:csv}") String backend,
+                                         @Value("${data.storage.mode:journal}") String csvMode,
+                                         @Value("${data.storage.migrate-from:}") String migrateFrom) throws IOException {
+        Path dir = resolveDataDir(dataDir);
+        boolean journaled = "journal".equalsIgnoreCase(csvMode);
+        StorageBackend target = open(backend, dir, journaled, dataFileWatcher, jsonMapper);
+        logger.info("Using '{}' storage in {}", target.name(), dir.toAbsolutePath());
+        if (!migrateFrom.isBlank() && !migrateFrom.equalsIgnoreCase(target.name())) {
+            try (StorageBackend source = open(migrateFrom, dir, journaled, dataFileWatcher, jsonMapper)) {
+                StorageMigration.migrateIfEmpty(source, target);
+            } catch (RuntimeException e) {
+                target.close();
+                throw e;
+            }
+        }
+        return target;
+    }
+
+    private static StorageBackend open(String name, Path dir, boolean journaled, DataFileWatcher dataFileWatcher,
+                                       JsonMapper jsonMapper) throws IOException {
+        return switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "csv" -> new CsvStorageBackend(dir, journaled, dataFileWatcher, jsonMapper);
+            case "jdbc" -> new JdbcStorageBackend(dir);
+            default -> throw new IllegalArgumentException("Unknown data.storage backend: " + name + " (expected csv or jdbc)");
+        };
+    }
+
+    // the first candidate holding prefixes.csv, else the first that exists
+    static Path resolveDataDir(String configured) {
+        if (configured != null && !configured.isBlank()) return Paths.get(configured.trim());
+        Path existing = null;
+        for (String candidate : DATA_DIR_CANDIDATES) {
+            Path dir = Paths.get(candidate);
+            if (Files.exists(dir.resolve("prefixes.csv"))) return dir;
+            if (existing == null && Files.isDirectory(dir)) existing = dir;
+        }
+        return existing != null ? existing : Paths.get(DATA_DIR_CANDIDATES[0]);
+    }
+}
@@ -0,0 +1,53 @@
+package com.jiraworklog.worklog_backend.csv;
+
+import java.io.IOException;
+
+import com.jiraworklog.worklog_backend.dto.FavoriteWorklog;
+import com.jiraworklog.worklog_backend.dto.PrefixMapping;
+
+/**
+ * Row mappings of the {@code data/} CSV files.
+ */
+public final class CsvCodecs {
+
+    public static final String PREFIX_MAPPING_HEADER = "id,type,prefix,label,enabled";
+    public static final String FAVORITE_WORKLOG_HEADER = "id,ticketKey,comment,defaultTimeMinutes";
+
+    // prefixes.csv: id,type,prefix,label,enabled
+    public static final CsvRowMapper<PrefixMapping> PREFIX_MAPPING = row -> {
+        if (row.size() < 5) return null;
+        PrefixMapping pm = new PrefixMapping();
+        pm.setId(row.get(0));
+        pm.setType(row.get(1));
+        pm.setPrefix(row.get(2));
+        pm.setLabel(row.get(3));
+        pm.setEnabled(row.getBoolean(4));
+        return pm;
+    };
+
+    // favorites.csv: id,ticketKey,comment,defaultTimeMinutes
+    public static final CsvRowMapper<FavoriteWorklog> FAVORITE_WORKLOG = row -> {
+        if (row.size() < 4) return null;
+        return new FavoriteWorklog(row.get(0), row.get(1), row.get(2), row.getInt(3, 30));
+    };
+
+    // constant_prefixes.csv: one prefix per line, extra columns ignored
+    public static final CsvRowMapper<String> FIRST_FIELD = row -> {
+        String v = row.get(0);
+        return v == null || v.isEmpty() ? null : v;
+    };
+
+    private CsvCodecs() {}
+
+    public static void writePrefixMapping(CsvWriter out, PrefixMapping p) throws IOException {
+        out.field(p.getId()).field(p.getType()).field(p.getPrefix()).field(p.getLabel()).field(p.isEnabled()).endRow();
+    }
+
+    public static void writeFavoriteWorklog(CsvWriter out, FavoriteWorklog f) throws IOException {
+        out.field(f.getId()).field(f.getTicketKey()).field(f.getComment()).field(f.getDefaultTimeMinutes()).endRow();
+    }
+
+    public static void writeFirstField(CsvWriter out, String value) throws IOException {
+        out.field(value).endRow();
+    }
+}
@@ -0,0 +1,261 @@
+package com.jiraworklog.worklog_backend.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader. Records are tokenized directly from a reusable char buffer; only the
+ * field values themselves are allocated. Quoted fields may contain separators, doubled quotes and
+ * line breaks.
+ *
+ * <p>Like the data files it reads, blank lines and lines starting with {@code #} are skipped, and
+ * unquoted fields are trimmed. After {@link #next()} returns {@code true} the reader exposes the
+ * current record through {@link #size()} and {@link #get(int)}.
+ */
+public final class CsvReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader in;
+    private final char separator;
+    private final char[] buf = new char[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private boolean eof;
+
+    private final StringBuilder sb = new StringBuilder(64); // reused for quoted fields and buffer-spanning fields
+    private String[] fields = new String[16];
+    private int count;
+
+    public CsvReader(Reader in) {
+        this(in, ',');
+    }
+
+    public CsvReader(Reader in, char separator) {
+        this.in = in;
+        this.separator = separator;
+    }
+
+    /**
+     * Reads every record of a UTF-8 file with {@code mapper}; records mapped to {@code null} are skipped.
+     */
+    public static <T> List<T> readAll(Path file, CsvRowMapper<T> mapper) throws IOException {
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            return reader.readAll(mapper);
+        }
+    }
+
+    public <T> List<T> readAll(CsvRowMapper<T> mapper) throws IOException {
+        List<T> out = new ArrayList<>();
+        while (next()) {
+            T item = mapper.mapRow(this);
+            if (item != null) out.add(item);
+        }
+        return out;
+    }
+
+    /**
+     * Advances to the next record.
+     *
+     * @return {@code false} at the end of input
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            count = 0;
+            skipBlanks();
+            int c = peek();
+            if (c == -1) return false;
+            if (c == '\n' || c == '\r') {
+                pos++;
+                if (c == '\r') skipLf();
+                continue;
+            }
+            if (c == '#') {
+                skipLine();
+                continue;
+            }
+            while (!readField()) {
+                // fields until the end of the record
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Number of fields in the current record.
+     */
+    public int size() {
+        return count;
+    }
+
+    public String get(int index) {
+        return index < count ? fields[index] : null;
+    }
+
+    public int getInt(int index, int defaultValue) {
+        String v = get(index);
+        if (v == null || v.isEmpty()) return defaultValue;
+        try {
+            return Integer.parseInt(v);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public boolean getBoolean(int index) {
+        return Boolean.parseBoolean(get(index));
+    }
+
+    public String[] toArray() {
+        return Arrays.copyOf(fields, count);
+    }
+
+    // reads one field; true when it was the last field of the record
+    private boolean readField() throws IOException {
+        skipBlanks();
+        if (peek() == '"') {
+            pos++;
+            return readQuoted();
+        }
+        return readUnquoted();
+    }
+
+    private boolean readUnquoted() throws IOException {
+        int start = pos;
+        boolean spanning = false;
+        while (true) {
+            if (pos >= limit) {
+                if (!spanning) sb.setLength(0);
+                sb.append(buf, start, pos - start);
+                spanning = true;
+                if (!fill()) {
+                    add(trimTrailing(sb));
+                    return true;
+                }
+                start = pos;
+            }
+            char ch = buf[pos];
+            if (ch == separator || ch == '\n' || ch == '\r') {
+                String value;
+                if (spanning) {
+                    sb.append(buf, start, pos - start);
+                    value = trimTrailing(sb);
+                } else {
+                    value = trimmedString(start, pos);
+                }
+                pos++;
+                add(value);
+                if (ch == separator) return false;
+                if (ch == '\r') skipLf();
+                return true;
+            }
+            pos++;
+        }
+    }
+
+    private boolean readQuoted() throws IOException {
+        sb.setLength(0);
+        int start = pos;
+        while (true) {
+            if (pos >= limit) {
+                sb.append(buf, start, pos - start);
+                if (!fill()) {
+                    add(sb.toString()); // unterminated quote at end of input
+                    return true;
+                }
+                start = pos;
+            }
+            if (buf[pos] == '"') {
+                sb.append(buf, start, pos - start);
+                pos++;
+                if (peek() == '"') {
+                    sb.append('"');
+                    pos++;
+                    start = pos;
+                    continue;
+                }
+                return endQuotedField(sb.toString());
+            }
+            pos++;
+        }
+    }
+
+    // after the closing quote: anything up to the separator or line end is ignored
+    private boolean endQuotedField(String value) throws IOException {
+        add(value);
+        while (true) {
+            int c = peek();
+            if (c == -1) return true;
+            pos++;
+            if (c == separator) return false;
+            if (c == '\n') return true;
+            if (c == '\r') {
+                skipLf();
+                return true;
+            }
+        }
+    }
+
+    private void add(String value) {
+        if (count == fields.length) fields = Arrays.copyOf(fields, count * 2);
+        fields[count++] = value;
+    }
+
+    private String trimmedString(int start, int end) {
+        while (end > start && buf[end - 1] <= ' ') end--;
+        return end == start ? "" : new String(buf, start, end - start);
+    }
+
+    private static String trimTrailing(StringBuilder s) {
+        int end = s.length();
+        while (end > 0 && s.charAt(end - 1) <= ' ') end--;
+        return s.substring(0, end);
+    }
+
+    private void skipBlanks() throws IOException {
+        int c;
+        while ((c = peek()) == ' ' || c == '\t') pos++;
+    }
+
+    private void skipLf() throws IOException {
+        if (peek() == '\n') pos++;
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        while ((c = peek()) != -1) {
+            pos++;
+            if (c == '\n') return;
+            if (c == '\r') {
+                skipLf();
+                return;
+            }
+        }
+    }
+
+    private int peek() throws IOException {
+        if (pos >= limit && !fill()) return -1;
+        return buf[pos];
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) return false;
+        int n = in.read(buf, 0, buf.length);
+        pos = 0;
+        limit = Math.max(n, 0);
+        if (n <= 0) eof = true;
+        return n > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
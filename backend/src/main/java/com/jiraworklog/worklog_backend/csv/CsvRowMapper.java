@@ -0,0 +1,10 @@
+package com.jiraworklog.worklog_backend.csv;
+
+/**
+ * Maps the current record of a {@link CsvReader} to an object, or to {@code null} to skip the record.
+ */
+@FunctionalInterface
+public interface CsvRowMapper<T> {
+
+    T mapRow(CsvReader row);
+}
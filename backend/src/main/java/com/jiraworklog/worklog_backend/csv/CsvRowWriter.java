@@ -0,0 +1,12 @@
+package com.jiraworklog.worklog_backend.csv;
+
+import java.io.IOException;
+
+/**
+ * Writes one object as a record through a {@link CsvWriter}; the counterpart of {@link CsvRowMapper}.
+ */
+@FunctionalInterface
+public interface CsvRowWriter<T> {
+
+    void writeRow(CsvWriter out, T value) throws IOException;
+}
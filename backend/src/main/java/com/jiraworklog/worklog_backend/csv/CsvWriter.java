@@ -0,0 +1,101 @@
+package com.jiraworklog.worklog_backend.csv;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * RFC 4180 writer, the counterpart of {@link CsvReader}. Values are quoted only when the reader would
+ * otherwise change them: separators, quotes, line breaks, surrounding whitespace, or a leading {@code #}
+ * in the first field.
+ */
+public final class CsvWriter implements Closeable, Flushable {
+
+    private final Writer out;
+    private final char separator;
+    private boolean rowStarted;
+
+    public CsvWriter(Writer out) {
+        this(out, ',');
+    }
+
+    public CsvWriter(Writer out, char separator) {
+        this.out = out;
+        this.separator = separator;
+    }
+
+    public CsvWriter comment(String text) throws IOException {
+        if (rowStarted) endRow();
+        out.write("# ");
+        out.write(text);
+        out.write('\n');
+        return this;
+    }
+
+    public CsvWriter field(String value) throws IOException {
+        if (rowStarted) out.write(separator);
+        else if (value != null && value.startsWith("#")) {
+            writeQuoted(value);
+            rowStarted = true;
+            return this;
+        }
+        rowStarted = true;
+        if (value == null || value.isEmpty()) return this;
+        if (needsQuotes(value)) writeQuoted(value);
+        else out.write(value);
+        return this;
+    }
+
+    public CsvWriter field(int value) throws IOException {
+        return field(Integer.toString(value));
+    }
+
+    public CsvWriter field(boolean value) throws IOException {
+        return field(Boolean.toString(value));
+    }
+
+    public CsvWriter endRow() throws IOException {
+        out.write('\n');
+        rowStarted = false;
+        return this;
+    }
+
+    public CsvWriter row(String... values) throws IOException {
+        for (String v : values) field(v);
+        return endRow();
+    }
+
+    private boolean needsQuotes(String value) {
+        if (value.charAt(0) <= ' ' || value.charAt(value.length() - 1) <= ' ') return true;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == separator || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+
+    private void writeQuoted(String value) throws IOException {
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                out.write(value, start, i + 1 - start);
+                out.write('"');
+                start = i + 1;
+            }
+        }
+        out.write(value, start, value.length() - start);
+        out.write('"');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
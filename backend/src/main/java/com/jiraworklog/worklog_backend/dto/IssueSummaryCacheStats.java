@@ -0,0 +1,83 @@
+package com.jiraworklog.worklog_backend.dto;
+
+public class IssueSummaryCacheStats {
+    private int size;
+    private int maxSize;
+    private long hits;
+    private long negativeHits; // lookups answered by a cached "issue does not exist"
+    private long misses;
+    private long coalesced; // lookups that waited for an identical in-flight Jira call
+    private long evictions;
+    private long expirations;
+
+    public IssueSummaryCacheStats() {}
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getNegativeHits() {
+        return negativeHits;
+    }
+
+    public void setNegativeHits(long negativeHits) {
+        this.negativeHits = negativeHits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    public void setCoalesced(long coalesced) {
+        this.coalesced = coalesced;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public void setExpirations(long expirations) {
+        this.expirations = expirations;
+    }
+
+    public double getHitRate() {
+        long lookups = hits + negativeHits + misses + coalesced;
+        return lookups == 0 ? 0.0 : (double) (hits + negativeHits + coalesced) / lookups;
+    }
+}
@@ -0,0 +1,143 @@
+package com.jiraworklog.worklog_backend.dto;
+
+public class JiraHttpClientStats {
+    // configuration of the shared client / connection pool
+    private String httpVersion;
+    private long connectTimeoutMs;
+    private long readTimeoutMs;
+    private long keepAliveSeconds;
+    private int maxConnections; // 0 = unbounded
+    // traffic
+    private long requests;
+    private int active;
+    private int peakActive;
+    private long ioErrors;
+    private long status2xx;
+    private long status4xx;
+    private long status5xx;
+    private long gzipResponses;
+    private double avgLatencyMs;
+    private double maxLatencyMs;
+
+    public JiraHttpClientStats() {}
+
+    public String getHttpVersion() {
+        return httpVersion;
+    }
+
+    public void setHttpVersion(String httpVersion) {
+        this.httpVersion = httpVersion;
+    }
+
+    public long getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    public void setConnectTimeoutMs(long connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+    }
+
+    public long getReadTimeoutMs() {
+        return readTimeoutMs;
+    }
+
+    public void setReadTimeoutMs(long readTimeoutMs) {
+        this.readTimeoutMs = readTimeoutMs;
+    }
+
+    public long getKeepAliveSeconds() {
+        return keepAliveSeconds;
+    }
+
+    public void setKeepAliveSeconds(long keepAliveSeconds) {
+        this.keepAliveSeconds = keepAliveSeconds;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public void setRequests(long requests) {
+        this.requests = requests;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public void setActive(int active) {
+        this.active = active;
+    }
+
+    public int getPeakActive() {
+        return peakActive;
+    }
+
+    public void setPeakActive(int peakActive) {
+        this.peakActive = peakActive;
+    }
+
+    public long getIoErrors() {
+        return ioErrors;
+    }
+
+    public void setIoErrors(long ioErrors) {
+        this.ioErrors = ioErrors;
+    }
+
+    public long getStatus2xx() {
+        return status2xx;
+    }
+
+    public void setStatus2xx(long status2xx) {
+        this.status2xx = status2xx;
+    }
+
+    public long getStatus4xx() {
+        return status4xx;
+    }
+
+    public void setStatus4xx(long status4xx) {
+        this.status4xx = status4xx;
+    }
+
+    public long getStatus5xx() {
+        return status5xx;
+    }
+
+    public void setStatus5xx(long status5xx) {
+        this.status5xx = status5xx;
+    }
+
+    public long getGzipResponses() {
+        return gzipResponses;
+    }
+
+    public void setGzipResponses(long gzipResponses) {
+        this.gzipResponses = gzipResponses;
+    }
+
+    public double getAvgLatencyMs() {
+        return avgLatencyMs;
+    }
+
+    public void setAvgLatencyMs(double avgLatencyMs) {
+        this.avgLatencyMs = avgLatencyMs;
+    }
+
+    public double getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+
+    public void setMaxLatencyMs(double maxLatencyMs) {
+        this.maxLatencyMs = maxLatencyMs;
+    }
+}
@@ -0,0 +1,127 @@
+package com.jiraworklog.worklog_backend.dto;
+
+public class JiraRateLimitStats {
+    // token bucket
+    private double requestsPerSecond;
+    private int burst;
+    private double availableTokens;
+    // adaptive (AIMD) concurrency
+    private double concurrencyLimit;
+    private int minConcurrency;
+    private int maxConcurrency;
+    private int inFlight;
+    private int waiting;
+    // remaining server-requested pause (Retry-After / X-RateLimit-Reset)
+    private long pausedForMs;
+    // counters
+    private long throttledResponses;
+    private long retries;
+    private long rejected;
+    private long limitDecreases;
+
+    public JiraRateLimitStats() {}
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public void setRequestsPerSecond(double requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public double getAvailableTokens() {
+        return availableTokens;
+    }
+
+    public void setAvailableTokens(double availableTokens) {
+        this.availableTokens = availableTokens;
+    }
+
+    public double getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public void setConcurrencyLimit(double concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
+    public int getMinConcurrency() {
+        return minConcurrency;
+    }
+
+    public void setMinConcurrency(int minConcurrency) {
+        this.minConcurrency = minConcurrency;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(int inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    public int getWaiting() {
+        return waiting;
+    }
+
+    public void setWaiting(int waiting) {
+        this.waiting = waiting;
+    }
+
+    public long getPausedForMs() {
+        return pausedForMs;
+    }
+
+    public void setPausedForMs(long pausedForMs) {
+        this.pausedForMs = pausedForMs;
+    }
+
+    public long getThrottledResponses() {
+        return throttledResponses;
+    }
+
+    public void setThrottledResponses(long throttledResponses) {
+        this.throttledResponses = throttledResponses;
+    }
+
+    public long getRetries() {
+        return retries;
+    }
+
+    public void setRetries(long retries) {
+        this.retries = retries;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getLimitDecreases() {
+        return limitDecreases;
+    }
+
+    public void setLimitDecreases(long limitDecreases) {
+        this.limitDecreases = limitDecreases;
+    }
+}
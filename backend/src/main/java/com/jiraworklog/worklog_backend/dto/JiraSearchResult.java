@@ -5,6 +5,9 @@ import java.util.List;
 
 public class JiraSearchResult {
     private List<JiraIssueSummary> issues = new ArrayList<>();
+    private int startAt;
+    private int maxResults;
+    private int total = -1; // -1 when Jira did not report a total
 
     public JiraSearchResult() {}
 
@@ -19,4 +22,28 @@ public class JiraSearchResult {
     public void setIssues(List<JiraIssueSummary> issues) {
         this.issues = issues;
     }
+
+    public int getStartAt() {
+        return startAt;
+    }
+
+    public void setStartAt(int startAt) {
+        this.startAt = startAt;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public void setMaxResults(int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
 }
@@ -0,0 +1,126 @@
+package com.jiraworklog.worklog_backend.dto;
+
+/**
+ * A worklog accepted by the write-ahead queue and its delivery state.
+ */
+public class QueuedWorklog {
+    public static final String PENDING = "PENDING";
+    public static final String SENT = "SENT";
+    public static final String FAILED = "FAILED";
+
+    private String id;
+    private String idempotencyKey;
+    private String status;
+    private WorklogRequest request;
+    private int attempts;
+    private boolean inDoubt; // an attempt was started but its outcome was never journaled
+    private String lastError;
+    private JiraWorklogResponse worklog;
+    private long submittedAt; // epoch millis
+    private long updatedAt;
+    private long nextAttemptAt;
+
+    public QueuedWorklog() {}
+
+    public QueuedWorklog(QueuedWorklog other) {
+        this.id = other.id;
+        this.idempotencyKey = other.idempotencyKey;
+        this.status = other.status;
+        this.request = other.request;
+        this.attempts = other.attempts;
+        this.inDoubt = other.inDoubt;
+        this.lastError = other.lastError;
+        this.worklog = other.worklog;
+        this.submittedAt = other.submittedAt;
+        this.updatedAt = other.updatedAt;
+        this.nextAttemptAt = other.nextAttemptAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public WorklogRequest getRequest() {
+        return request;
+    }
+
+    public void setRequest(WorklogRequest request) {
+        this.request = request;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public boolean isInDoubt() {
+        return inDoubt;
+    }
+
+    public void setInDoubt(boolean inDoubt) {
+        this.inDoubt = inDoubt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public JiraWorklogResponse getWorklog() {
+        return worklog;
+    }
+
+    public void setWorklog(JiraWorklogResponse worklog) {
+        this.worklog = worklog;
+    }
+
+    public long getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(long submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public long getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(long nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+}
@@ -0,0 +1,19 @@
+package com.jiraworklog.worklog_backend.dto;
+
+/**
+ * One edit of a journaled store (prefixes, favorites): {@code PUT} inserts or replaces the item with
+ * {@code id}, {@code DELETE} removes it. Replaying an edit twice has the same effect as once.
+ */
+public record StoreEdit<T>(String op, String id, T value) {
+
+    public static final String PUT = "PUT";
+    public static final String DELETE = "DELETE";
+
+    public static <T> StoreEdit<T> put(String id, T value) {
+        return new StoreEdit<>(PUT, id, value);
+    }
+
+    public static <T> StoreEdit<T> delete(String id) {
+        return new StoreEdit<>(DELETE, id, null);
+    }
+}
@@ -0,0 +1,44 @@
+package com.jiraworklog.worklog_backend.dto;
+
+/**
+ * Why a prefix was suggested: {@code source} is {@code rule-ticket-key} or {@code rule-keyword}
+ * (rules_mappings.csv), {@code prefix-mapping} (keyword of a prefix mapping) or {@code history}
+ * (learned from past worklogs); {@code match} is the rule type, keyword or ticket that matched.
+ */
+public class SuggestionExplanation {
+    private String prefix;
+    private String source;
+    private String match;
+
+    public SuggestionExplanation() {}
+
+    public SuggestionExplanation(String prefix, String source, String match) {
+        this.prefix = prefix;
+        this.source = source;
+        this.match = match;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getMatch() {
+        return match;
+    }
+
+    public void setMatch(String match) {
+        this.match = match;
+    }
+}
@@ -4,6 +4,8 @@ import java.util.List;
 
 public class SuggestionResponse {
     private List<String> prefixes;
+    private List<String> comments;
+    private List<SuggestionExplanation> explanations;
 
     public SuggestionResponse() {}
 
@@ -11,6 +13,11 @@ public class SuggestionResponse {
         this.prefixes = prefixes;
     }
 
+    public SuggestionResponse(List<String> prefixes, List<String> comments) {
+        this.prefixes = prefixes;
+        this.comments = comments;
+    }
+
     public List<String> getPrefixes() {
         return prefixes;
     }
@@ -18,4 +25,20 @@ public class SuggestionResponse {
     public void setPrefixes(List<String> prefixes) {
         this.prefixes = prefixes;
     }
+
+    public List<String> getComments() {
+        return comments;
+    }
+
+    public void setComments(List<String> comments) {
+        this.comments = comments;
+    }
+
+    public List<SuggestionExplanation> getExplanations() {
+        return explanations;
+    }
+
+    public void setExplanations(List<SuggestionExplanation> explanations) {
+        this.explanations = explanations;
+    }
 }
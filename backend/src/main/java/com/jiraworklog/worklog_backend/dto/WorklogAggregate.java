@@ -0,0 +1,53 @@
+package com.jiraworklog.worklog_backend.dto;
+
+/**
+ * Time logged in one group of an aggregation; {@code key} is a date, an ISO week ({@code 2025-W07}), a
+ * ticket key or a prefix, depending on how worklogs were grouped.
+ */
+public class WorklogAggregate {
+    private String key;
+    private long timeSpentSeconds;
+    private int worklogCount;
+    private String workTime;
+
+    public WorklogAggregate() {}
+
+    public WorklogAggregate(String key, long timeSpentSeconds, int worklogCount, String workTime) {
+        this.key = key;
+        this.timeSpentSeconds = timeSpentSeconds;
+        this.worklogCount = worklogCount;
+        this.workTime = workTime;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public long getTimeSpentSeconds() {
+        return timeSpentSeconds;
+    }
+
+    public void setTimeSpentSeconds(long timeSpentSeconds) {
+        this.timeSpentSeconds = timeSpentSeconds;
+    }
+
+    public int getWorklogCount() {
+        return worklogCount;
+    }
+
+    public void setWorklogCount(int worklogCount) {
+        this.worklogCount = worklogCount;
+    }
+
+    public String getWorkTime() {
+        return workTime;
+    }
+
+    public void setWorkTime(String workTime) {
+        this.workTime = workTime;
+    }
+}
@@ -0,0 +1,65 @@
+package com.jiraworklog.worklog_backend.dto;
+
+import java.util.List;
+
+/**
+ * Totals of the worklogs between {@code from} and {@code to}, overall and per group.
+ */
+public class WorklogAggregation {
+    private String from;
+    private String to;
+    private String groupBy;
+    private long timeSpentSeconds;
+    private int worklogCount;
+    private List<WorklogAggregate> groups;
+
+    public WorklogAggregation() {}
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public String getGroupBy() {
+        return groupBy;
+    }
+
+    public void setGroupBy(String groupBy) {
+        this.groupBy = groupBy;
+    }
+
+    public long getTimeSpentSeconds() {
+        return timeSpentSeconds;
+    }
+
+    public void setTimeSpentSeconds(long timeSpentSeconds) {
+        this.timeSpentSeconds = timeSpentSeconds;
+    }
+
+    public int getWorklogCount() {
+        return worklogCount;
+    }
+
+    public void setWorklogCount(int worklogCount) {
+        this.worklogCount = worklogCount;
+    }
+
+    public List<WorklogAggregate> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<WorklogAggregate> groups) {
+        this.groups = groups;
+    }
+}
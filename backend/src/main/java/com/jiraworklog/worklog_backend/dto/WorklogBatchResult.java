@@ -0,0 +1,68 @@
+package com.jiraworklog.worklog_backend.dto;
+
+public class WorklogBatchResult {
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+
+    private int index; // position of the request in the submitted batch
+    private String ticketKey;
+    private String status;
+    private JiraWorklogResponse worklog;
+    private Integer jiraStatus; // HTTP status returned by Jira for failed items, if any
+    private String error;
+
+    public WorklogBatchResult() {}
+
+    public WorklogBatchResult(int index, String ticketKey) {
+        this.index = index;
+        this.ticketKey = ticketKey;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getTicketKey() {
+        return ticketKey;
+    }
+
+    public void setTicketKey(String ticketKey) {
+        this.ticketKey = ticketKey;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public JiraWorklogResponse getWorklog() {
+        return worklog;
+    }
+
+    public void setWorklog(JiraWorklogResponse worklog) {
+        this.worklog = worklog;
+    }
+
+    public Integer getJiraStatus() {
+        return jiraStatus;
+    }
+
+    public void setJiraStatus(Integer jiraStatus) {
+        this.jiraStatus = jiraStatus;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,39 @@
+package com.jiraworklog.worklog_backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of Jira's {@code /worklog/updated} or {@code /worklog/deleted} feed.
+ */
+public class WorklogChangePage {
+    private List<Long> worklogIds = new ArrayList<>();
+    private long until; // epoch millis, use as "since" for the next page / next sync
+    private boolean lastPage = true;
+
+    public WorklogChangePage() {}
+
+    public List<Long> getWorklogIds() {
+        return worklogIds;
+    }
+
+    public void setWorklogIds(List<Long> worklogIds) {
+        this.worklogIds = worklogIds;
+    }
+
+    public long getUntil() {
+        return until;
+    }
+
+    public void setUntil(long until) {
+        this.until = until;
+    }
+
+    public boolean isLastPage() {
+        return lastPage;
+    }
+
+    public void setLastPage(boolean lastPage) {
+        this.lastPage = lastPage;
+    }
+}
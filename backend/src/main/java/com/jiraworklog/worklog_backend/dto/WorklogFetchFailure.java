@@ -0,0 +1,29 @@
+package com.jiraworklog.worklog_backend.dto;
+
+public class WorklogFetchFailure {
+    private String issueKey; // null when the issue search itself failed
+    private String message;
+
+    public WorklogFetchFailure() {}
+
+    public WorklogFetchFailure(String issueKey, String message) {
+        this.issueKey = issueKey;
+        this.message = message;
+    }
+
+    public String getIssueKey() {
+        return issueKey;
+    }
+
+    public void setIssueKey(String issueKey) {
+        this.issueKey = issueKey;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
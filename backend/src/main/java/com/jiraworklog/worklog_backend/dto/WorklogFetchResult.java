@@ -0,0 +1,31 @@
+package com.jiraworklog.worklog_backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class WorklogFetchResult {
+    private List<WorklogEntry> entries = new ArrayList<>();
+    private List<WorklogFetchFailure> failures = new ArrayList<>();
+
+    public WorklogFetchResult() {}
+
+    public List<WorklogEntry> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<WorklogEntry> entries) {
+        this.entries = entries;
+    }
+
+    public List<WorklogFetchFailure> getFailures() {
+        return failures;
+    }
+
+    public void setFailures(List<WorklogFetchFailure> failures) {
+        this.failures = failures;
+    }
+
+    public boolean isPartial() {
+        return !failures.isEmpty();
+    }
+}
@@ -0,0 +1,53 @@
+package com.jiraworklog.worklog_backend.dto;
+
+/**
+ * A day logged short of the target ({@code deficit}: a working day, {@code deltaSeconds} below zero) or
+ * over the maximum ({@code surplus}: any day, {@code deltaSeconds} above it).
+ */
+public class WorklogGapDay {
+    private String date;
+    private String type;
+    private int timeSpentSeconds;
+    private int deltaSeconds;
+
+    public WorklogGapDay() {}
+
+    public WorklogGapDay(String date, String type, int timeSpentSeconds, int deltaSeconds) {
+        this.date = date;
+        this.type = type;
+        this.timeSpentSeconds = timeSpentSeconds;
+        this.deltaSeconds = deltaSeconds;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public void setDate(String date) {
+        this.date = date;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public int getTimeSpentSeconds() {
+        return timeSpentSeconds;
+    }
+
+    public void setTimeSpentSeconds(int timeSpentSeconds) {
+        this.timeSpentSeconds = timeSpentSeconds;
+    }
+
+    public int getDeltaSeconds() {
+        return deltaSeconds;
+    }
+
+    public void setDeltaSeconds(int deltaSeconds) {
+        this.deltaSeconds = deltaSeconds;
+    }
+}
@@ -0,0 +1,120 @@
+package com.jiraworklog.worklog_backend.dto;
+
+import java.util.List;
+
+/**
+ * Working days between {@code from} and {@code to} logged short of {@code targetSeconds}, and days logged
+ * over {@code maxSeconds}; {@code days} lists only those, in date order.
+ */
+public class WorklogGapReport {
+    private String from;
+    private String to;
+    private int targetSeconds;
+    private int maxSeconds;
+    private int workingDays;
+    private long expectedSeconds; // workingDays * targetSeconds
+    private long loggedSeconds;
+    private int deficitDays;
+    private long deficitSeconds;
+    private int surplusDays;
+    private long surplusSeconds;
+    private List<WorklogGapDay> days;
+
+    public WorklogGapReport() {}
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public int getTargetSeconds() {
+        return targetSeconds;
+    }
+
+    public void setTargetSeconds(int targetSeconds) {
+        this.targetSeconds = targetSeconds;
+    }
+
+    public int getMaxSeconds() {
+        return maxSeconds;
+    }
+
+    public void setMaxSeconds(int maxSeconds) {
+        this.maxSeconds = maxSeconds;
+    }
+
+    public int getWorkingDays() {
+        return workingDays;
+    }
+
+    public void setWorkingDays(int workingDays) {
+        this.workingDays = workingDays;
+    }
+
+    public long getExpectedSeconds() {
+        return expectedSeconds;
+    }
+
+    public void setExpectedSeconds(long expectedSeconds) {
+        this.expectedSeconds = expectedSeconds;
+    }
+
+    public long getLoggedSeconds() {
+        return loggedSeconds;
+    }
+
+    public void setLoggedSeconds(long loggedSeconds) {
+        this.loggedSeconds = loggedSeconds;
+    }
+
+    public int getDeficitDays() {
+        return deficitDays;
+    }
+
+    public void setDeficitDays(int deficitDays) {
+        this.deficitDays = deficitDays;
+    }
+
+    public long getDeficitSeconds() {
+        return deficitSeconds;
+    }
+
+    public void setDeficitSeconds(long deficitSeconds) {
+        this.deficitSeconds = deficitSeconds;
+    }
+
+    public int getSurplusDays() {
+        return surplusDays;
+    }
+
+    public void setSurplusDays(int surplusDays) {
+        this.surplusDays = surplusDays;
+    }
+
+    public long getSurplusSeconds() {
+        return surplusSeconds;
+    }
+
+    public void setSurplusSeconds(long surplusSeconds) {
+        this.surplusSeconds = surplusSeconds;
+    }
+
+    public List<WorklogGapDay> getDays() {
+        return days;
+    }
+
+    public void setDays(List<WorklogGapDay> days) {
+        this.days = days;
+    }
+}
@@ -0,0 +1,31 @@
+package com.jiraworklog.worklog_backend.dto;
+
+/**
+ * One line of the worklog write-ahead journal. Only the fields relevant to {@code type} are set.
+ * {@code inDoubt} on a {@code RETRY} or {@code FAILED} record says whether Jira may have stored the
+ * worklog anyway; {@code null} (records written before the field existed)
+ * leaves the flag as the preceding {@code ATTEMPT} set it.
+ */
+public record WorklogJournalRecord(
+        String type,
+        String id,
+        long at,
+        String idempotencyKey,
+        WorklogRequest request,
+        Integer attempts,
+        String error,
+        Long nextAttemptAt,
+        JiraWorklogResponse worklog,
+        Boolean inDoubt) {
+
+    public static final String SUBMITTED = "SUBMITTED";
+    public static final String ATTEMPT = "ATTEMPT";
+    public static final String SENT = "SENT";
+    public static final String RETRY = "RETRY";
+    public static final String FAILED = "FAILED";
+    public static final String REQUEUED = "REQUEUED";
+
+    public static WorklogJournalRecord of(String type, String id) {
+        return new WorklogJournalRecord(type, id, System.currentTimeMillis(), null, null, null, null, null, null, null);
+    }
+}
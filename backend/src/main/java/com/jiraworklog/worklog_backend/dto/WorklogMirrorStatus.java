@@ -0,0 +1,78 @@
+package com.jiraworklog.worklog_backend.dto;
+
+public class WorklogMirrorStatus {
+    private boolean enabled;
+    private boolean ready;
+    private String lastSyncedAt; // ISO instant of the last successful sync
+    private Long ageSeconds;
+    private long highWaterMark; // epoch millis of the last change pulled from Jira
+    private String coveredFrom; // YYYY-MM-DD, first date the mirror holds complete data for
+    private int worklogCount;
+    private String lastError;
+
+    public WorklogMirrorStatus() {}
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void setReady(boolean ready) {
+        this.ready = ready;
+    }
+
+    public String getLastSyncedAt() {
+        return lastSyncedAt;
+    }
+
+    public void setLastSyncedAt(String lastSyncedAt) {
+        this.lastSyncedAt = lastSyncedAt;
+    }
+
+    public Long getAgeSeconds() {
+        return ageSeconds;
+    }
+
+    public void setAgeSeconds(Long ageSeconds) {
+        this.ageSeconds = ageSeconds;
+    }
+
+    public long getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public void setHighWaterMark(long highWaterMark) {
+        this.highWaterMark = highWaterMark;
+    }
+
+    public String getCoveredFrom() {
+        return coveredFrom;
+    }
+
+    public void setCoveredFrom(String coveredFrom) {
+        this.coveredFrom = coveredFrom;
+    }
+
+    public int getWorklogCount() {
+        return worklogCount;
+    }
+
+    public void setWorklogCount(int worklogCount) {
+        this.worklogCount = worklogCount;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
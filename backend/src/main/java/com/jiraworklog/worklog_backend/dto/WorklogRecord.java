@@ -0,0 +1,90 @@
+package com.jiraworklog.worklog_backend.dto;
+
+/**
+ * A single Jira worklog as kept by the local worklog mirror.
+ */
+public class WorklogRecord {
+    private long worklogId;
+    private String issueId;
+    private String issueKey;
+    private String author; // Jira user name
+    private String authorDisplayName;
+    private String started; // Jira timestamp e.g. 2026-01-08T09:00:00.000+0100
+    private int timeSpentSeconds;
+    private String comment;
+
+    public WorklogRecord() {}
+
+    public long getWorklogId() {
+        return worklogId;
+    }
+
+    public void setWorklogId(long worklogId) {
+        this.worklogId = worklogId;
+    }
+
+    public String getIssueId() {
+        return issueId;
+    }
+
+    public void setIssueId(String issueId) {
+        this.issueId = issueId;
+    }
+
+    public String getIssueKey() {
+        return issueKey;
+    }
+
+    public void setIssueKey(String issueKey) {
+        this.issueKey = issueKey;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public String getAuthorDisplayName() {
+        return authorDisplayName;
+    }
+
+    public void setAuthorDisplayName(String authorDisplayName) {
+        this.authorDisplayName = authorDisplayName;
+    }
+
+    public String getStarted() {
+        return started;
+    }
+
+    public void setStarted(String started) {
+        this.started = started;
+    }
+
+    public int getTimeSpentSeconds() {
+        return timeSpentSeconds;
+    }
+
+    public void setTimeSpentSeconds(int timeSpentSeconds) {
+        this.timeSpentSeconds = timeSpentSeconds;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+
+    public String getDate() {
+        return started != null && started.length() >= 10 ? started.substring(0, 10) : null;
+    }
+
+    public boolean isAuthoredBy(String username) {
+        if (username == null || username.isBlank()) return true;
+        return username.equals(author) || username.equals(authorDisplayName);
+    }
+}
@@ -0,0 +1,64 @@
+package com.jiraworklog.worklog_backend.dto;
+
+/**
+ * Estimated heap use of the columnar worklog store ({@code columnarBytes}) and of the same worklogs held
+ * one object per row with their own strings ({@code rowObjectBytes}).
+ */
+public class WorklogStoreFootprint {
+    private int rows;
+    private int distinctTickets; // issue ids and keys
+    private int distinctUsers; // user names and display names
+    private int distinctComments;
+    private long columnarBytes;
+    private long rowObjectBytes;
+
+    public WorklogStoreFootprint() {}
+
+    public int getRows() {
+        return rows;
+    }
+
+    public void setRows(int rows) {
+        this.rows = rows;
+    }
+
+    public int getDistinctTickets() {
+        return distinctTickets;
+    }
+
+    public void setDistinctTickets(int distinctTickets) {
+        this.distinctTickets = distinctTickets;
+    }
+
+    public int getDistinctUsers() {
+        return distinctUsers;
+    }
+
+    public void setDistinctUsers(int distinctUsers) {
+        this.distinctUsers = distinctUsers;
+    }
+
+    public int getDistinctComments() {
+        return distinctComments;
+    }
+
+    public void setDistinctComments(int distinctComments) {
+        this.distinctComments = distinctComments;
+    }
+
+    public long getColumnarBytes() {
+        return columnarBytes;
+    }
+
+    public void setColumnarBytes(long columnarBytes) {
+        this.columnarBytes = columnarBytes;
+    }
+
+    public long getRowObjectBytes() {
+        return rowObjectBytes;
+    }
+
+    public void setRowObjectBytes(long rowObjectBytes) {
+        this.rowObjectBytes = rowObjectBytes;
+    }
+}
@@ -0,0 +1,16 @@
+package com.jiraworklog.worklog_backend.dto.jira;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import com.jiraworklog.worklog_backend.dto.JiraIssueSummary;
+
+/**
+ * Issue as returned by {@code /rest/api/2/issue/{key}} and {@code /rest/api/2/search}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record JiraIssue(String id, String key, JiraIssueFields fields) {
+
+    public JiraIssueSummary toSummary() {
+        return new JiraIssueSummary(id, key, fields == null ? null : fields.summary());
+    }
+}
@@ -0,0 +1,7 @@
+package com.jiraworklog.worklog_backend.dto.jira;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record JiraIssueFields(String summary) {
+}
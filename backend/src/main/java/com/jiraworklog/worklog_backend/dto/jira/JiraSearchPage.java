@@ -0,0 +1,12 @@
+package com.jiraworklog.worklog_backend.dto.jira;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * One page of {@code /rest/api/2/search}; {@code total} is null if Jira did not report it.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record JiraSearchPage(int startAt, int maxResults, Integer total, List<JiraIssue> issues) {
+}
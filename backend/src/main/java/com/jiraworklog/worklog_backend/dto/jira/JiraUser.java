@@ -0,0 +1,14 @@
+package com.jiraworklog.worklog_backend.dto.jira;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Author of a Jira worklog; avatars, time zone, links etc. are skipped while parsing.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record JiraUser(String name, String displayName) {
+
+    public boolean matches(String username) {
+        return username.equals(name) || username.equals(displayName);
+    }
+}
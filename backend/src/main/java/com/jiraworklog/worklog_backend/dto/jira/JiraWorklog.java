@@ -0,0 +1,15 @@
+package com.jiraworklog.worklog_backend.dto.jira;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Worklog as returned by the Jira REST API v2 (where {@code comment} is plain text).
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record JiraWorklog(String id, String issueId, JiraUser author, String started,
+                          Integer timeSpentSeconds, String comment) {
+
+    public int timeSpentSecondsOrZero() {
+        return timeSpentSeconds == null ? 0 : timeSpentSeconds;
+    }
+}
@@ -0,0 +1,16 @@
+package com.jiraworklog.worklog_backend.dto.jira;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Response of {@code /rest/api/2/worklog/updated} and {@code /rest/api/2/worklog/deleted}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record JiraWorklogChangeFeed(List<Change> values, long since, long until, Boolean lastPage) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Change(long worklogId, long updatedTime) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.jiraworklog.worklog_backend.dto.jira;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Response of {@code /rest/api/2/issue/{key}/worklog}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record JiraWorklogPage(int startAt, int maxResults, int total, List<JiraWorklog> worklogs) {
+}
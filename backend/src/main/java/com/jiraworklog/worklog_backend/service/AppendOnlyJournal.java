@@ -0,0 +1,175 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Append-only file of records, one JSON object per line. Every append is forced to disk before it
+ * returns. Used by the worklog queue and the journaled prefix/favorite stores.
+ *
+ * <p>A crash in the middle of an append leaves a last line without its newline. Opening the journal
+ * cuts that line off, so the next append starts on a line of its own instead of being glued to it.
+ */
+class AppendOnlyJournal<R> implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppendOnlyJournal.class);
+
+    private final Path file;
+    private final JsonMapper jsonMapper;
+    private final JavaType recordType;
+    private FileChannel channel;
+
+    AppendOnlyJournal(Path file, JsonMapper jsonMapper, Class<R> recordType) throws IOException {
+        this(file, jsonMapper, jsonMapper.constructType(recordType));
+    }
+
+    AppendOnlyJournal(Path file, JsonMapper jsonMapper, JavaType recordType) throws IOException {
+        this.file = file;
+        this.jsonMapper = jsonMapper;
+        this.recordType = recordType;
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        this.channel = open(file);
+        truncateTornLine();
+    }
+
+    Path file() {
+        return file;
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    // the last complete record ends with '\n'; anything after it was never acknowledged to a caller
+    private void truncateTornLine() throws IOException {
+        long size = channel.size();
+        long end = size;
+        ByteBuffer buf = ByteBuffer.allocate(8192);
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (end > 0) {
+                int n = (int) Math.min(buf.capacity(), end);
+                buf.clear().limit(n);
+                long from = end - n;
+                while (buf.hasRemaining() && in.read(buf, from + buf.position()) >= 0) {
+                    // keep reading
+                }
+                int i = n - 1;
+                while (i >= 0 && buf.get(i) != '\n') i--;
+                if (i >= 0) {
+                    end = from + i + 1;
+                    break;
+                }
+                end = from;
+            }
+        }
+        if (end == size) return;
+        logger.warn("Dropping {} bytes of a torn last line in {}", size - end, file);
+        channel.truncate(end);
+        channel.force(true);
+    }
+
+    synchronized void append(R record) throws IOException {
+        write(channel, record);
+        channel.force(false);
+    }
+
+    /**
+     * Reads all records. Lines that cannot be parsed are skipped.
+     */
+    List<R> readAll() throws IOException {
+        List<R> out = new ArrayList<>();
+        if (!Files.exists(file)) return out;
+        try (BufferedReader br = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNo = 0;
+            while ((line = br.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                try {
+                    out.add(jsonMapper.readValue(line, recordType));
+                } catch (JacksonException e) {
+                    logger.warn("Skipping unreadable journal line {} in {}", lineNo, file);
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Replaces the journal with the given records: written to a temp file, forced, then atomically renamed.
+     */
+    synchronized void rewrite(List<R> records) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (R record : records) write(out, record);
+            out.force(false);
+        }
+        channel.close();
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        channel = open(file);
+    }
+
+    private void write(FileChannel target, R record) throws IOException {
+        byte[] json = jsonMapper.writeValueAsBytes(record);
+        ByteBuffer buf = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+        while (buf.hasRemaining()) target.write(buf);
+    }
+
+    synchronized long size() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Drops the first {@code position} bytes (records already folded into a snapshot elsewhere),
+     * keeping anything appended after that point.
+     */
+    synchronized void dropBefore(long position) throws IOException {
+        long size = channel.size();
+        if (position <= 0) return;
+        if (position >= size) {
+            channel.truncate(0);
+            channel.force(true);
+            return;
+        }
+        ByteBuffer tail = ByteBuffer.allocate((int) (size - position));
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            in.position(position);
+            while (tail.hasRemaining() && in.read(tail) >= 0) {
+                // keep reading
+            }
+        }
+        tail.flip();
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (tail.hasRemaining()) out.write(tail);
+            out.force(false);
+        }
+        channel.close();
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        channel = open(file);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
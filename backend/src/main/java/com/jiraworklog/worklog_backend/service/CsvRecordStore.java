@@ -0,0 +1,188 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.jiraworklog.worklog_backend.csv.CsvReader;
+import com.jiraworklog.worklog_backend.csv.CsvRowMapper;
+import com.jiraworklog.worklog_backend.csv.CsvRowWriter;
+import com.jiraworklog.worklog_backend.csv.CsvWriter;
+import com.jiraworklog.worklog_backend.dto.StoreEdit;
+import com.jiraworklog.worklog_backend.service.DataFileWatcher.FileStamp;
+
+/**
+ * A {@link RecordStore} kept in one CSV file. With a journal, {@link #put} and {@link #delete} append the
+ * edit to it and {@link #compact} later folds the journal into the CSV; without one, every edit rewrites
+ * the file. Nothing is cached: {@link #findAll} reads the file (and replays the journal) each time.
+ */
+final class CsvRecordStore<T> implements RecordStore<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CsvRecordStore.class);
+
+    private final Path file;
+    private final String header;
+    private final CsvRowMapper<T> mapper;
+    private final CsvRowWriter<T> writer;
+    private final Function<T, String> idOf;
+    private final DataFileWatcher dataFileWatcher;
+    // held while the CSV is rewritten from a journal position, so replaceAll cannot interleave
+    private final Object compactLock = new Object();
+
+    private EditJournal<T> journal; // null when every edit rewrites the file; guarded by this
+    private FileStamp stamp = FileStamp.MISSING; // file as last read or written here; guarded by this
+
+    /**
+     * @param header  written as a {@code #} comment line, or {@code null} for none
+     * @param journal the journal to append edits to, or {@code null}
+     */
+    CsvRecordStore(Path file, String header, CsvRowMapper<T> mapper, CsvRowWriter<T> writer, Function<T, String> idOf,
+                   EditJournal<T> journal, DataFileWatcher dataFileWatcher) {
+        this.file = file;
+        this.header = header;
+        this.mapper = mapper;
+        this.writer = writer;
+        this.idOf = idOf;
+        this.journal = journal;
+        this.dataFileWatcher = dataFileWatcher;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    @Override
+    public synchronized List<T> findAll() {
+        List<T> items = read();
+        return journal == null ? items : journal.replay(items);
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        for (T item : findAll()) {
+            if (id.equals(idOf.apply(item))) return Optional.of(item);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized void put(T record) {
+        apply(StoreEdit.put(idOf.apply(record), record));
+    }
+
+    @Override
+    public synchronized void delete(String id) {
+        apply(StoreEdit.delete(id));
+    }
+
+    // journal: O(1) append of the edit; otherwise read, edit and rewrite the whole CSV
+    private void apply(StoreEdit<T> edit) {
+        if (journal != null) {
+            journal.append(edit);
+            return;
+        }
+        List<T> items = read();
+        EditJournal.apply(items, edit, idOf);
+        write(items);
+    }
+
+    @Override
+    public void replaceAll(List<T> records) {
+        synchronized (compactLock) {
+            synchronized (this) {
+                write(records);
+                if (journal != null) journal.dropBefore(journal.position());
+            }
+        }
+    }
+
+    @Override
+    public void watch(Runnable onChange) {
+        dataFileWatcher.watch(file, () -> {
+            if (changedOnDisk()) onChange.run();
+        });
+    }
+
+    // our own writes update the stamp, so only edits made outside the application count
+    private synchronized boolean changedOnDisk() {
+        return !FileStamp.of(file).equals(stamp);
+    }
+
+    /**
+     * Writes the current records to the CSV and drops the journaled edits it now contains. The CSV is
+     * written without holding the store lock, so edits are not blocked meanwhile.
+     */
+    void compact() {
+        synchronized (compactLock) {
+            List<T> items;
+            long upTo;
+            synchronized (this) {
+                if (journal == null || journal.position() == 0) return;
+                upTo = journal.position();
+                items = findAll();
+            }
+            try {
+                writeFile(items);
+            } catch (RuntimeException e) {
+                logger.warn("Compacting journal of {} failed: {}", file, e.getMessage());
+                return;
+            }
+            synchronized (this) {
+                if (journal == null) return;
+                journal.dropBefore(upTo);
+                stamp = FileStamp.of(file);
+            }
+        }
+    }
+
+    /**
+     * Folds any journaled edits into the CSV and stops journaling; later edits rewrite the file.
+     */
+    synchronized void stopJournaling() throws IOException {
+        if (journal == null) return;
+        if (journal.position() > 0) write(findAll());
+        journal.discard();
+        journal = null;
+    }
+
+    synchronized void close() throws IOException {
+        if (journal != null) journal.close();
+    }
+
+    private List<T> read() {
+        // stamp before reading, so a change made while reading is still noticed
+        stamp = FileStamp.of(file);
+        if (!Files.exists(file)) return new ArrayList<>();
+        try {
+            return CsvReader.readAll(file, mapper);
+        } catch (IOException e) {
+            logger.warn("Failed to read {}: {}", file, e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private void write(List<T> items) {
+        writeFile(items);
+        stamp = FileStamp.of(file);
+    }
+
+    private void writeFile(List<T> items) {
+        try {
+            DataFiles.writeAtomically(file, bw -> {
+                CsvWriter out = new CsvWriter(bw);
+                if (header != null) out.comment(header);
+                for (T item : items) writer.writeRow(out, item);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + file, e);
+        }
+    }
+}
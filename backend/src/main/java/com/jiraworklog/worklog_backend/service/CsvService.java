@@ -1,28 +1,31 @@
 package com.jiraworklog.worklog_backend.service;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
+import com.jiraworklog.worklog_backend.csv.CsvReader;
+
 @Service
 public class CsvService {
 
+    private static final Logger logger = LoggerFactory.getLogger(CsvService.class);
+
     public List<String[]> readCsv(String resourcePath) {
-        List<String[]> rows = new ArrayList<>();
         try {
-            ClassPathResource res = new ClassPathResource(resourcePath);
-            if (!res.exists()) return rows;
-        // Candidates: ./data/<filename>, ./<resourcePath>, ./<filename>
-                 BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            // Candidates: ./data/<filename>, ./<resourcePath>, ./<filename>
             String filename = extractFilename(resourcePath);
             Path cwd = Paths.get(System.getProperty("user.dir"));
             Path candidate1 = cwd.resolve("data").resolve(filename);
@@ -38,6 +41,19 @@ public class CsvService {
             }
 
             // Fallback to classpath
+            ClassPathResource res = new ClassPathResource(resourcePath);
+            if (!res.exists()) return new ArrayList<>();
+            try (CsvReader reader = new CsvReader(new InputStreamReader(res.getInputStream(), StandardCharsets.UTF_8))) {
+                List<String[]> rows = reader.readAll(CsvReader::toArray);
+                logger.debug("Loaded {} from classpath", resourcePath);
+                return rows;
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read {}: {}", resourcePath, e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
     public List<Map<String, String>> loadFavoriteTickets() {
         List<Map<String, String>> out = new ArrayList<>();
         List<String[]> rows = readCsv("static/favorite_tickets.csv");
@@ -57,19 +73,20 @@ public class CsvService {
         List<Map<String, String>> out = new ArrayList<>();
         List<String[]> rows = readCsv("static/rules_mappings.csv");
         for (String[] r : rows) {
-    private List<String[]> readCsvFromPath(Path p) throws IOException {
-        List<String[]> rows = new ArrayList<>();
-        try (BufferedReader br = Files.newBufferedReader(p, StandardCharsets.UTF_8)) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty() || line.startsWith("#")) continue;
-                String[] parts = line.split(",");
-                for (int i = 0; i < parts.length; i++) parts[i] = parts[i].trim();
-                rows.add(parts);
+            if (r.length >= 2) {
+                Map<String, String> m = new HashMap<>();
+                m.put("type", r[0]);
+                m.put("prefix", r[1]);
+                m.put("defaultComment", r.length >= 3 ? r[2] : "");
+                out.add(m);
             }
         }
-        System.out.println("CsvService: loaded file from " + p.toAbsolutePath());
+        return out;
+    }
+
+    private List<String[]> readCsvFromPath(Path p) throws IOException {
+        List<String[]> rows = CsvReader.readAll(p, CsvReader::toArray);
+        logger.debug("Loaded {}", p.toAbsolutePath());
         return rows;
     }
 
@@ -80,4 +97,4 @@ public class CsvService {
         if (idx >= 0 && idx < s.length() - 1) return s.substring(idx + 1);
         return s;
     }
-
+}
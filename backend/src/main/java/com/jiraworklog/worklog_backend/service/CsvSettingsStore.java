@@ -0,0 +1,98 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.jiraworklog.worklog_backend.service.DataFileWatcher.FileStamp;
+
+/**
+ * Settings kept as one {@code <name>.cfg} file each, holding just the value (e.g. {@code prefixes_enabled.cfg}).
+ */
+final class CsvSettingsStore implements SettingsStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(CsvSettingsStore.class);
+
+    private static final String SUFFIX = ".cfg";
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_.-]+");
+
+    private final Path dir;
+    private final DataFileWatcher dataFileWatcher;
+    // files as last read or written here; guarded by this
+    private final Map<String, FileStamp> stamps = new HashMap<>();
+
+    CsvSettingsStore(Path dir, DataFileWatcher dataFileWatcher) {
+        this.dir = dir;
+        this.dataFileWatcher = dataFileWatcher;
+    }
+
+    @Override
+    public synchronized Optional<String> get(String name) {
+        Path f = file(name);
+        stamps.put(name, FileStamp.of(f));
+        if (!Files.exists(f)) return Optional.empty();
+        try {
+            return Optional.of(Files.readString(f, StandardCharsets.UTF_8).trim());
+        } catch (IOException e) {
+            logger.warn("Failed to read {}: {}", f, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public synchronized void put(String name, String value) {
+        Path f = file(name);
+        try {
+            DataFiles.writeAtomically(f, bw -> {
+                bw.write(value);
+                bw.newLine();
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + f, e);
+        }
+        stamps.put(name, FileStamp.of(f));
+    }
+
+    @Override
+    public synchronized Map<String, String> findAll() {
+        Map<String, String> out = new TreeMap<>();
+        if (!Files.isDirectory(dir)) return out;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path f : files) {
+                String fileName = f.getFileName().toString();
+                String name = fileName.substring(0, fileName.length() - SUFFIX.length());
+                if (NAME.matcher(name).matches()) get(name).ifPresent(v -> out.put(name, v));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list " + dir, e);
+        }
+        return out;
+    }
+
+    @Override
+    public void watch(String name, Runnable onChange) {
+        dataFileWatcher.watch(file(name), () -> {
+            if (changedOnDisk(name)) onChange.run();
+        });
+    }
+
+    private synchronized boolean changedOnDisk(String name) {
+        return !FileStamp.of(file(name)).equals(stamps.get(name));
+    }
+
+    private Path file(String name) {
+        if (!NAME.matcher(name).matches()) throw new IllegalArgumentException("Invalid setting name: " + name);
+        return dir.resolve(name + SUFFIX);
+    }
+}
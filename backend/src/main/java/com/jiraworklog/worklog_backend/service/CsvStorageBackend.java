@@ -0,0 +1,105 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.jiraworklog.worklog_backend.csv.CsvCodecs;
+import com.jiraworklog.worklog_backend.dto.FavoriteWorklog;
+import com.jiraworklog.worklog_backend.dto.PrefixMapping;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * The plain-file backend: {@code prefixes.csv}, {@code favorites.csv}, {@code constant_prefixes.csv} and
+ * {@code *.cfg} settings in the data directory, editable by hand while the application runs.
+ *
+ * <p>When journaled ({@code data.storage.mode=journal}), prefix and favorite edits are appended to
+ * {@code prefixes.journal} / {@code favorites.journal} and folded into the CSV files every
+ * {@code data.journal.compact-interval-ms} and on shutdown.
+ */
+public class CsvStorageBackend implements StorageBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(CsvStorageBackend.class);
+
+    static final String PREFIXES_FILE = "prefixes.csv";
+    static final String FAVORITES_FILE = "favorites.csv";
+    static final String CONSTANT_PREFIXES_FILE = "constant_prefixes.csv";
+
+    private final CsvRecordStore<PrefixMapping> prefixes;
+    private final CsvRecordStore<FavoriteWorklog> favorites;
+    private final CsvRecordStore<String> constantPrefixes;
+    private final CsvSettingsStore settings;
+
+    public CsvStorageBackend(Path dir, boolean journaled, DataFileWatcher dataFileWatcher, JsonMapper jsonMapper) throws IOException {
+        this.prefixes = new CsvRecordStore<>(dir.resolve(PREFIXES_FILE), CsvCodecs.PREFIX_MAPPING_HEADER,
+                CsvCodecs.PREFIX_MAPPING, CsvCodecs::writePrefixMapping, PrefixMapping::getId,
+                new EditJournal<>(dir.resolve("prefixes.journal"), jsonMapper, PrefixMapping.class, PrefixMapping::getId),
+                dataFileWatcher);
+        this.favorites = new CsvRecordStore<>(dir.resolve(FAVORITES_FILE), CsvCodecs.FAVORITE_WORKLOG_HEADER,
+                CsvCodecs.FAVORITE_WORKLOG, CsvCodecs::writeFavoriteWorklog, FavoriteWorklog::getId,
+                new EditJournal<>(dir.resolve("favorites.journal"), jsonMapper, FavoriteWorklog.class, FavoriteWorklog::getId),
+                dataFileWatcher);
+        // one prefix per line, no header; only changed by hand or by a migration
+        this.constantPrefixes = new CsvRecordStore<>(dir.resolve(CONSTANT_PREFIXES_FILE), null,
+                CsvCodecs.FIRST_FIELD, CsvCodecs::writeFirstField, Function.identity(), null, dataFileWatcher);
+        this.settings = new CsvSettingsStore(dir, dataFileWatcher);
+        if (!journaled) {
+            // switching back to plain files: fold any leftover edits into the CSV once
+            prefixes.stopJournaling();
+            favorites.stopJournaling();
+        }
+    }
+
+    @Override
+    public String name() {
+        return "csv";
+    }
+
+    @Override
+    public RecordStore<PrefixMapping> prefixes() {
+        return prefixes;
+    }
+
+    @Override
+    public RecordStore<FavoriteWorklog> favorites() {
+        return favorites;
+    }
+
+    @Override
+    public RecordStore<String> constantPrefixes() {
+        return constantPrefixes;
+    }
+
+    @Override
+    public SettingsStore settings() {
+        return settings;
+    }
+
+    /**
+     * Rewrites the CSV files that have journaled edits.
+     */
+    @Scheduled(initialDelayString = "${data.journal.compact-interval-ms:30000}",
+            fixedDelayString = "${data.journal.compact-interval-ms:30000}")
+    public void compact() {
+        prefixes.compact();
+        favorites.compact();
+    }
+
+    @Override
+    public void close() {
+        compact();
+        for (CsvRecordStore<?> store : List.of(prefixes, favorites, constantPrefixes)) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close {}: {}", store.file(), e.getMessage());
+            }
+        }
+    }
+}
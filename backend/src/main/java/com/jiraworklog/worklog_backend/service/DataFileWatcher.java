@@ -0,0 +1,126 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Watches data files (e.g. {@code data/prefixes.csv}) for changes made outside the application and
+ * notifies the stores that cache them in memory. One {@link WatchService} and one daemon thread
+ * serve all watched files.
+ */
+@Service
+public class DataFileWatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataFileWatcher.class);
+
+    @Value("${data.watch.enabled:true}")
+    private boolean enabled;
+
+    private final Map<Path, List<Runnable>> listeners = new ConcurrentHashMap<>();
+    private final Map<Path, WatchKey> watchedDirs = new ConcurrentHashMap<>();
+    private WatchService watchService;
+
+    /**
+     * Size and modification time of a file, used to tell our own writes from external edits.
+     */
+    public record FileStamp(long modifiedMillis, long size) {
+
+        public static final FileStamp MISSING = new FileStamp(-1, -1);
+
+        public static FileStamp of(Path file) {
+            try {
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                return new FileStamp(attrs.lastModifiedTime().toMillis(), attrs.size());
+            } catch (IOException e) {
+                return MISSING;
+            }
+        }
+    }
+
+    /**
+     * Calls {@code onChange} (on the watcher thread) whenever {@code file} is created, modified or deleted.
+     */
+    public synchronized void watch(Path file, Runnable onChange) {
+        if (!enabled) return;
+        Path abs = file.toAbsolutePath().normalize();
+        listeners.computeIfAbsent(abs, p -> new CopyOnWriteArrayList<>()).add(onChange);
+        Path dir = abs.getParent();
+        if (dir == null || watchedDirs.containsKey(dir)) return;
+        try {
+            if (watchService == null) start();
+            Files.createDirectories(dir);
+            watchedDirs.put(dir, dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE));
+        } catch (IOException e) {
+            logger.warn("Cannot watch {} for changes: {}", dir, e.getMessage());
+        }
+    }
+
+    private void start() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        Thread thread = new Thread(this::run, "data-file-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        WatchService ws = watchService;
+        while (true) {
+            WatchKey key;
+            try {
+                key = ws.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            Path dir = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    // events were lost; let every store in this directory check its file
+                    listeners.forEach((file, list) -> {
+                        if (Objects.equals(file.getParent(), dir)) fire(file, list);
+                    });
+                } else if (event.context() instanceof Path name) {
+                    Path file = dir.resolve(name);
+                    List<Runnable> list = listeners.get(file);
+                    if (list != null) fire(file, list);
+                }
+            }
+            if (!key.reset()) watchedDirs.remove(dir);
+        }
+    }
+
+    private static void fire(Path file, List<Runnable> list) {
+        for (Runnable r : list) {
+            try {
+                r.run();
+            } catch (RuntimeException e) {
+                logger.warn("Reloading {} failed: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        if (watchService != null) watchService.close();
+    }
+}
@@ -0,0 +1,44 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Helpers for the files under {@code data/}.
+ */
+final class DataFiles {
+
+    interface Content {
+        void writeTo(BufferedWriter out) throws IOException;
+    }
+
+    private DataFiles() {}
+
+    /**
+     * Writes {@code target} through a temp file that is forced to disk and then atomically renamed,
+     * so readers and a crash see either the old or the new file, never a truncated one.
+     */
+    static void writeAtomically(Path target, Content content) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream os = Channels.newOutputStream(channel);
+            BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
+            content.writeTo(bw);
+            bw.flush();
+            channel.force(false);
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
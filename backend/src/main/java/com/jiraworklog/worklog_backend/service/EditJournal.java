@@ -0,0 +1,100 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.jiraworklog.worklog_backend.dto.StoreEdit;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Journal of edits to a list of items kept in a CSV file. Edits are appended (and fsynced) instead of
+ * rewriting the file; {@link #replay} applies them on top of the CSV contents, and after the CSV has
+ * been rewritten from the current list, {@link #dropBefore} discards the edits it already contains.
+ * Callers serialise access.
+ */
+class EditJournal<T> {
+
+    private final AppendOnlyJournal<StoreEdit<T>> journal;
+    private final Function<T, String> idOf;
+
+    EditJournal(Path file, JsonMapper jsonMapper, Class<T> itemType, Function<T, String> idOf) throws IOException {
+        this.journal = new AppendOnlyJournal<>(file, jsonMapper,
+                jsonMapper.getTypeFactory().constructParametricType(StoreEdit.class, itemType));
+        this.idOf = idOf;
+    }
+
+    List<T> replay(List<T> base) {
+        List<T> out = new ArrayList<>(base);
+        try {
+            for (StoreEdit<T> edit : journal.readAll()) apply(out, edit, idOf);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + journal.file(), e);
+        }
+        return out;
+    }
+
+    /**
+     * Applies one edit to {@code items} in place.
+     */
+    static <T> void apply(List<T> items, StoreEdit<T> edit, Function<T, String> idOf) {
+        if (edit.id() == null) return;
+        int idx = -1;
+        for (int i = 0; i < items.size(); i++) {
+            if (edit.id().equals(idOf.apply(items.get(i)))) {
+                idx = i;
+                break;
+            }
+        }
+        if (StoreEdit.DELETE.equals(edit.op())) {
+            if (idx >= 0) items.remove(idx);
+        } else if (StoreEdit.PUT.equals(edit.op()) && edit.value() != null) {
+            if (idx >= 0) items.set(idx, edit.value());
+            else items.add(edit.value());
+        }
+    }
+
+    void append(StoreEdit<T> edit) {
+        try {
+            journal.append(edit);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + journal.file(), e);
+        }
+    }
+
+    /**
+     * Current journal length; pass it to {@link #dropBefore} once a snapshot taken at the same time is on disk.
+     */
+    long position() {
+        try {
+            return journal.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void dropBefore(long position) {
+        try {
+            journal.dropBefore(position);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compact " + journal.file(), e);
+        }
+    }
+
+    /**
+     * Closes and deletes the journal file.
+     */
+    void discard() throws IOException {
+        journal.close();
+        Files.deleteIfExists(journal.file());
+    }
+
+    void close() throws IOException {
+        journal.close();
+    }
+}
@@ -0,0 +1,58 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Holds {@code favorite_tickets.csv} in memory. The file is read once at startup and again whenever
+ * {@code data/favorite_tickets.csv} changes; every reload publishes a new snapshot with a higher version.
+ */
+@Service
+public class FavoriteTicketsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FavoriteTicketsService.class);
+
+    /**
+     * The list is unmodifiable; the maps in it are shared and must not be modified.
+     */
+    public record Snapshot(long version, List<Map<String, String>> tickets) {}
+
+    private final CsvService csvService;
+    private final DataFileWatcher dataFileWatcher;
+
+    private volatile Snapshot snapshot = new Snapshot(0, List.of());
+
+    public FavoriteTicketsService(CsvService csvService, DataFileWatcher dataFileWatcher) {
+        this.csvService = csvService;
+        this.dataFileWatcher = dataFileWatcher;
+    }
+
+    @PostConstruct
+    void init() {
+        reload();
+        // the first place CsvService looks for the file
+        dataFileWatcher.watch(Paths.get("data", "favorite_tickets.csv"), this::reload);
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    synchronized void reload() {
+        try {
+            List<Map<String, String>> tickets = List.copyOf(csvService.loadFavoriteTickets());
+            snapshot = new Snapshot(snapshot.version() + 1, tickets);
+            logger.info("Loaded {} favorite tickets from favorite_tickets.csv", tickets.size());
+        } catch (RuntimeException e) {
+            // keep serving the previous tickets
+            logger.warn("Could not load favorite_tickets.csv: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.jiraworklog.worklog_backend.dto.FavoriteWorklog;
+
+/**
+ * Lookup structures over one immutable list of favorites: position by id, favorites by ticket key, and
+ * sorted orders, which are computed on first use and then kept as long as the list itself.
+ */
+public final class FavoritesIndex {
+
+    static final Map<String, Comparator<FavoriteWorklog>> SORTS = Map.of(
+            "ticketKey", Comparator.comparing(FavoriteWorklog::getTicketKey, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)),
+            "comment", Comparator.comparing(FavoriteWorklog::getComment, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)),
+            "defaultTimeMinutes", Comparator.comparingInt(FavoriteWorklog::getDefaultTimeMinutes));
+
+    private final List<FavoriteWorklog> favorites;
+    private final Map<String, Integer> positionById;
+    private final Map<String, List<FavoriteWorklog>> byTicketKey;
+    private final Map<String, List<FavoriteWorklog>> sorted = new ConcurrentHashMap<>();
+
+    FavoritesIndex(List<FavoriteWorklog> favorites) {
+        this.favorites = favorites;
+        this.positionById = new HashMap<>(favorites.size() * 2);
+        Map<String, List<FavoriteWorklog>> byKey = new HashMap<>();
+        for (int i = 0; i < favorites.size(); i++) {
+            FavoriteWorklog f = favorites.get(i);
+            positionById.put(f.getId(), i);
+            if (f.getTicketKey() != null) byKey.computeIfAbsent(normalizeKey(f.getTicketKey()), k -> new ArrayList<>()).add(f);
+        }
+        byKey.replaceAll((k, v) -> List.copyOf(v));
+        this.byTicketKey = byKey;
+    }
+
+    static String normalizeKey(String ticketKey) {
+        return ticketKey.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * @return the position of the favorite in the list, or -1
+     */
+    int positionOf(String id) {
+        Integer pos = id == null ? null : positionById.get(id);
+        return pos == null ? -1 : pos;
+    }
+
+    List<FavoriteWorklog> byTicketKey(String ticketKey) {
+        return byTicketKey.getOrDefault(normalizeKey(ticketKey), List.of());
+    }
+
+    /**
+     * All favorites ordered by {@code sort} (one of {@link #SORTS}; ties keep list order), or in list
+     * order when {@code sort} is {@code null}.
+     */
+    List<FavoriteWorklog> sortedBy(String sort, boolean descending) {
+        if (sort == null) return descending ? favorites.reversed() : favorites;
+        return sorted.computeIfAbsent(sort + (descending ? ":desc" : ":asc"), k -> sort(favorites, sort, descending));
+    }
+
+    static List<FavoriteWorklog> sort(List<FavoriteWorklog> items, String sort, boolean descending) {
+        Comparator<FavoriteWorklog> comparator = SORTS.get(sort);
+        if (comparator == null) throw new IllegalArgumentException("Unknown sort: " + sort);
+        List<FavoriteWorklog> out = new ArrayList<>(items);
+        out.sort(descending ? comparator.reversed() : comparator);
+        return List.copyOf(out);
+    }
+}
@@ -1,176 +1,153 @@
 package com.jiraworklog.worklog_backend.service;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.jiraworklog.worklog_backend.dto.FavoriteWorklog;
 
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Favorite worklogs, held as an immutable {@link Snapshot} of the favorites in the {@link StorageBackend}.
+ * Reads never touch the store; writes and external edits publish a new snapshot, as in {@link PrefixesService}.
+ * Each snapshot carries an id and a ticket-key index, so lookups do not scan the list.
+ */
 @Service
 public class FavoritesService {
 
-    private static final String FAVORITES_FILE = "data/favorites.csv";
-    private static final int MAX_FAVORITES = 10;
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
 
-    public List<FavoriteWorklog> getAllFavorites() {
-        List<FavoriteWorklog> favorites = new ArrayList<>();
-        File file = new File(FAVORITES_FILE);
-        
-        if (!file.exists()) {
-            return favorites;
-        }
+    /**
+     * The list is unmodifiable; the favorites in it are shared and must not be modified.
+     */
+    public record Snapshot(long version, List<FavoriteWorklog> favorites, FavoritesIndex index) {
 
-        try (BufferedReader br = new BufferedReader(
-                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty() || line.startsWith("#")) {
-                    continue;
-                }
-                String[] parts = parseCsvLine(line);
-                if (parts.length >= 4) {
-                    FavoriteWorklog fav = new FavoriteWorklog();
-                    fav.setId(parts[0]);
-                    fav.setTicketKey(parts[1]);
-                    fav.setComment(parts[2]);
-                    try {
-                        fav.setDefaultTimeMinutes(Integer.parseInt(parts[3]));
-                    } catch (NumberFormatException e) {
-                        fav.setDefaultTimeMinutes(30); // default
-                    }
-                    favorites.add(fav);
-                }
-            }
-        } catch (IOException e) {
-            // Return empty list on error
+        Snapshot(long version, List<FavoriteWorklog> favorites) {
+            this(version, favorites, new FavoritesIndex(favorites));
         }
-
-        return favorites;
     }
 
-    public FavoriteWorklog addFavorite(FavoriteWorklog favorite) {
-        List<FavoriteWorklog> favorites = getAllFavorites();
-        
-        if (favorites.size() >= MAX_FAVORITES) {
-            throw new RuntimeException("Maximum number of favorites (" + MAX_FAVORITES + ") reached");
-        }
+    /**
+     * One page of favorites and the number of favorites matching the query.
+     */
+    public record Page(List<FavoriteWorklog> items, int total) {}
 
-        if (favorite.getId() == null || favorite.getId().isEmpty()) {
-            favorite.setId(UUID.randomUUID().toString());
-        }
+    private final RecordStore<FavoriteWorklog> store;
 
-        favorites.add(favorite);
-        saveFavorites(favorites);
-        return favorite;
+    // 0 = unlimited
+    @Value("${favorites.max:10}")
+    private int maxFavorites;
+
+    private volatile Snapshot snapshot = new Snapshot(0, List.of());
+
+    public FavoritesService(StorageBackend storage) {
+        this.store = storage.favorites();
     }
 
-    public FavoriteWorklog updateFavorite(String id, FavoriteWorklog updatedFavorite) {
-        List<FavoriteWorklog> favorites = getAllFavorites();
-        boolean found = false;
-
-        for (int i = 0; i < favorites.size(); i++) {
-            if (favorites.get(i).getId().equals(id)) {
-                updatedFavorite.setId(id);
-                favorites.set(i, updatedFavorite);
-                found = true;
-                break;
-            }
-        }
+    @PostConstruct
+    void init() {
+        reload();
+        store.watch(this::reload);
+    }
 
-        if (!found) {
-            throw new RuntimeException("Favorite not found with id: " + id);
-        }
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
 
-        saveFavorites(favorites);
-        return updatedFavorite;
+    public long getVersion() {
+        return snapshot.version();
     }
 
-    public void deleteFavorite(String id) {
-        List<FavoriteWorklog> favorites = getAllFavorites();
-        boolean removed = favorites.removeIf(f -> f.getId().equals(id));
+    synchronized void reload() {
+        publish(store.findAll());
+    }
 
-        if (!removed) {
-            throw new RuntimeException("Favorite not found with id: " + id);
-        }
+    private void publish(List<FavoriteWorklog> favorites) {
+        snapshot = new Snapshot(snapshot.version() + 1, List.copyOf(favorites));
+    }
+
+    public List<FavoriteWorklog> getAllFavorites() {
+        return snapshot.favorites();
+    }
+
+    public boolean isSortKey(String sort) {
+        return FavoritesIndex.SORTS.containsKey(sort);
+    }
 
-        saveFavorites(favorites);
+    /**
+     * Favorites for {@code ticketKey} (all when {@code null}), ordered by {@code sort} (list order when
+     * {@code null}), cut to page {@code page} (0-based) of {@code size}. Both lookups are served from the
+     * snapshot's indexes; sorted orders of the whole list are computed once per snapshot.
+     */
+    public Page findFavorites(String ticketKey, String sort, boolean descending, int page, int size) {
+        return findFavorites(snapshot, ticketKey, sort, descending, page, size);
     }
 
-    private void saveFavorites(List<FavoriteWorklog> favorites) {
-        File file = new File(FAVORITES_FILE);
-        file.getParentFile().mkdirs();
-
-        try (BufferedWriter bw = new BufferedWriter(
-                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
-            bw.write("# id,ticketKey,comment,defaultTimeMinutes");
-            bw.newLine();
-            
-            for (FavoriteWorklog fav : favorites) {
-                String line = String.format("%s,%s,%s,%d",
-                    fav.getId(),
-                    fav.getTicketKey(),
-                    escapeCsv(fav.getComment()),
-                    fav.getDefaultTimeMinutes());
-                bw.write(line);
-                bw.newLine();
-            }
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to save favorites", e);
+    /**
+     * As above, over a given snapshot, e.g. one whose version was already used for an ETag.
+     */
+    public Page findFavorites(Snapshot snapshot, String ticketKey, String sort, boolean descending, int page, int size) {
+        FavoritesIndex index = snapshot.index();
+        List<FavoriteWorklog> matches;
+        if (ticketKey != null && !ticketKey.isBlank()) {
+            matches = index.byTicketKey(ticketKey);
+            if (sort != null) matches = FavoritesIndex.sort(matches, sort, descending);
+            else if (descending) matches = matches.reversed();
+        } else {
+            matches = index.sortedBy(sort, descending);
         }
+        int from = (int) Math.min(matches.size(), (long) page * size);
+        int to = (int) Math.min(matches.size(), (long) from + size);
+        return new Page(matches.subList(from, to), matches.size());
     }
 
-    private String escapeCsv(String value) {
-        if (value == null) {
-            return "";
+    public synchronized FavoriteWorklog addFavorite(FavoriteWorklog favorite) {
+        List<FavoriteWorklog> favorites = new ArrayList<>(snapshot.favorites());
+
+        if (maxFavorites > 0 && favorites.size() >= maxFavorites) {
+            throw new RuntimeException("Maximum number of favorites (" + maxFavorites + ") reached");
         }
-        // If the value contains comma, quote, or newline, wrap it in quotes and escape quotes
-        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
-            return "\"" + value.replace("\"", "\"\"") + "\"";
+
+        if (favorite.getId() == null || favorite.getId().isEmpty()) {
+            favorite.setId(UUID.randomUUID().toString());
+        } else if (snapshot.index().positionOf(favorite.getId()) >= 0) {
+            throw new RuntimeException("Favorite already exists with id: " + favorite.getId());
         }
-        return value;
+
+        favorites.add(favorite);
+        store.put(favorite);
+        publish(favorites);
+        return favorite;
+    }
+
+    public synchronized FavoriteWorklog updateFavorite(String id, FavoriteWorklog updatedFavorite) {
+        int pos = snapshot.index().positionOf(id);
+        if (pos < 0) {
+            throw new RuntimeException("Favorite not found with id: " + id);
+        }
+
+        updatedFavorite.setId(id);
+        List<FavoriteWorklog> favorites = new ArrayList<>(snapshot.favorites());
+        favorites.set(pos, updatedFavorite);
+        store.put(updatedFavorite);
+        publish(favorites);
+        return updatedFavorite;
     }
 
-    private String[] parseCsvLine(String line) {
-        List<String> fields = new ArrayList<>();
-        StringBuilder currentField = new StringBuilder();
-        boolean inQuotes = false;
-        
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            
-            if (c == '"') {
-                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
-                    // Escaped quote
-                    currentField.append('"');
-                    i++; // Skip next quote
-                } else {
-                    // Toggle quote state
-                    inQuotes = !inQuotes;
-                }
-            } else if (c == ',' && !inQuotes) {
-                // Field separator
-                fields.add(currentField.toString().trim());
-                currentField = new StringBuilder();
-            } else {
-                currentField.append(c);
-            }
+    public synchronized void deleteFavorite(String id) {
+        int pos = snapshot.index().positionOf(id);
+        if (pos < 0) {
+            throw new RuntimeException("Favorite not found with id: " + id);
         }
-        
-        // Add the last field
-        fields.add(currentField.toString().trim());
-        
-        return fields.toArray(new String[0]);
+
+        List<FavoriteWorklog> favorites = new ArrayList<>(snapshot.favorites());
+        favorites.remove(pos);
+        store.delete(id);
+        publish(favorites);
     }
 }
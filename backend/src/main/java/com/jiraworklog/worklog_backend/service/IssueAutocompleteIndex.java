@@ -0,0 +1,296 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.jiraworklog.worklog_backend.dto.FavoriteWorklog;
+import com.jiraworklog.worklog_backend.dto.JiraIssueSummary;
+import com.jiraworklog.worklog_backend.dto.WorklogRecord;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Local index of the issues this application has seen, for ticket autocomplete without a Jira round
+ * trip. Issue keys are kept in a prefix trie; summaries in an n-gram index (trigrams of every word, plus
+ * its first one and two characters for short queries). Issues come from favorites, from the worklog mirror
+ * and from Jira lookups and searches made by the application; each remembers when it was last worked on
+ * or looked up, and more recent issues rank first.
+ */
+@Service
+public class IssueAutocompleteIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(IssueAutocompleteIndex.class);
+
+    public static final int MAX_LIMIT = 50;
+
+    // most recently used first
+    private static final Comparator<Issue> BY_RANK =
+            Comparator.comparingLong((Issue i) -> i.lastUsedMillis).reversed().thenComparing(i -> i.key);
+
+    private final FavoritesService favoritesService;
+    private final CsvService csvService;
+    private final WorklogMirrorService worklogMirrorService;
+
+    private final List<Issue> issues = new ArrayList<>();
+    private final Map<String, Issue> byKey = new HashMap<>();
+    private final TrieNode keys = new TrieNode();
+    private final Map<String, IntList> grams = new HashMap<>();
+    private long indexedFavoritesVersion = -1;
+
+    private static final class Issue {
+        final int id;
+        final String key;
+        String summary;
+        String normalizedSummary = "";
+        long lastUsedMillis;
+
+        Issue(int id, String key) {
+            this.id = id;
+            this.key = key;
+        }
+    }
+
+    private static final class TrieNode {
+        final Map<Character, TrieNode> children = new HashMap<>(4);
+        Issue issue;
+    }
+
+    public IssueAutocompleteIndex(FavoritesService favoritesService, CsvService csvService,
+                                  WorklogMirrorService worklogMirrorService) {
+        this.favoritesService = favoritesService;
+        this.csvService = csvService;
+        this.worklogMirrorService = worklogMirrorService;
+    }
+
+    @PostConstruct
+    void init() {
+        try {
+            for (Map<String, String> ticket : csvService.loadFavoriteTickets()) record(ticket.get("key"), ticket.get("label"), 0);
+        } catch (RuntimeException e) {
+            logger.warn("Favorite tickets not indexed: {}", e.getMessage());
+        }
+        worklogMirrorService.addListener(this::record);
+        worklogMirrorService.forEachWorklog(this::record);
+    }
+
+    void record(WorklogRecord rec) {
+        JiraIssueSummary issue = worklogMirrorService.getIssue(rec.getIssueId());
+        long usedAt = 0;
+        try {
+            if (rec.getDate() != null) usedAt = LocalDate.parse(rec.getDate()).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            // indexed, but not as recently used
+        }
+        record(rec.getIssueKey(), issue == null ? null : issue.getSummary(), usedAt);
+    }
+
+    /**
+     * Adds or refreshes an issue. A known summary is kept when {@code summary} is {@code null}, and the
+     * last-used time only moves forward.
+     */
+    public synchronized void record(String key, String summary, long usedAtMillis) {
+        if (key == null || key.isBlank()) return;
+        String normalizedKey = key.trim().toUpperCase(Locale.ROOT);
+        Issue issue = byKey.get(normalizedKey);
+        if (issue == null) {
+            issue = new Issue(issues.size(), normalizedKey);
+            issues.add(issue);
+            byKey.put(normalizedKey, issue);
+            TrieNode node = keys;
+            for (int i = 0; i < normalizedKey.length(); i++) {
+                node = node.children.computeIfAbsent(normalizedKey.charAt(i), c -> new TrieNode());
+            }
+            node.issue = issue;
+        }
+        issue.lastUsedMillis = Math.max(issue.lastUsedMillis, usedAtMillis);
+        if (summary != null && !summary.isBlank() && !summary.equals(issue.summary)) {
+            issue.summary = summary;
+            issue.normalizedSummary = normalize(summary);
+            // postings of a previous summary stay behind; matches are verified against the current one
+            for (String gram : gramsOf(issue.normalizedSummary)) grams.computeIfAbsent(gram, g -> new IntList()).addSorted(issue.id);
+        }
+    }
+
+    public void recordAll(List<JiraIssueSummary> found, long usedAtMillis) {
+        if (found == null) return;
+        for (JiraIssueSummary issue : found) record(issue.getKey(), issue.getSummary(), usedAtMillis);
+    }
+
+    /**
+     * Up to {@code limit} issues whose key starts with {@code query}, then issues whose summary contains every
+     * word of {@code query} (a word of one or two characters must start a summary word); each group most
+     * recently used first.
+     */
+    public List<JiraIssueSummary> complete(String query, int limit) {
+        refreshFavorites();
+        if (query == null || query.isBlank() || limit <= 0) return List.of();
+        synchronized (this) {
+            Set<Issue> found = new LinkedHashSet<>();
+            String trimmed = query.trim();
+            if (trimmed.indexOf(' ') < 0) found.addAll(keyMatches(trimmed.toUpperCase(Locale.ROOT), limit));
+            if (found.size() < limit) found.addAll(summaryMatches(normalize(trimmed), limit));
+            List<JiraIssueSummary> out = new ArrayList<>(Math.min(limit, found.size()));
+            for (Issue issue : found) {
+                if (out.size() == limit) break;
+                out.add(new JiraIssueSummary(null, issue.key, issue.summary));
+            }
+            return out;
+        }
+    }
+
+    public synchronized int size() {
+        return issues.size();
+    }
+
+    // favorite worklogs carry a ticket key but no summary
+    private void refreshFavorites() {
+        FavoritesService.Snapshot snapshot = favoritesService.getSnapshot();
+        synchronized (this) {
+            if (snapshot.version() == indexedFavoritesVersion) return;
+            indexedFavoritesVersion = snapshot.version();
+        }
+        for (FavoriteWorklog favorite : snapshot.favorites()) record(favorite.getTicketKey(), null, 0);
+    }
+
+    // the best limit issues under the prefix; the subtree is walked but only limit issues are ever held
+    private List<Issue> keyMatches(String prefix, int limit) {
+        TrieNode node = keys;
+        for (int i = 0; i < prefix.length() && node != null; i++) node = node.children.get(prefix.charAt(i));
+        if (node == null) return List.of();
+        PriorityQueue<Issue> best = new PriorityQueue<>(limit + 1, BY_RANK.reversed());
+        ArrayList<TrieNode> stack = new ArrayList<>();
+        stack.add(node);
+        while (!stack.isEmpty()) {
+            TrieNode n = stack.remove(stack.size() - 1);
+            if (n.issue != null) offer(best, n.issue, limit);
+            stack.addAll(n.children.values());
+        }
+        return drain(best);
+    }
+
+    private List<Issue> summaryMatches(String normalizedQuery, int limit) {
+        String[] words = normalizedQuery.split(" ");
+        int[] candidates = null;
+        for (String word : words) {
+            if (word.isEmpty()) continue;
+            List<String> wordGrams = word.length() < 3 ? List.of("^" + word) : trigrams(word);
+            for (String gram : wordGrams) {
+                IntList posting = grams.get(gram);
+                if (posting == null) return List.of();
+                candidates = candidates == null ? posting.toArray() : intersect(candidates, posting);
+                if (candidates.length == 0) return List.of();
+            }
+        }
+        if (candidates == null) return List.of();
+        PriorityQueue<Issue> best = new PriorityQueue<>(limit + 1, BY_RANK.reversed());
+        for (int id : candidates) {
+            Issue issue = issues.get(id);
+            if (containsAllWords(issue.normalizedSummary, words)) offer(best, issue, limit);
+        }
+        return drain(best);
+    }
+
+    private static boolean containsAllWords(String summary, String[] words) {
+        for (String word : words) {
+            if (word.isEmpty()) continue;
+            if (word.length() < 3 ? !(summary.startsWith(word) || summary.contains(" " + word)) : !summary.contains(word)) return false;
+        }
+        return true;
+    }
+
+    // worst of the kept issues at the head of the heap
+    private static void offer(PriorityQueue<Issue> best, Issue issue, int limit) {
+        if (best.size() < limit) {
+            best.add(issue);
+        } else if (BY_RANK.compare(issue, best.peek()) < 0) {
+            best.poll();
+            best.add(issue);
+        }
+    }
+
+    private static List<Issue> drain(PriorityQueue<Issue> best) {
+        List<Issue> out = new ArrayList<>(best);
+        out.sort(BY_RANK);
+        return out;
+    }
+
+    static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private static Set<String> gramsOf(String normalizedSummary) {
+        Set<String> out = new LinkedHashSet<>();
+        for (String word : normalizedSummary.split(" ")) {
+            if (word.isEmpty()) continue;
+            out.add("^" + word.substring(0, 1));
+            if (word.length() >= 2) out.add("^" + word.substring(0, 2));
+            out.addAll(trigrams(word));
+        }
+        return out;
+    }
+
+    private static List<String> trigrams(String word) {
+        List<String> out = new ArrayList<>(Math.max(0, word.length() - 2));
+        for (int i = 0; i + 3 <= word.length(); i++) out.add(word.substring(i, i + 3));
+        return out;
+    }
+
+    private static int[] intersect(int[] a, IntList b) {
+        int[] out = new int[Math.min(a.length, b.size)];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.size) {
+            if (a[i] < b.values[j]) i++;
+            else if (a[i] > b.values[j]) j++;
+            else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // sorted ids without duplicates; ids are mostly added in increasing order
+    private static final class IntList {
+        private int[] values = new int[2];
+        private int size;
+
+        void addSorted(int value) {
+            if (size > 0 && values[size - 1] >= value) {
+                int at = Arrays.binarySearch(values, 0, size, value);
+                if (at >= 0) return;
+                insert(-at - 1, value);
+                return;
+            }
+            insert(size, value);
+        }
+
+        private void insert(int at, int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            System.arraycopy(values, at, values, at + 1, size - at);
+            values[at] = value;
+            size++;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
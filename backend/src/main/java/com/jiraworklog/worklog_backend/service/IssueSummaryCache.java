@@ -0,0 +1,159 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.jiraworklog.worklog_backend.dto.IssueSummaryCacheStats;
+import com.jiraworklog.worklog_backend.dto.JiraIssueSummary;
+
+/**
+ * Bounded cache in front of {@link JiraService#getIssueSummary(String)}. Entries expire after a TTL and
+ * the least recently used one is evicted when the cache is full. Concurrent lookups of the same key
+ * share a single Jira call, and keys Jira answered with 404 are remembered for a shorter TTL.
+ */
+@Service
+public class IssueSummaryCache {
+
+    private final JiraService jiraService;
+
+    @Value("${jira.summary-cache.max-size:1000}")
+    private int maxSize;
+
+    @Value("${jira.summary-cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${jira.summary-cache.negative-ttl-seconds:30}")
+    private long negativeTtlSeconds;
+
+    // access-ordered, so iteration starts at the least recently used entry; guarded by itself
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, CompletableFuture<JiraIssueSummary>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    // summary == null marks an issue Jira reported as not found
+    private record Entry(JiraIssueSummary summary, long expiresAtNanos) {}
+
+    public IssueSummaryCache(JiraService jiraService) {
+        this.jiraService = jiraService;
+    }
+
+    /**
+     * @return the issue summary, or {@code null} if the issue does not exist in Jira
+     */
+    public JiraIssueSummary get(String key) {
+        String cacheKey = key.toUpperCase(Locale.ROOT);
+        Entry cached = lookup(cacheKey);
+        if (cached != null) {
+            (cached.summary() == null ? negativeHits : hits).increment();
+            return cached.summary();
+        }
+
+        CompletableFuture<JiraIssueSummary> call = new CompletableFuture<>();
+        CompletableFuture<JiraIssueSummary> existing = inFlight.putIfAbsent(cacheKey, call);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        try {
+            // another caller may have finished loading between our lookup and putIfAbsent
+            cached = lookup(cacheKey);
+            if (cached != null) {
+                call.complete(cached.summary());
+                return cached.summary();
+            }
+            misses.increment();
+            JiraIssueSummary summary;
+            try {
+                summary = jiraService.getIssueSummary(key);
+                // only a 404 means the issue is missing; an empty 200 is a failed call
+                if (summary == null) throw new IllegalStateException("Jira returned no body for issue " + key);
+                store(cacheKey, new Entry(summary, expiry(ttlSeconds)));
+            } catch (HttpClientErrorException.NotFound e) {
+                summary = null;
+                store(cacheKey, new Entry(null, expiry(negativeTtlSeconds)));
+            }
+            call.complete(summary);
+            return summary;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, call);
+        }
+    }
+
+    public void invalidate(String key) {
+        synchronized (entries) {
+            entries.remove(key.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    public IssueSummaryCacheStats getStats() {
+        IssueSummaryCacheStats stats = new IssueSummaryCacheStats();
+        synchronized (entries) {
+            stats.setSize(entries.size());
+        }
+        stats.setMaxSize(maxSize);
+        stats.setHits(hits.sum());
+        stats.setNegativeHits(negativeHits.sum());
+        stats.setMisses(misses.sum());
+        stats.setCoalesced(coalesced.sum());
+        stats.setEvictions(evictions.sum());
+        stats.setExpirations(expirations.sum());
+        return stats;
+    }
+
+    private Entry lookup(String cacheKey) {
+        synchronized (entries) {
+            Entry e = entries.get(cacheKey);
+            if (e != null && System.nanoTime() - e.expiresAtNanos() >= 0) {
+                entries.remove(cacheKey);
+                expirations.increment();
+                return null;
+            }
+            return e;
+        }
+    }
+
+    private void store(String cacheKey, Entry entry) {
+        synchronized (entries) {
+            entries.put(cacheKey, entry);
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (entries.size() > Math.max(1, maxSize) && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private static long expiry(long seconds) {
+        return System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+    private static JiraIssueSummary await(CompletableFuture<JiraIssueSummary> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+}
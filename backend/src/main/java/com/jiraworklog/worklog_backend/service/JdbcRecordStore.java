@@ -0,0 +1,104 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * A {@link RecordStore} in one table of {@link JdbcStorageBackend}. The table has a unique index on
+ * {@code id}, so lookups and edits touch one row; {@code seq} keeps insertion order.
+ */
+final class JdbcRecordStore<T> implements RecordStore<T> {
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final Object lock;
+    private final Function<T, String> idOf;
+    private final Function<T, Object[]> valuesOf;
+    private final RowMapper<T> mapper;
+
+    private final String selectAll;
+    private final String selectById;
+    private final String merge;
+    private final String insert;
+    private final String delete;
+    private final String deleteAll;
+
+    /**
+     * @param columns  the columns after {@code id}, in the order of {@code valuesOf}
+     * @param mapper   maps rows selected as {@code id, columns...}
+     * @param lock     shared by all stores of the backend, which use a single connection
+     */
+    JdbcRecordStore(JdbcTemplate jdbc, TransactionTemplate tx, Object lock, String table, List<String> columns,
+                    Function<T, String> idOf, Function<T, Object[]> valuesOf, RowMapper<T> mapper) {
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.lock = lock;
+        this.idOf = idOf;
+        this.valuesOf = valuesOf;
+        this.mapper = mapper;
+        List<String> all = new ArrayList<>();
+        all.add("id");
+        all.addAll(columns);
+        String names = String.join(", ", all);
+        String params = String.join(", ", all.stream().map(c -> "?").toList());
+        this.selectAll = "SELECT " + names + " FROM " + table + " ORDER BY seq";
+        this.selectById = "SELECT " + names + " FROM " + table + " WHERE id = ?";
+        // updates the row in place (keeping its seq) or inserts a new one
+        this.merge = "MERGE INTO " + table + " (" + names + ") KEY (id) VALUES (" + params + ")";
+        this.insert = "INSERT INTO " + table + " (" + names + ") VALUES (" + params + ")";
+        this.delete = "DELETE FROM " + table + " WHERE id = ?";
+        this.deleteAll = "DELETE FROM " + table;
+    }
+
+    @Override
+    public List<T> findAll() {
+        synchronized (lock) {
+            return jdbc.query(selectAll, mapper);
+        }
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        synchronized (lock) {
+            return jdbc.query(selectById, mapper, id).stream().findFirst();
+        }
+    }
+
+    @Override
+    public void put(T record) {
+        synchronized (lock) {
+            jdbc.update(merge, args(record));
+        }
+    }
+
+    @Override
+    public void delete(String id) {
+        synchronized (lock) {
+            jdbc.update(delete, id);
+        }
+    }
+
+    @Override
+    public void replaceAll(List<T> records) {
+        synchronized (lock) {
+            tx.executeWithoutResult(status -> {
+                jdbc.update(deleteAll);
+                jdbc.batchUpdate(insert, records.stream().map(this::args).toList());
+            });
+        }
+    }
+
+    private Object[] args(T record) {
+        Object[] values = valuesOf.apply(record);
+        Object[] args = new Object[values.length + 1];
+        args[0] = idOf.apply(record);
+        System.arraycopy(values, 0, args, 1, values.length);
+        return args;
+    }
+}
@@ -0,0 +1,157 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jiraworklog.worklog_backend.dto.FavoriteWorklog;
+import com.jiraworklog.worklog_backend.dto.PrefixMapping;
+
+/**
+ * Embedded H2 database in {@code <data dir>/worklog-store.mv.db}. Every store is a table with a unique
+ * index on its id (and favorites an index on the ticket key), so single-record reads and edits do not
+ * scan or rewrite the whole store. One connection is kept open and shared by all stores.
+ */
+public class JdbcStorageBackend implements StorageBackend {
+
+    static final String DATABASE_NAME = "worklog-store";
+
+    private static final String[] SCHEMA = {
+        """
+        CREATE TABLE IF NOT EXISTS prefix_mapping (
+            seq BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+            id VARCHAR(64) NOT NULL,
+            keyword VARCHAR(255),
+            prefix VARCHAR(255),
+            label VARCHAR(1024),
+            enabled BOOLEAN NOT NULL)""",
+        "CREATE UNIQUE INDEX IF NOT EXISTS prefix_mapping_id ON prefix_mapping (id)",
+        """
+        CREATE TABLE IF NOT EXISTS favorite_worklog (
+            seq BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+            id VARCHAR(64) NOT NULL,
+            ticket_key VARCHAR(64),
+            worklog_comment VARCHAR(4096),
+            default_time_minutes INT NOT NULL)""",
+        "CREATE UNIQUE INDEX IF NOT EXISTS favorite_worklog_id ON favorite_worklog (id)",
+        "CREATE INDEX IF NOT EXISTS favorite_worklog_ticket_key ON favorite_worklog (ticket_key)",
+        """
+        CREATE TABLE IF NOT EXISTS constant_prefix (
+            seq BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+            id VARCHAR(255) NOT NULL)""",
+        "CREATE UNIQUE INDEX IF NOT EXISTS constant_prefix_id ON constant_prefix (id)",
+        """
+        CREATE TABLE IF NOT EXISTS setting (
+            name VARCHAR(255) PRIMARY KEY,
+            setting_value VARCHAR(4096))"""
+    };
+
+    private final SingleConnectionDataSource dataSource;
+    private final JdbcTemplate jdbc;
+    private final Object lock = new Object();
+
+    private final JdbcRecordStore<PrefixMapping> prefixes;
+    private final JdbcRecordStore<FavoriteWorklog> favorites;
+    private final JdbcRecordStore<String> constantPrefixes;
+    private final SettingsStore settings;
+
+    public JdbcStorageBackend(Path dir) {
+        this("jdbc:h2:file:" + dir.toAbsolutePath().resolve(DATABASE_NAME));
+    }
+
+    JdbcStorageBackend(String url) {
+        this.dataSource = new SingleConnectionDataSource(url, "sa", "", true);
+        this.jdbc = new JdbcTemplate(dataSource);
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        synchronized (lock) {
+            for (String ddl : SCHEMA) jdbc.execute(ddl);
+        }
+
+        this.prefixes = new JdbcRecordStore<>(jdbc, tx, lock, "prefix_mapping", List.of("keyword", "prefix", "label", "enabled"),
+                PrefixMapping::getId, p -> new Object[] {p.getType(), p.getPrefix(), p.getLabel(), p.isEnabled()},
+                (rs, i) -> {
+                    PrefixMapping pm = new PrefixMapping();
+                    pm.setId(rs.getString(1));
+                    pm.setType(rs.getString(2));
+                    pm.setPrefix(rs.getString(3));
+                    pm.setLabel(rs.getString(4));
+                    pm.setEnabled(rs.getBoolean(5));
+                    return pm;
+                });
+        this.favorites = new JdbcRecordStore<>(jdbc, tx, lock, "favorite_worklog",
+                List.of("ticket_key", "worklog_comment", "default_time_minutes"),
+                FavoriteWorklog::getId, f -> new Object[] {f.getTicketKey(), f.getComment(), f.getDefaultTimeMinutes()},
+                (rs, i) -> new FavoriteWorklog(rs.getString(1), rs.getString(2), rs.getString(3), rs.getInt(4)));
+        this.constantPrefixes = new JdbcRecordStore<>(jdbc, tx, lock, "constant_prefix", List.of(),
+                p -> p, p -> new Object[0], (rs, i) -> rs.getString(1));
+        this.settings = new JdbcSettingsStore();
+    }
+
+    @Override
+    public String name() {
+        return "jdbc";
+    }
+
+    @Override
+    public RecordStore<PrefixMapping> prefixes() {
+        return prefixes;
+    }
+
+    @Override
+    public RecordStore<FavoriteWorklog> favorites() {
+        return favorites;
+    }
+
+    @Override
+    public RecordStore<String> constantPrefixes() {
+        return constantPrefixes;
+    }
+
+    @Override
+    public SettingsStore settings() {
+        return settings;
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            dataSource.destroy();
+        }
+    }
+
+    private final class JdbcSettingsStore implements SettingsStore {
+
+        @Override
+        public Optional<String> get(String name) {
+            synchronized (lock) {
+                return jdbc.queryForList("SELECT setting_value FROM setting WHERE name = ?", String.class, name)
+                        .stream().findFirst();
+            }
+        }
+
+        @Override
+        public void put(String name, String value) {
+            synchronized (lock) {
+                jdbc.update("MERGE INTO setting (name, setting_value) KEY (name) VALUES (?, ?)", name, value);
+            }
+        }
+
+        @Override
+        public Map<String, String> findAll() {
+            Map<String, String> out = new LinkedHashMap<>();
+            synchronized (lock) {
+                jdbc.query("SELECT name, setting_value FROM setting ORDER BY name",
+                        (RowCallbackHandler) rs -> out.put(rs.getString(1), rs.getString(2)));
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import com.jiraworklog.worklog_backend.dto.JiraIssueSummary;
+import com.jiraworklog.worklog_backend.dto.JiraSearchResult;
+
+/**
+ * Iterates over all issues of a Jira search, page by page. As soon as a page arrives the
+ * request for the following one is started on a virtual thread, so the next page is usually
+ * ready by the time the caller has processed the current one.
+ */
+class JiraSearchPageIterator implements Iterator<JiraIssueSummary> {
+
+    interface PageFetcher {
+        JiraSearchResult fetch(int startAt, int maxResults);
+    }
+
+    private static final Executor PREFETCH_EXECUTOR = r -> Thread.ofVirtual().name("jira-search-prefetch").start(r);
+
+    private final PageFetcher fetcher;
+    private final int pageSize;
+    private Iterator<JiraIssueSummary> current = Collections.emptyIterator();
+    private CompletableFuture<JiraSearchResult> nextPage;
+
+    JiraSearchPageIterator(PageFetcher fetcher, int pageSize) {
+        this.fetcher = fetcher;
+        this.pageSize = pageSize;
+        this.nextPage = request(0);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (nextPage == null) return false;
+            JiraSearchResult page = await(nextPage);
+            nextPage = null;
+            List<JiraIssueSummary> issues = page == null || page.getIssues() == null
+                    ? Collections.emptyList() : page.getIssues();
+            int end = page == null ? 0 : page.getStartAt() + issues.size();
+            // continue while Jira reports more issues; without a total, a full page means "maybe more"
+            boolean more = !issues.isEmpty()
+                    && (page.getTotal() >= 0 ? end < page.getTotal() : issues.size() >= pageSize);
+            if (more) nextPage = request(end);
+            current = issues.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public JiraIssueSummary next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return current.next();
+    }
+
+    private CompletableFuture<JiraSearchResult> request(int startAt) {
+        return CompletableFuture.supplyAsync(() -> fetcher.fetch(startAt, pageSize), PREFETCH_EXECUTOR);
+    }
+
+    private static JiraSearchResult await(CompletableFuture<JiraSearchResult> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+}
@@ -1,12 +1,23 @@
 package com.jiraworklog.worklog_backend.service;
 
 import java.net.URI;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -15,13 +26,26 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import java.util.Base64;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
 import com.jiraworklog.worklog_backend.dto.JiraIssueSummary;
 import com.jiraworklog.worklog_backend.dto.JiraSearchResult;
 import com.jiraworklog.worklog_backend.dto.JiraWorklogResponse;
+import com.jiraworklog.worklog_backend.dto.WorklogBatchResult;
+import com.jiraworklog.worklog_backend.dto.WorklogChangePage;
+import com.jiraworklog.worklog_backend.dto.WorklogRecord;
 import com.jiraworklog.worklog_backend.dto.WorklogRequest;
 import com.jiraworklog.worklog_backend.dto.WorklogEntry;
+import com.jiraworklog.worklog_backend.dto.WorklogFetchFailure;
+import com.jiraworklog.worklog_backend.dto.WorklogFetchResult;
+import com.jiraworklog.worklog_backend.dto.jira.JiraIssue;
+import com.jiraworklog.worklog_backend.dto.jira.JiraSearchPage;
+import com.jiraworklog.worklog_backend.dto.jira.JiraUser;
+import com.jiraworklog.worklog_backend.dto.jira.JiraWorklog;
+import com.jiraworklog.worklog_backend.dto.jira.JiraWorklogChangeFeed;
+import com.jiraworklog.worklog_backend.dto.jira.JiraWorklogPage;
 
 @Service
 public class JiraService {
@@ -34,7 +58,16 @@ public class JiraService {
     @Value("${jira.token:}")
     private String jiraToken;
 
-    public JiraService(RestTemplate restTemplate) {
+    @Value("${jira.worklog-fetch.concurrency:8}")
+    private int worklogFetchConcurrency;
+
+    @Value("${jira.search.page-size:100}")
+    private int searchPageSize;
+
+    @Value("${jira.worklog-submit.concurrency:4}")
+    private int worklogSubmitConcurrency;
+
+    public JiraService(@Qualifier("jiraRestTemplate") RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
     }
 
@@ -54,87 +87,155 @@ public class JiraService {
         java.util.Map<String, Object> full = new java.util.HashMap<>();
         full.put("comment", request.getComment());
         full.put("timeSpentSeconds", request.getTimeSpentSeconds());
-        // If the frontend provided a date (YYYY-MM-DD), set started to that date at 09:00 UTC offset format
-        // If the frontend provided a full started timestamp, prefer it. Otherwise use the date if present.
-        String startedValue = null;
-        if (request.getStarted() != null && !request.getStarted().isBlank()) {
-            startedValue = request.getStarted();
-        } else if (request.getDate() != null && !request.getDate().isBlank()) {
-            // default start time at 09:00 local-style timestamp (no milliseconds offset specified)
-            startedValue = request.getDate() + "T09:00:00.000+0000";
-        }
-        full.put("started", startedValue);
+        full.put("started", startedValue(request));
         if (request.getUsername() != null && !request.getUsername().isBlank()) {
             // Jira may expect an author object; include minimal form
             full.put("author", java.util.Map.of("name", request.getUsername()));
         }
         HttpEntity<Map<String, Object>> entity = new HttpEntity<>(full, headers);
-        ResponseEntity<Map> resp = restTemplate.exchange(URI.create(url), HttpMethod.POST, entity, Map.class);
-        if (resp != null && resp.getBody() != null) {
-            Map body = resp.getBody();
-            JiraWorklogResponse out = new JiraWorklogResponse();
-            out.setId(body.getOrDefault("id", null) == null ? null : body.get("id").toString());
-            Object authorObj = body.get("author");
-            if (authorObj instanceof Map) {
-                Object name = ((Map) authorObj).get("displayName");
-                if (name == null) name = ((Map) authorObj).get("name");
-                out.setAuthor(name == null ? null : name.toString());
-            }
-            Object tss = body.get("timeSpentSeconds");
-            if (tss instanceof Number) out.setTimeSpentSeconds(((Number) tss).intValue());
-            Object started = body.get("started");
-            out.setStarted(started == null ? null : started.toString());
-            return out;
+        ResponseEntity<JiraWorklog> resp = restTemplate.exchange(URI.create(url), HttpMethod.POST, entity, JiraWorklog.class);
+        return resp == null ? null : toResponse(resp.getBody());
+    }
+
+    // If the frontend provided a full started timestamp, prefer it. Otherwise use the date if present.
+    private static String startedValue(WorklogRequest request) {
+        if (request.getStarted() != null && !request.getStarted().isBlank()) {
+            return request.getStarted();
+        } else if (request.getDate() != null && !request.getDate().isBlank()) {
+            // default start time at 09:00 local-style timestamp (no milliseconds offset specified)
+            return request.getDate() + "T09:00:00.000+0000";
         }
         return null;
     }
 
+    private static JiraWorklogResponse toResponse(JiraWorklog body) {
+        if (body == null) return null;
+        JiraWorklogResponse out = new JiraWorklogResponse();
+        out.setId(body.id());
+        JiraUser author = body.author();
+        if (author != null) {
+            out.setAuthor(author.displayName() != null ? author.displayName() : author.name());
+        }
+        out.setTimeSpentSeconds(body.timeSpentSeconds());
+        out.setStarted(body.started());
+        return out;
+    }
+
+    /**
+     * Looks for a worklog on the request's issue with the same author, start date, time spent and
+     * comment. Used to avoid logging time twice when an earlier attempt may already have reached Jira.
+     *
+     * @return the matching worklog, or {@code null} if there is none
+     */
+    public JiraWorklogResponse findMatchingWorklog(WorklogRequest request) {
+        String started = startedValue(request);
+        String datePart = started != null && started.length() >= 10 ? started.substring(0, 10) : null;
+        int startAt = 0;
+        while (true) {
+            JiraWorklogPage page = getIssueWorklogPage(request.getTicketKey(), startAt);
+            if (page == null || page.worklogs() == null || page.worklogs().isEmpty()) return null;
+            for (JiraWorklog w : page.worklogs()) {
+                boolean authored = request.getUsername() == null || request.getUsername().isBlank()
+                        || (w.author() != null && w.author().matches(request.getUsername()));
+                if (!authored) continue;
+                if (datePart != null && (w.started() == null || !w.started().startsWith(datePart))) continue;
+                if (!Objects.equals(w.timeSpentSeconds(), request.getTimeSpentSeconds())) continue;
+                if (!Objects.equals(Objects.toString(w.comment(), ""), Objects.toString(request.getComment(), ""))) continue;
+                return toResponse(w);
+            }
+            startAt = page.startAt() + page.worklogs().size();
+            if (startAt >= page.total()) return null;
+        }
+    }
+
+    /**
+     * Creates several worklogs concurrently, at most {@code jira.worklog-submit.concurrency} requests
+     * in flight. Results are returned in input order, one per request, whether it succeeded or not.
+     */
+    public List<WorklogBatchResult> createWorklogs(List<WorklogRequest> requests) {
+        List<WorklogBatchResult> results = new ArrayList<>(requests.size());
+        Semaphore permits = new Semaphore(Math.max(1, worklogSubmitConcurrency));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<JiraWorklogResponse>> futures = new ArrayList<>(requests.size());
+            for (WorklogRequest request : requests) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return createWorklog(request);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                WorklogBatchResult result = new WorklogBatchResult(i, requests.get(i).getTicketKey());
+                try {
+                    result.setWorklog(futures.get(i).get());
+                    result.setStatus(WorklogBatchResult.CREATED);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    result.setStatus(WorklogBatchResult.FAILED);
+                    result.setError(cause.getMessage());
+                    if (cause instanceof RestClientResponseException re) result.setJiraStatus(re.getStatusCode().value());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    result.setStatus(WorklogBatchResult.FAILED);
+                    result.setError("interrupted");
+                }
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
     public JiraIssueSummary getIssueSummary(String key) {
         String url = jiraUrl + "/rest/api/2/issue/" + key + "?fields=summary";
         HttpHeaders headers = authHeaders();
         HttpEntity<Void> entity = new HttpEntity<>(headers);
-        ResponseEntity<Map> resp = restTemplate.exchange(URI.create(url), HttpMethod.GET, entity, Map.class);
+        ResponseEntity<JiraIssue> resp = restTemplate.exchange(URI.create(url), HttpMethod.GET, entity, JiraIssue.class);
         if (resp != null && resp.getBody() != null) {
-            Map body = resp.getBody();
-            JiraIssueSummary out = new JiraIssueSummary();
-            out.setId(body.getOrDefault("id", null) == null ? null : body.get("id").toString());
-            out.setKey(body.getOrDefault("key", null) == null ? null : body.get("key").toString());
-            Object fields = body.get("fields");
-            if (fields instanceof Map) {
-                Object summary = ((Map) fields).get("summary");
-                out.setSummary(summary == null ? null : summary.toString());
-            }
-            return out;
+            return resp.getBody().toSummary();
         }
         return null;
     }
 
+    /**
+     * Runs the (already URL-encoded) JQL search and collects the issues of all result pages.
+     */
     public JiraSearchResult searchWorklogs(String jql) {
-        String url = jiraUrl + "/rest/api/2/search?jql=" + jql;
+        JiraSearchResult result = new JiraSearchResult();
+        List<JiraIssueSummary> summaries = new ArrayList<>();
+        searchIssues(jql).forEachRemaining(summaries::add);
+        result.setIssues(summaries);
+        result.setMaxResults(searchPageSize);
+        result.setTotal(summaries.size());
+        return result;
+    }
+
+    /**
+     * Lazily pages through the search result; the next page is prefetched while the current one is consumed.
+     */
+    public Iterator<JiraIssueSummary> searchIssues(String jql) {
+        return new JiraSearchPageIterator((startAt, maxResults) -> searchIssuesPage(jql, startAt, maxResults),
+                Math.max(1, searchPageSize));
+    }
+
+    public JiraSearchResult searchIssuesPage(String jql, int startAt, int maxResults) {
+        String url = jiraUrl + "/rest/api/2/search?jql=" + jql + "&fields=summary&startAt=" + startAt + "&maxResults=" + maxResults;
         HttpHeaders headers = authHeaders();
         HttpEntity<Void> entity = new HttpEntity<>(headers);
-        ResponseEntity<Map> resp = restTemplate.exchange(URI.create(url), HttpMethod.GET, entity, Map.class);
+        ResponseEntity<JiraSearchPage> resp = restTemplate.exchange(URI.create(url), HttpMethod.GET, entity, JiraSearchPage.class);
         JiraSearchResult result = new JiraSearchResult();
+        result.setStartAt(startAt);
+        result.setMaxResults(maxResults);
         if (resp != null && resp.getBody() != null) {
-            Map body = resp.getBody();
-            Object issues = body.get("issues");
-            if (issues instanceof List) {
-                List il = (List) issues;
-                List<JiraIssueSummary> summaries = new ArrayList<>();
-                for (Object o : il) {
-                    if (o instanceof Map) {
-                        Map im = (Map) o;
-                        JiraIssueSummary item = new JiraIssueSummary();
-                        item.setId(im.getOrDefault("id", null) == null ? null : im.get("id").toString());
-                        item.setKey(im.getOrDefault("key", null) == null ? null : im.get("key").toString());
-                        Object fields = im.get("fields");
-                        if (fields instanceof Map) {
-                            Object summary = ((Map) fields).get("summary");
-                            item.setSummary(summary == null ? null : summary.toString());
-                        }
-                        summaries.add(item);
-                    }
-                }
+            JiraSearchPage page = resp.getBody();
+            result.setStartAt(page.startAt());
+            if (page.maxResults() > 0) result.setMaxResults(page.maxResults());
+            if (page.total() != null) result.setTotal(page.total());
+            if (page.issues() != null) {
+                List<JiraIssueSummary> summaries = new ArrayList<>(page.issues().size());
+                for (JiraIssue issue : page.issues()) summaries.add(issue.toSummary());
                 result.setIssues(summaries);
             }
         }
@@ -142,72 +243,177 @@ public class JiraService {
     }
 
     public List<WorklogEntry> getWorklogsBetween(String fromDate, String toDate, String username) {
-        List<WorklogEntry> out = new ArrayList<>();
-        try {
-            String jql = "worklogDate >= \"" + fromDate + "\" AND worklogDate <= \"" + toDate + "\"";
-            if (username != null && !username.isBlank()) {
-                jql += " AND worklogAuthor = \"" + username + "\"";
-            }
-            String enc = URLEncoder.encode(jql, StandardCharsets.UTF_8);
-            JiraSearchResult sr = searchWorklogs(enc);
-            if (sr != null && sr.getIssues() != null) {
-                for (JiraIssueSummary issue : sr.getIssues()) {
-                    String url = jiraUrl + "/rest/api/2/issue/" + issue.getKey() + "/worklog";
-                    HttpHeaders headers = authHeaders();
-                    HttpEntity<Void> entity = new HttpEntity<>(headers);
-                    ResponseEntity<Map> resp = restTemplate.exchange(URI.create(url), HttpMethod.GET, entity, Map.class);
-                    if (resp != null && resp.getBody() != null) {
-                        Object worklogsObj = resp.getBody().get("worklogs");
-                        if (worklogsObj instanceof List) {
-                            for (Object w : (List) worklogsObj) {
-                                if (w instanceof Map) {
-                                    Map wm = (Map) w;
-                                    Object authorObj = wm.get("author");
-                                    boolean authored = false;
-                                    if (authorObj instanceof Map) {
-                                        Object name = ((Map) authorObj).get("name");
-                                        Object displayName = ((Map) authorObj).get("displayName");
-                                        if (username != null && !username.isBlank()) {
-                                            if ((name != null && username.equals(name.toString())) || (displayName != null && username.equals(displayName.toString()))) {
-                                                authored = true;
-                                            }
-                                        } else {
-                                            authored = true;
-                                        }
-                                    }
-                                    if (!authored) continue;
-                                    Object started = wm.get("started");
-                                    String startedStr = started == null ? null : started.toString();
-                                    if (startedStr != null && startedStr.length() >= 10) {
-                                        String datePart = startedStr.substring(0, 10);
-                                        if (datePart.compareTo(fromDate) < 0 || datePart.compareTo(toDate) > 0) continue;
-                                        Object tss = wm.get("timeSpentSeconds");
-                                        int secs = 0;
-                                        if (tss instanceof Number) secs = ((Number) tss).intValue();
-                                        WorklogEntry we = new WorklogEntry();
-                                        we.setDate(datePart);
-                                        we.setTicketNumber(issue.getKey());
-                                        we.setWorkTime(formatSeconds(secs));
-                                        // copy Jira worklog comment/description if available
-                                        Object commentObj = wm.get("comment");
-                                        if (commentObj != null) {
-                                            we.setComment(commentObj.toString());
-                                        }
-                                        out.add(we);
-                                    }
-                                }
-                            }
+        return fetchWorklogsBetween(fromDate, toDate, username).getEntries();
+    }
+
+    /**
+     * Fetches worklogs of all issues touched in the given range into one list. Issues that
+     * failed are reported in {@link WorklogFetchResult#getFailures()} instead of being dropped silently.
+     */
+    public WorklogFetchResult fetchWorklogsBetween(String fromDate, String toDate, String username) {
+        WorklogFetchResult result = new WorklogFetchResult();
+        List<WorklogFetchFailure> failures = streamWorklogsBetween(fromDate, toDate, username, result.getEntries()::addAll);
+        result.getFailures().addAll(failures);
+        return result;
+    }
+
+    /**
+     * Streams worklogs of all issues touched in the given range to {@code sink}, one batch per issue,
+     * in search order. Search pages are consumed as they arrive and per-issue worklog calls run on
+     * virtual threads, at most {@code jira.worklog-fetch.concurrency} at a time (1 = sequential), so
+     * only that many issues are ever buffered.
+     *
+     * @return issues whose worklogs could not be fetched; a {@code null} key means the search failed
+     */
+    public List<WorklogFetchFailure> streamWorklogsBetween(String fromDate, String toDate, String username,
+                                                            Consumer<List<WorklogEntry>> sink) {
+        List<WorklogFetchFailure> failures = new ArrayList<>();
+        String jql = "worklogDate >= \"" + fromDate + "\" AND worklogDate <= \"" + toDate + "\"";
+        if (username != null && !username.isBlank()) {
+            jql += " AND worklogAuthor = \"" + username + "\"";
+        }
+        Iterator<JiraIssueSummary> issues = searchIssues(URLEncoder.encode(jql, StandardCharsets.UTF_8));
+
+        int window = Math.max(1, worklogFetchConcurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Deque<PendingIssue> inFlight = new ArrayDeque<>(window);
+            boolean searchOpen = true;
+            while (true) {
+                while (searchOpen && inFlight.size() < window) {
+                    String key;
+                    // both calls may wait for a search page
+                    try {
+                        if (!issues.hasNext()) {
+                            searchOpen = false;
+                            break;
                         }
+                        key = issues.next().getKey();
+                    } catch (RestClientException e) {
+                        failures.add(new WorklogFetchFailure(null, e.getMessage()));
+                        searchOpen = false;
+                        break;
+                    }
+                    inFlight.add(new PendingIssue(key, executor.submit(() -> fetchIssueWorklogs(key, fromDate, toDate, username))));
+                }
+                PendingIssue head = inFlight.poll();
+                if (head == null) break;
+                // emit in search order so the output is stable regardless of completion order
+                try {
+                    sink.accept(head.worklogs().get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    failures.add(new WorklogFetchFailure(head.issueKey(), cause.getMessage()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failures.add(new WorklogFetchFailure(head.issueKey(), "interrupted"));
+                    break;
+                }
+            }
+        }
+        return failures;
+    }
+
+    private record PendingIssue(String issueKey, Future<List<WorklogEntry>> worklogs) {}
+
+    private List<WorklogEntry> fetchIssueWorklogs(String issueKey, String fromDate, String toDate, String username) {
+        List<WorklogEntry> out = new ArrayList<>();
+        int startAt = 0;
+        while (true) {
+            JiraWorklogPage page = getIssueWorklogPage(issueKey, startAt);
+            if (page == null || page.worklogs() == null || page.worklogs().isEmpty()) return out;
+            for (JiraWorklog w : page.worklogs()) {
+                boolean authored = username == null || username.isBlank()
+                        || (w.author() != null && w.author().matches(username));
+                if (!authored) continue;
+                String startedStr = w.started();
+                if (startedStr != null && startedStr.length() >= 10) {
+                    String datePart = startedStr.substring(0, 10);
+                    if (datePart.compareTo(fromDate) < 0 || datePart.compareTo(toDate) > 0) continue;
+                    WorklogEntry we = new WorklogEntry();
+                    we.setDate(datePart);
+                    we.setTicketNumber(issueKey);
+                    we.setWorkTime(formatSeconds(w.timeSpentSecondsOrZero()));
+                    we.setTimeSpentSeconds(w.timeSpentSecondsOrZero());
+                    // copy Jira worklog comment/description if available
+                    if (w.comment() != null) {
+                        we.setComment(w.comment());
                     }
+                    out.add(we);
                 }
             }
-        } catch (Exception e) {
-            // swallow and return what we have; controller may handle empty result
+            // issues with very many worklogs are paginated by Jira as well
+            startAt = page.startAt() + page.worklogs().size();
+            if (startAt >= page.total()) return out;
+        }
+    }
+
+    private JiraWorklogPage getIssueWorklogPage(String issueKey, int startAt) {
+        String url = jiraUrl + "/rest/api/2/issue/" + issueKey + "/worklog" + (startAt > 0 ? "?startAt=" + startAt : "");
+        HttpEntity<Void> entity = new HttpEntity<>(authHeaders());
+        ResponseEntity<JiraWorklogPage> resp = restTemplate.exchange(URI.create(url), HttpMethod.GET, entity, JiraWorklogPage.class);
+        return resp == null ? null : resp.getBody();
+    }
+
+    /**
+     * One page of worklogs created or updated since {@code since} (epoch millis, inclusive).
+     */
+    public WorklogChangePage getUpdatedWorklogIds(long since) {
+        return getWorklogChanges("/rest/api/2/worklog/updated?since=" + since, since);
+    }
+
+    /**
+     * One page of worklogs deleted since {@code since} (epoch millis, inclusive).
+     */
+    public WorklogChangePage getDeletedWorklogIds(long since) {
+        return getWorklogChanges("/rest/api/2/worklog/deleted?since=" + since, since);
+    }
+
+    private WorklogChangePage getWorklogChanges(String path, long since) {
+        HttpEntity<Void> entity = new HttpEntity<>(authHeaders());
+        ResponseEntity<JiraWorklogChangeFeed> resp = restTemplate.exchange(URI.create(jiraUrl + path), HttpMethod.GET, entity, JiraWorklogChangeFeed.class);
+        WorklogChangePage page = new WorklogChangePage();
+        page.setUntil(since);
+        if (resp != null && resp.getBody() != null) {
+            JiraWorklogChangeFeed feed = resp.getBody();
+            if (feed.until() > 0) page.setUntil(feed.until());
+            if (feed.lastPage() != null) page.setLastPage(feed.lastPage());
+            if (feed.values() != null) {
+                for (JiraWorklogChangeFeed.Change change : feed.values()) page.getWorklogIds().add(change.worklogId());
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Fetches full worklogs by id (Jira accepts at most 1000 ids per call). Only the issue id is
+     * known at this point; {@link WorklogRecord#getIssueKey()} is left empty.
+     */
+    public List<WorklogRecord> getWorklogsByIds(List<Long> worklogIds) {
+        List<WorklogRecord> out = new ArrayList<>();
+        if (worklogIds == null || worklogIds.isEmpty()) return out;
+        String url = jiraUrl + "/rest/api/2/worklog/list";
+        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(Map.of("ids", worklogIds), authHeaders());
+        ResponseEntity<JiraWorklog[]> resp = restTemplate.exchange(URI.create(url), HttpMethod.POST, entity, JiraWorklog[].class);
+        // ids were asked for, so no body at all is a failed call, not "no worklogs"; the mirror retries the window
+        if (resp == null || resp.getBody() == null) throw new IllegalStateException("Jira returned no body for worklog/list");
+        for (JiraWorklog w : resp.getBody()) {
+            if (w.id() == null) continue;
+            WorklogRecord rec = new WorklogRecord();
+            rec.setWorklogId(Long.parseLong(w.id()));
+            rec.setIssueId(w.issueId());
+            if (w.author() != null) {
+                rec.setAuthor(w.author().name());
+                rec.setAuthorDisplayName(w.author().displayName());
+            }
+            rec.setStarted(w.started());
+            rec.setTimeSpentSeconds(w.timeSpentSecondsOrZero());
+            rec.setComment(w.comment());
+            out.add(rec);
         }
         return out;
     }
 
-    private String formatSeconds(int secs) {
+    static String formatSeconds(int secs) {
         if (secs <= 0) return "0 min";
         int hours = secs / 3600;
         int minutes = (secs % 3600) / 60;
@@ -0,0 +1,129 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable Aho-Corasick automaton over a list of keywords: {@link #match} finds every keyword contained
+ * in a text in one pass over the text, however many keywords there are. Matching is case-sensitive;
+ * callers normalise keywords and text the same way.
+ */
+public final class KeywordAutomaton {
+
+    private static final int[] NONE = new int[0];
+
+    // per state: transition chars (sorted) and their target states
+    private final char[][] labels;
+    private final int[][] targets;
+    private final int[] fail;
+    // keywords ending in this state, and the nearest state down the fail chain that has any (-1 if none)
+    private final int[][] outputs;
+    private final int[] outputLink;
+    private final int keywordCount;
+
+    private KeywordAutomaton(char[][] labels, int[][] targets, int[] fail, int[][] outputs, int[] outputLink, int keywordCount) {
+        this.labels = labels;
+        this.targets = targets;
+        this.fail = fail;
+        this.outputs = outputs;
+        this.outputLink = outputLink;
+        this.keywordCount = keywordCount;
+    }
+
+    /**
+     * Builds the automaton; a keyword is identified by its position in {@code keywords}. {@code null} and
+     * empty entries never match.
+     */
+    public static KeywordAutomaton build(List<String> keywords) {
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ends.add(new ArrayList<>());
+        for (int k = 0; k < keywords.size(); k++) {
+            String keyword = keywords.get(k);
+            if (keyword == null || keyword.isEmpty()) continue;
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                Integer next = trie.get(state).get(keyword.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    ends.add(new ArrayList<>());
+                    trie.get(state).put(keyword.charAt(i), next);
+                }
+                state = next;
+            }
+            ends.get(state).add(k);
+        }
+
+        int n = trie.size();
+        char[][] labels = new char[n][];
+        int[][] targets = new int[n][];
+        int[][] outputs = new int[n][];
+        for (int s = 0; s < n; s++) {
+            Map<Character, Integer> edges = trie.get(s);
+            labels[s] = new char[edges.size()];
+            targets[s] = new int[edges.size()];
+            int e = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                labels[s][e] = edge.getKey();
+                targets[s][e++] = edge.getValue();
+            }
+            outputs[s] = ends.get(s).isEmpty() ? NONE : ends.get(s).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        // fail links in breadth-first order, so a state's fail target is always resolved before it
+        int[] fail = new int[n];
+        int[] outputLink = new int[n];
+        Arrays.fill(outputLink, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) queue.add(child);
+        KeywordAutomaton partial = new KeywordAutomaton(labels, targets, fail, outputs, outputLink, keywords.size());
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            for (int e = 0; e < labels[s].length; e++) {
+                int child = targets[s][e];
+                int f = fail[s];
+                int next;
+                while ((next = partial.step(f, labels[s][e])) < 0 && f != 0) f = fail[f];
+                fail[child] = next < 0 || next == child ? 0 : next;
+                outputLink[child] = outputs[fail[child]].length > 0 ? fail[child] : outputLink[fail[child]];
+                queue.add(child);
+            }
+        }
+        return partial;
+    }
+
+    public int keywordCount() {
+        return keywordCount;
+    }
+
+    /**
+     * Positions of all keywords occurring in {@code text}.
+     */
+    public BitSet match(CharSequence text) {
+        BitSet found = new BitSet(keywordCount);
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = step(state, c)) < 0 && state != 0) state = fail[state];
+            state = Math.max(next, 0);
+            for (int s = outputs[state].length > 0 ? state : outputLink[state]; s >= 0; s = outputLink[s]) {
+                for (int k : outputs[s]) found.set(k);
+            }
+        }
+        return found;
+    }
+
+    // goto function, -1 when there is no edge
+    private int step(int state, char c) {
+        int e = Arrays.binarySearch(labels[state], c);
+        return e < 0 ? -1 : targets[state][e];
+    }
+}
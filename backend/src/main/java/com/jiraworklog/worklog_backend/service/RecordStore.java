@@ -0,0 +1,30 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistent list of records with unique string ids, kept in insertion order. Implemented by
+ * {@link CsvStorageBackend} (one CSV file per store) and {@link JdbcStorageBackend} (one indexed table).
+ */
+public interface RecordStore<T> {
+
+    List<T> findAll();
+
+    Optional<T> findById(String id);
+
+    /**
+     * Inserts {@code record}, or replaces the record with the same id in place.
+     */
+    void put(T record);
+
+    void delete(String id);
+
+    void replaceAll(List<T> records);
+
+    /**
+     * Calls {@code onChange} when the stored records are changed outside the application. Backends that
+     * cannot be edited externally ignore this.
+     */
+    default void watch(Runnable onChange) {}
+}
@@ -0,0 +1,110 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compiled {@code rules_mappings.csv} ({@code type,prefix,defaultComment}). A rule suggests its prefix
+ * when the ticket key starts with its {@code type}, or when the comment contains its
+ * {@code defaultComment}. Types are looked up by hash for each leading part of the key (so {@code DUM}
+ * matches {@code DUM-1}) and default comments are matched by one {@link KeywordAutomaton}, so matching
+ * costs the same for ten rules as for thousands.
+ */
+public final class RuleSet {
+
+    public static final String TICKET_KEY = "rule-ticket-key";
+    public static final String KEYWORD = "rule-keyword";
+
+    public static final RuleSet EMPTY = compile(List.of());
+
+    /**
+     * {@code prefix} is stored without surrounding brackets, like the prefixes of prefix mappings.
+     */
+    public record Rule(String type, String prefix, String defaultComment) {}
+
+    /**
+     * {@code source} is {@link #TICKET_KEY} or {@link #KEYWORD}.
+     */
+    public record Match(Rule rule, String source) {}
+
+    private final List<Rule> rules;
+    private final Map<String, int[]> byType;
+    private final int longestType;
+    private final KeywordAutomaton keywords;
+
+    private RuleSet(List<Rule> rules, Map<String, int[]> byType, int longestType, KeywordAutomaton keywords) {
+        this.rules = rules;
+        this.byType = byType;
+        this.longestType = longestType;
+        this.keywords = keywords;
+    }
+
+    /**
+     * Compiles rows as returned by {@link CsvService#loadRulesMappings()}; rows without a prefix are skipped.
+     */
+    public static RuleSet compile(List<Map<String, String>> rows) {
+        List<Rule> rules = new ArrayList<>(rows.size());
+        Map<String, List<Integer>> types = new HashMap<>();
+        List<String> defaultComments = new ArrayList<>(rows.size());
+        int longestType = 0;
+        for (Map<String, String> row : rows) {
+            String prefix = stripBrackets(row.get("prefix"));
+            if (prefix == null) continue;
+            String type = blankToNull(row.get("type"));
+            String defaultComment = blankToNull(row.get("defaultComment"));
+            int index = rules.size();
+            rules.add(new Rule(type, prefix, defaultComment));
+            if (type != null) {
+                String key = type.toUpperCase(Locale.ROOT);
+                types.computeIfAbsent(key, k -> new ArrayList<>()).add(index);
+                longestType = Math.max(longestType, key.length());
+            }
+            defaultComments.add(defaultComment == null ? null : defaultComment.toLowerCase(Locale.ROOT));
+        }
+        Map<String, int[]> byType = new HashMap<>(types.size() * 2);
+        types.forEach((type, indexes) -> byType.put(type, indexes.stream().mapToInt(Integer::intValue).toArray()));
+        return new RuleSet(List.copyOf(rules), byType, longestType, KeywordAutomaton.build(defaultComments));
+    }
+
+    public int size() {
+        return rules.size();
+    }
+
+    /**
+     * Matching rules in file order; a rule matching both ways is reported once per way, ticket key first.
+     */
+    public List<Match> match(String ticketKey, String baseComment) {
+        BitSet byKey = new BitSet(rules.size());
+        if (ticketKey != null && !byType.isEmpty()) {
+            String key = ticketKey.trim().toUpperCase(Locale.ROOT);
+            for (int length = 1; length <= Math.min(key.length(), longestType); length++) {
+                int[] indexes = byType.get(key.substring(0, length));
+                if (indexes != null) for (int i : indexes) byKey.set(i);
+            }
+        }
+        BitSet byKeyword = baseComment == null ? new BitSet() : keywords.match(baseComment.toLowerCase(Locale.ROOT));
+
+        BitSet any = (BitSet) byKey.clone();
+        any.or(byKeyword);
+        List<Match> out = new ArrayList<>(any.cardinality() + 1);
+        for (int i = any.nextSetBit(0); i >= 0; i = any.nextSetBit(i + 1)) {
+            if (byKey.get(i)) out.add(new Match(rules.get(i), TICKET_KEY));
+            if (byKeyword.get(i)) out.add(new Match(rules.get(i), KEYWORD));
+        }
+        return out;
+    }
+
+    private static String stripBrackets(String prefix) {
+        String p = blankToNull(prefix);
+        if (p != null && p.length() > 2 && p.startsWith("[") && p.endsWith("]")) p = blankToNull(p.substring(1, p.length() - 1));
+        return p;
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s.trim();
+    }
+}
@@ -0,0 +1,52 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.nio.file.Paths;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Holds {@code rules_mappings.csv} compiled into a {@link RuleSet}. The file is read once at startup and
+ * again whenever {@code data/rules_mappings.csv} changes; the new rule set replaces the old one in a single
+ * step, so a match never sees a half-loaded file.
+ */
+@Service
+public class RulesMappingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RulesMappingService.class);
+
+    private final CsvService csvService;
+    private final DataFileWatcher dataFileWatcher;
+
+    private volatile RuleSet rules = RuleSet.EMPTY;
+
+    public RulesMappingService(CsvService csvService, DataFileWatcher dataFileWatcher) {
+        this.csvService = csvService;
+        this.dataFileWatcher = dataFileWatcher;
+    }
+
+    @PostConstruct
+    void init() {
+        reload();
+        // the first place CsvService looks for the file
+        dataFileWatcher.watch(Paths.get("data", "rules_mappings.csv"), this::reload);
+    }
+
+    public RuleSet getRules() {
+        return rules;
+    }
+
+    void reload() {
+        try {
+            RuleSet compiled = RuleSet.compile(csvService.loadRulesMappings());
+            rules = compiled;
+            logger.info("Loaded {} rules from rules_mappings.csv", compiled.size());
+        } catch (RuntimeException e) {
+            // keep serving the previous rules
+            logger.warn("Could not load rules_mappings.csv: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Named string settings, such as whether prefixes are enabled.
+ */
+public interface SettingsStore {
+
+    Optional<String> get(String name);
+
+    void put(String name, String value);
+
+    Map<String, String> findAll();
+
+    /**
+     * Calls {@code onChange} when setting {@code name} is changed outside the application.
+     */
+    default void watch(String name, Runnable onChange) {}
+}
@@ -0,0 +1,32 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.io.Closeable;
+
+import com.jiraworklog.worklog_backend.dto.FavoriteWorklog;
+import com.jiraworklog.worklog_backend.dto.PrefixMapping;
+
+/**
+ * Where prefixes, favorites, constant prefixes and settings are persisted, selected with
+ * {@code data.storage.backend}: {@code csv} ({@link CsvStorageBackend}) or {@code jdbc}
+ * ({@link JdbcStorageBackend}). Constant prefixes are records whose id is the prefix itself.
+ */
+public interface StorageBackend extends Closeable {
+
+    String name();
+
+    RecordStore<PrefixMapping> prefixes();
+
+    RecordStore<FavoriteWorklog> favorites();
+
+    RecordStore<String> constantPrefixes();
+
+    SettingsStore settings();
+
+    default boolean isEmpty() {
+        return prefixes().findAll().isEmpty() && favorites().findAll().isEmpty()
+                && constantPrefixes().findAll().isEmpty() && settings().findAll().isEmpty();
+    }
+
+    @Override
+    void close();
+}
@@ -0,0 +1,93 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.jiraworklog.worklog_backend.dto.FavoriteWorklog;
+import com.jiraworklog.worklog_backend.dto.PrefixMapping;
+
+/**
+ * One-shot copy of everything in one {@link StorageBackend} into another, e.g. from the CSV files into
+ * the embedded database. Run at startup when {@code data.storage.migrate-from} names a backend other
+ * than the active one; see {@code StorageConfig}.
+ *
+ * <p>The target's {@value #STATE_SETTING} setting records progress: {@code started <from>} before the
+ * first store is written and {@code done <from>} after the last, so a migration cut short is redone on
+ * the next start instead of leaving some stores copied and others empty.
+ */
+public final class StorageMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageMigration.class);
+
+    static final String STATE_SETTING = "storage_migration";
+    private static final String STARTED = "started ";
+    private static final String DONE = "done ";
+
+    private StorageMigration() {}
+
+    /**
+     * Copies {@code from} into {@code to} unless a migration into {@code to} has finished or {@code to}
+     * already held data of its own, so leaving the migration configured does not overwrite later edits.
+     *
+     * @return whether anything was copied
+     */
+    public static boolean migrateIfEmpty(StorageBackend from, StorageBackend to) {
+        Optional<String> state = to.settings().get(STATE_SETTING);
+        if (state.isPresent() && state.get().startsWith(DONE)) {
+            logger.info("Storage '{}' was already migrated ({}), not migrating from '{}'", to.name(), state.get(), from.name());
+            return false;
+        }
+        if (state.isEmpty() && !to.isEmpty()) {
+            logger.info("Storage '{}' already has data, not migrating from '{}'", to.name(), from.name());
+            return false;
+        }
+        if (state.isPresent()) {
+            logger.warn("Previous migration into storage '{}' did not finish ({}), copying '{}' again",
+                    to.name(), state.get(), from.name());
+        }
+        migrate(from, to);
+        return true;
+    }
+
+    public static void migrate(StorageBackend from, StorageBackend to) {
+        // read everything first, so a broken source leaves the target untouched
+        List<PrefixMapping> prefixes = distinctIds(from.prefixes().findAll(), PrefixMapping::getId, "prefix");
+        List<FavoriteWorklog> favorites = distinctIds(from.favorites().findAll(), FavoriteWorklog::getId, "favorite");
+        List<String> constantPrefixes = distinctIds(from.constantPrefixes().findAll(), Function.identity(), "constant prefix");
+        Map<String, String> settings = new LinkedHashMap<>(from.settings().findAll());
+        settings.remove(STATE_SETTING);
+
+        to.settings().put(STATE_SETTING, STARTED + from.name());
+        to.prefixes().replaceAll(prefixes);
+        to.favorites().replaceAll(favorites);
+        to.constantPrefixes().replaceAll(constantPrefixes);
+        settings.forEach(to.settings()::put);
+        to.settings().put(STATE_SETTING, DONE + from.name());
+        logger.info("Migrated storage '{}' to '{}': {} prefixes, {} favorites, {} constant prefixes, {} settings",
+                from.name(), to.name(), prefixes.size(), favorites.size(), constantPrefixes.size(), settings.size());
+    }
+
+    // the database indexes ids as unique while the CSV files may repeat them; the first record wins
+    private static <T> List<T> distinctIds(List<T> records, Function<T, String> idOf, String kind) {
+        Set<String> seen = new HashSet<>();
+        List<T> out = new ArrayList<>(records.size());
+        for (T record : records) {
+            String id = idOf.apply(record);
+            if (seen.add(id)) {
+                out.add(record);
+            } else {
+                logger.warn("Skipping duplicate {} '{}' during migration", kind, id);
+            }
+        }
+        return out;
+    }
+}
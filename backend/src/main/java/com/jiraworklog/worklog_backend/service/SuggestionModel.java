@@ -0,0 +1,285 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Comments and prefixes learned from past worklogs, counted per ticket ({@code DUM-1}) and per project
+ * ({@code DUM}) with exponential decay: a worklog counts half as much every {@code halfLifeDays}.
+ * <p>
+ * Decay uses a fixed landmark day instead of ageing every count: a worklog from day {@code d} adds
+ * {@code 2^((d - landmark) / halfLife)}, so newer worklogs weigh more and ranks never have to be
+ * recomputed. Weights live in long-keyed maps ({@code context << 32 | item}), with contexts, comments and
+ * prefixes interned to ints.
+ */
+final class SuggestionModel {
+
+    // "[DEV][SCM] daily" -> prefixes DEV, SCM and comment "daily", as the UI composes them
+    private static final Pattern LEADING_PREFIX = Pattern.compile("\\G\\s*\\[([^\\[\\]]+)\\]");
+    private static final Pattern PROJECT_KEY = Pattern.compile("([A-Z][A-Z0-9_]*)-\\d+");
+    // rebase before weights get anywhere near overflowing a double
+    private static final double MAX_EXPONENT = 256;
+
+    private final double halfLifeDays;
+    private final double projectWeight;
+    private long landmarkDay;
+
+    private final Dictionary contexts = new Dictionary();
+    private final Dictionary comments = new Dictionary();
+    private final Dictionary prefixes = new Dictionary();
+    private final LongDoubleMap commentWeights = new LongDoubleMap();
+    private final LongDoubleMap prefixWeights = new LongDoubleMap();
+    // item ids seen per context id: the candidates for that context
+    private final List<IntList> commentsByContext = new ArrayList<>();
+    private final List<IntList> prefixesByContext = new ArrayList<>();
+    // ids of the worklogs counted so far (values unused)
+    private final LongDoubleMap learnedWorklogs = new LongDoubleMap();
+
+    /**
+     * @param projectWeight how much the project's history counts next to the ticket's own
+     */
+    SuggestionModel(double halfLifeDays, double projectWeight, LocalDate landmark) {
+        if (!(halfLifeDays > 0)) throw new IllegalArgumentException("halfLifeDays must be positive: " + halfLifeDays);
+        this.halfLifeDays = halfLifeDays;
+        this.projectWeight = projectWeight;
+        this.landmarkDay = landmark.toEpochDay();
+    }
+
+    /**
+     * Counts one worklog. A worklog id is only counted once, so replaying the same worklog (a sync after it
+     * was created here, or a restart) does not inflate its weight.
+     */
+    synchronized boolean learn(long worklogId, String ticketKey, String comment, LocalDate date) {
+        if (ticketKey == null || ticketKey.isBlank() || comment == null || date == null) return false;
+        if (learnedWorklogs.containsKey(worklogId)) return false;
+        learnedWorklogs.put(worklogId, 1);
+
+        String ticket = ticketKey.trim().toUpperCase(Locale.ROOT);
+        double exponent = (date.toEpochDay() - landmarkDay) / halfLifeDays;
+        if (exponent > MAX_EXPONENT) {
+            rebase(date.toEpochDay());
+            exponent = 0;
+        }
+        double weight = Math.pow(2, exponent);
+
+        Tagged tagged = split(comment);
+        String text = tagged.text().replaceAll("\\s+", " ");
+
+        int[] ctx = contextIds(ticket, true);
+        for (int c : ctx) {
+            if (!text.isEmpty()) add(commentWeights, commentsByContext, c, comments.intern(text), weight);
+            for (String prefix : tagged.prefixes()) {
+                if (!prefix.isEmpty()) add(prefixWeights, prefixesByContext, c, prefixes.intern(prefix), weight);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The leading {@code [PREFIX]} tags of a comment and the trimmed text after them.
+     */
+    record Tagged(List<String> prefixes, String text) {}
+
+    static Tagged split(String comment) {
+        if (comment == null) return new Tagged(List.of(), "");
+        List<String> found = new ArrayList<>(2);
+        Matcher m = LEADING_PREFIX.matcher(comment);
+        int end = 0;
+        while (m.find()) {
+            found.add(m.group(1).trim());
+            end = m.end();
+        }
+        return new Tagged(found, comment.substring(end).trim());
+    }
+
+    synchronized List<String> topComments(String ticketKey, int limit) {
+        return top(commentWeights, commentsByContext, comments, ticketKey, limit);
+    }
+
+    synchronized List<String> topPrefixes(String ticketKey, int limit) {
+        return top(prefixWeights, prefixesByContext, prefixes, ticketKey, limit);
+    }
+
+    synchronized int learnedCount() {
+        return learnedWorklogs.size();
+    }
+
+    private List<String> top(LongDoubleMap weights, List<IntList> byContext, Dictionary items, String ticketKey, int limit) {
+        if (ticketKey == null || ticketKey.isBlank() || limit <= 0) return List.of();
+        int[] ctx = contextIds(ticketKey.trim().toUpperCase(Locale.ROOT), false);
+        int ticket = ctx[0];
+        int project = ctx.length > 1 ? ctx[1] : -1;
+
+        // best first; kept sorted by insertion, which beats a heap for the handful of results asked for
+        int[] best = new int[limit];
+        double[] bestScore = new double[limit];
+        int n = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            int c = pass == 0 ? ticket : project;
+            if (c < 0 || c >= byContext.size()) continue;
+            IntList candidates = byContext.get(c);
+            for (int i = 0; i < candidates.size; i++) {
+                int item = candidates.values[i];
+                // items of the ticket were scored in the first pass
+                if (pass == 1 && ticket >= 0 && weights.containsKey(key(ticket, item))) continue;
+                double own = ticket < 0 ? 0 : weights.get(key(ticket, item));
+                double score = own + (project < 0 ? 0 : projectWeight * weights.get(key(project, item)));
+                if (n == limit && score <= bestScore[n - 1]) continue;
+                int at = n == limit ? n - 1 : n++;
+                while (at > 0 && bestScore[at - 1] < score) {
+                    best[at] = best[at - 1];
+                    bestScore[at] = bestScore[at - 1];
+                    at--;
+                }
+                best[at] = item;
+                bestScore[at] = score;
+            }
+        }
+        List<String> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) out.add(items.value(best[i]));
+        return out;
+    }
+
+    // ticket context first, then its project; -1 for contexts never seen when not creating them
+    private int[] contextIds(String ticket, boolean create) {
+        Matcher m = PROJECT_KEY.matcher(ticket);
+        String project = m.matches() ? m.group(1) : null;
+        int t = create ? contexts.intern(ticket) : contexts.idOf(ticket);
+        if (project == null) return new int[] {t};
+        return new int[] {t, create ? contexts.intern(project) : contexts.idOf(project)};
+    }
+
+    private static void add(LongDoubleMap weights, List<IntList> byContext, int context, int item, double weight) {
+        while (byContext.size() <= context) byContext.add(new IntList());
+        long key = key(context, item);
+        if (!weights.containsKey(key)) byContext.get(context).add(item);
+        weights.addTo(key, weight);
+    }
+
+    private void rebase(long newLandmarkDay) {
+        double factor = Math.pow(2, -(newLandmarkDay - landmarkDay) / halfLifeDays);
+        commentWeights.scale(factor);
+        prefixWeights.scale(factor);
+        landmarkDay = newLandmarkDay;
+    }
+
+    private static long key(int context, int item) {
+        return ((long) context << 32) | (item & 0xFFFFFFFFL);
+    }
+
+    private static final class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int intern(String value) {
+            Integer id = ids.get(value);
+            if (id != null) return id;
+            values.add(value);
+            ids.put(value, values.size() - 1);
+            return values.size() - 1;
+        }
+
+        int idOf(String value) {
+            return ids.getOrDefault(value, -1);
+        }
+
+        String value(int id) {
+            return values.get(id);
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * Open-addressing long-to-double map with linear probing; absent keys read as 0. Nothing is ever
+     * removed, which keeps probing simple.
+     */
+    static final class LongDoubleMap {
+        private long[] keys = new long[16];
+        private double[] values = new double[16];
+        private boolean[] used = new boolean[16];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        boolean containsKey(long key) {
+            return used[slot(key)];
+        }
+
+        double get(long key) {
+            int slot = slot(key);
+            return used[slot] ? values[slot] : 0;
+        }
+
+        void put(long key, double value) {
+            int slot = claim(key);
+            values[slot] = value;
+        }
+
+        void addTo(long key, double delta) {
+            int slot = claim(key);
+            values[slot] += delta;
+        }
+
+        void scale(double factor) {
+            for (int i = 0; i < values.length; i++) values[i] *= factor;
+        }
+
+        private int claim(long key) {
+            if ((size + 1) * 4 > keys.length * 3) grow();
+            int slot = slot(key);
+            if (!used[slot]) {
+                used[slot] = true;
+                keys[slot] = key;
+                size++;
+            }
+            return slot;
+        }
+
+        // the slot holding key, or the free slot where it would go
+        private int slot(long key) {
+            int mask = keys.length - 1;
+            int slot = (int) mix(key) & mask;
+            while (used[slot] && keys[slot] != key) slot = (slot + 1) & mask;
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            double[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            values = new double[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (!oldUsed[i]) continue;
+                int slot = slot(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+
+        private static long mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return h ^ (h >>> 32);
+        }
+    }
+}
@@ -1,65 +1,144 @@
 package com.jiraworklog.worklog_backend.service;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.jiraworklog.worklog_backend.dto.PrefixMapping;
+import com.jiraworklog.worklog_backend.dto.SuggestionExplanation;
+import com.jiraworklog.worklog_backend.dto.WorklogRecord;
+
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class SuggestionService {
 
-    private final CsvService csvService;
+    static final String PREFIX_MAPPING = "prefix-mapping";
+    static final String HISTORY = "history";
+
     private final PrefixesService prefixesService;
+    private final RulesMappingService rulesMappingService;
+    private final WorklogMirrorService worklogMirrorService;
+
+    @Value("${worklog.username:arek}")
+    private String worklogUsername;
+
+    @Value("${suggestions.learned.half-life-days:30}")
+    private double halfLifeDays;
+
+    @Value("${suggestions.learned.project-weight:0.25}")
+    private double projectWeight;
+
+    @Value("${suggestions.learned.limit:5}")
+    private int learnedLimit;
+
+    private SuggestionModel model;
 
-    public SuggestionService(CsvService csvService, PrefixesService prefixesService) {
-        this.csvService = csvService;
+    public SuggestionService(PrefixesService prefixesService, RulesMappingService rulesMappingService,
+                             WorklogMirrorService worklogMirrorService) {
         this.prefixesService = prefixesService;
+        this.rulesMappingService = rulesMappingService;
+        this.worklogMirrorService = worklogMirrorService;
     }
 
-    public List<String> suggestPrefixes(String ticketKey, String baseComment) {
-        List<String> suggestions = new ArrayList<>();
-//        // load generic prefixes
-//        suggestions.addAll(csvService.loadSuggestedPrefixes());
-//
-//        // heuristics: add mappings where defaultComment or type matches baseComment
-//        String bc = baseComment == null ? "" : baseComment.toLowerCase(Locale.ROOT);
-//        csvService.loadRulesMappings().forEach(map -> {
-//            String type = map.get("type");
-//            String prefix = map.get("prefix");
-//            String defaultComment = map.get("defaultComment");
-//            if (type != null && ticketKey != null && ticketKey.toUpperCase(Locale.ROOT).startsWith(type.toUpperCase(Locale.ROOT))) {
-//                if (prefix != null && !suggestions.contains(prefix)) suggestions.add(prefix);
-//            }
-//            if (defaultComment != null && !defaultComment.isEmpty() && bc.contains(defaultComment.toLowerCase(Locale.ROOT))) {
-//                if (prefix != null && !suggestions.contains(prefix)) suggestions.add(prefix);
-//            }
-//        });
-
-        // include enabled prefix mappings from prefixes.csv
+    /**
+     * Learns from everything already in the worklog mirror (e.g. loaded from its snapshot), then from each
+     * worklog it syncs or that is created through this application.
+     */
+    @PostConstruct
+    void init() {
+        model = new SuggestionModel(halfLifeDays, projectWeight, LocalDate.now());
+        worklogMirrorService.addListener(this::learn);
+        worklogMirrorService.forEachWorklog(this::learn);
+    }
+
+    void learn(WorklogRecord rec) {
+        if (!rec.isAuthoredBy(worklogUsername) || rec.getDate() == null) return;
         try {
-            List<PrefixMapping> pmList = prefixesService.getAllPrefixes();
-            final String bc = baseComment == null ? "" : baseComment.toLowerCase(Locale.ROOT);
-            if (pmList != null) {
-                for (PrefixMapping pm : pmList) {
-                    if (!pm.isEnabled()) continue;
-                    String type = pm.getType();
-                    String prefix = pm.getPrefix();
-                    // Suggest when the entered text (baseComment) contains the mapping keyword (type)
-                    if (type != null && !type.isBlank() && bc.contains(type.toLowerCase(Locale.ROOT))) {
-                        if (prefix != null && !suggestions.contains(prefix)) suggestions.add(prefix);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            // ignore prefixes on error
+            model.learn(rec.getWorklogId(), rec.getIssueKey(), rec.getComment(), LocalDate.parse(rec.getDate()));
+        } catch (DateTimeParseException e) {
+            // not a worklog we can date
+        }
+    }
+
+    /**
+     * Comments (without their prefixes) most used on this ticket and, with less weight, on its project,
+     * recent worklogs counting more.
+     */
+    public List<String> suggestComments(String ticketKey) {
+        return model.topComments(ticketKey, learnedLimit);
+    }
+
+    /**
+     * Keyword automaton over the enabled prefix mappings, in mapping order; {@code keywords} and
+     * {@code prefixes} are indexed like the automaton's keywords.
+     */
+    private record KeywordIndex(long version, KeywordAutomaton automaton, List<String> keywords, List<String> prefixes) {}
+
+    private volatile KeywordIndex keywordIndex = new KeywordIndex(-1, KeywordAutomaton.build(List.of()), List.of(), List.of());
+
+    // rebuilt only when the prefixes changed since the last call
+    private KeywordIndex keywordIndex() {
+        PrefixesService.Snapshot snapshot = prefixesService.getSnapshot();
+        KeywordIndex index = keywordIndex;
+        if (index.version() == snapshot.version()) return index;
+        List<String> keywords = new ArrayList<>(snapshot.prefixes().size());
+        List<String> prefixes = new ArrayList<>(snapshot.prefixes().size());
+        for (PrefixMapping pm : snapshot.prefixes()) {
+            boolean usable = pm.isEnabled() && pm.getType() != null && !pm.getType().isBlank();
+            keywords.add(usable ? pm.getType().toLowerCase(Locale.ROOT) : null);
+            prefixes.add(usable ? pm.getPrefix() : null);
         }
+        index = new KeywordIndex(snapshot.version(), KeywordAutomaton.build(keywords), Collections.unmodifiableList(keywords),
+                Collections.unmodifiableList(prefixes));
+        keywordIndex = index;
+        return index;
+    }
 
-        // final cleanup: ensure unique and return
-        List<String> unique = new ArrayList<>();
-        for (String s : suggestions) if (s != null && !s.isBlank() && !unique.contains(s)) unique.add(s);
-        return unique;
+    public List<String> suggestPrefixes(String ticketKey, String baseComment) {
+        return prefixesOf(explainPrefixes(ticketKey, baseComment));
+    }
+
+    /**
+     * The distinct prefixes of {@code explanations}, in order.
+     */
+    public static List<String> prefixesOf(List<SuggestionExplanation> explanations) {
+        Set<String> prefixes = new LinkedHashSet<>();
+        for (SuggestionExplanation e : explanations) prefixes.add(e.getPrefix());
+        return new ArrayList<>(prefixes);
+    }
+
+    /**
+     * Every reason to suggest a prefix, in suggestion order: rules_mappings.csv rules, then prefix mappings
+     * whose keyword occurs in the comment, then prefixes learned from this ticket and its project. A prefix
+     * can appear more than once.
+     */
+    public List<SuggestionExplanation> explainPrefixes(String ticketKey, String baseComment) {
+        List<SuggestionExplanation> out = new ArrayList<>();
+        for (RuleSet.Match m : rulesMappingService.getRules().match(ticketKey, baseComment)) {
+            String matched = RuleSet.TICKET_KEY.equals(m.source()) ? m.rule().type() : m.rule().defaultComment();
+            out.add(new SuggestionExplanation(m.rule().prefix(), m.source(), matched));
+        }
+
+        // enabled prefix mappings whose keyword (type) occurs in the entered text (baseComment)
+        String bc = baseComment == null ? "" : baseComment.toLowerCase(Locale.ROOT);
+        KeywordIndex index = keywordIndex();
+        BitSet matched = index.automaton().match(bc);
+        for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+            String prefix = index.prefixes().get(i);
+            if (prefix != null && !prefix.isBlank()) out.add(new SuggestionExplanation(prefix, PREFIX_MAPPING, index.keywords().get(i)));
+        }
+        // then the prefixes used most on this ticket and its project
+        for (String prefix : model.topPrefixes(ticketKey, learnedLimit)) out.add(new SuggestionExplanation(prefix, HISTORY, ticketKey));
+        return out;
     }
 }
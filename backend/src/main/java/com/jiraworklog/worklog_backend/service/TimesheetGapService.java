@@ -0,0 +1,138 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.jiraworklog.worklog_backend.dto.WorklogEntry;
+import com.jiraworklog.worklog_backend.dto.WorklogGapDay;
+import com.jiraworklog.worklog_backend.dto.WorklogGapReport;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Finds working days logged short of a daily target and days logged over a maximum. Worklog seconds
+ * are summed into one int per day of the range, and working days (Monday to Friday minus
+ * {@code worklog.gaps.holidays}) are a bit set over the same days, so a year is two small arrays.
+ */
+@Service
+public class TimesheetGapService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimesheetGapService.class);
+
+    public static final int MAX_DAYS = 366;
+    public static final String DEFICIT = "deficit";
+    public static final String SURPLUS = "surplus";
+
+    @Value("${worklog.gaps.max-hours:12}")
+    private double maxHours;
+
+    @Value("${worklog.gaps.holidays:}")
+    private String[] holidays = new String[0];
+
+    // sorted epoch days
+    private long[] holidayDays = new long[0];
+
+    @PostConstruct
+    void init() {
+        List<Long> days = new ArrayList<>();
+        for (String holiday : holidays) {
+            if (holiday == null || holiday.isBlank()) continue;
+            try {
+                days.add(LocalDate.parse(holiday.trim()).toEpochDay());
+            } catch (DateTimeParseException e) {
+                logger.warn("Ignoring worklog.gaps.holidays entry '{}': not a YYYY-MM-DD date", holiday);
+            }
+        }
+        holidayDays = days.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+    }
+
+    /**
+     * Days from {@code from} to {@code to} (inclusive, at most {@link #MAX_DAYS}) where {@code entries} add up
+     * to less than {@code targetHours} on a working day, or to more than {@code worklog.gaps.max-hours} on
+     * any day. Entries dated outside the range are ignored.
+     */
+    public WorklogGapReport findGaps(List<WorklogEntry> entries, LocalDate from, LocalDate to, double targetHours) {
+        int dayCount = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        if (dayCount < 1 || dayCount > MAX_DAYS) throw new IllegalArgumentException("Range must be 1 to " + MAX_DAYS + " days");
+        int targetSeconds = (int) Math.round(targetHours * 3600);
+        int maxSeconds = (int) Math.round(maxHours * 3600);
+
+        int[] seconds = new int[dayCount];
+        long logged = 0;
+        for (WorklogEntry entry : entries) {
+            int day = dayOffset(entry.getDate(), from, dayCount);
+            if (day < 0 || entry.getTimeSpentSeconds() == null) continue;
+            seconds[day] += entry.getTimeSpentSeconds();
+            logged += entry.getTimeSpentSeconds();
+        }
+
+        BitSet workingDays = workingDays(from, dayCount);
+        List<WorklogGapDay> days = new ArrayList<>();
+        long deficit = 0;
+        long surplus = 0;
+        int deficitDays = 0;
+        int surplusDays = 0;
+        for (int day = 0; day < dayCount; day++) {
+            if (workingDays.get(day) && seconds[day] < targetSeconds) {
+                days.add(new WorklogGapDay(from.plusDays(day).toString(), DEFICIT, seconds[day], seconds[day] - targetSeconds));
+                deficit += targetSeconds - seconds[day];
+                deficitDays++;
+            } else if (seconds[day] > maxSeconds) {
+                days.add(new WorklogGapDay(from.plusDays(day).toString(), SURPLUS, seconds[day], seconds[day] - maxSeconds));
+                surplus += seconds[day] - maxSeconds;
+                surplusDays++;
+            }
+        }
+
+        WorklogGapReport report = new WorklogGapReport();
+        report.setFrom(from.toString());
+        report.setTo(to.toString());
+        report.setTargetSeconds(targetSeconds);
+        report.setMaxSeconds(maxSeconds);
+        report.setWorkingDays(workingDays.cardinality());
+        report.setExpectedSeconds((long) workingDays.cardinality() * targetSeconds);
+        report.setLoggedSeconds(logged);
+        report.setDeficitDays(deficitDays);
+        report.setDeficitSeconds(deficit);
+        report.setSurplusDays(surplusDays);
+        report.setSurplusSeconds(surplus);
+        report.setDays(days);
+        return report;
+    }
+
+    // bit d is set when from + d is a weekday that is not a holiday
+    BitSet workingDays(LocalDate from, int dayCount) {
+        BitSet out = new BitSet(dayCount);
+        int weekday = from.getDayOfWeek().getValue() - 1; // Monday = 0
+        for (int day = 0; day < dayCount; day++) {
+            if ((weekday + day) % 7 < DayOfWeek.SATURDAY.getValue() - 1) out.set(day);
+        }
+        long first = from.toEpochDay();
+        int at = Arrays.binarySearch(holidayDays, first);
+        for (int i = at < 0 ? -at - 1 : at; i < holidayDays.length && holidayDays[i] < first + dayCount; i++) {
+            out.clear((int) (holidayDays[i] - first));
+        }
+        return out;
+    }
+
+    private static int dayOffset(String date, LocalDate from, int dayCount) {
+        if (date == null) return -1;
+        try {
+            long day = LocalDate.parse(date).toEpochDay() - from.toEpochDay();
+            return day < 0 || day >= dayCount ? -1 : (int) day;
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+}
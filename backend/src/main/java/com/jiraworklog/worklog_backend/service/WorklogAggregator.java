@@ -0,0 +1,127 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.jiraworklog.worklog_backend.dto.WorklogAggregate;
+import com.jiraworklog.worklog_backend.dto.WorklogAggregation;
+import com.jiraworklog.worklog_backend.dto.WorklogEntry;
+
+/**
+ * Sums worklogs per day, ISO week, ticket or prefix in one pass: each group key maps to a slot in
+ * primitive seconds and count arrays, so a quarter of worklogs costs one map lookup per entry and the
+ * response carries one row per group instead of every worklog.
+ */
+public final class WorklogAggregator {
+
+    public static final String DAY = "day";
+    public static final String WEEK = "week";
+    public static final String TICKET = "ticket";
+    public static final String PREFIX = "prefix";
+
+    // group key of worklogs without a ticket key, date or leading [PREFIX]
+    static final String NONE = "";
+
+    private WorklogAggregator() {}
+
+    public static boolean isGroupBy(String groupBy) {
+        return DAY.equals(groupBy) || WEEK.equals(groupBy) || TICKET.equals(groupBy) || PREFIX.equals(groupBy);
+    }
+
+    /**
+     * Days and weeks come back in date order, tickets and prefixes most time first. With {@link #PREFIX} a
+     * worklog tagged {@code [DEV][SCM]} counts toward both prefixes, so the groups can add up to more than
+     * the totals, which count every worklog once.
+     */
+    public static WorklogAggregation aggregate(List<WorklogEntry> entries, String groupBy, String from, String to) {
+        if (!isGroupBy(groupBy)) throw new IllegalArgumentException("Unknown groupBy: " + groupBy);
+        Groups acc = new Groups();
+        long totalSeconds = 0;
+        int totalCount = 0;
+        for (WorklogEntry entry : entries) {
+            int secs = entry.getTimeSpentSeconds() == null ? 0 : entry.getTimeSpentSeconds();
+            totalSeconds += secs;
+            totalCount++;
+            if (!PREFIX.equals(groupBy)) {
+                acc.add(keyOf(entry, groupBy), secs);
+                continue;
+            }
+            List<String> prefixes = SuggestionModel.split(entry.getComment()).prefixes();
+            if (prefixes.isEmpty()) acc.add(NONE, secs);
+            for (int i = 0; i < prefixes.size(); i++) {
+                // the same prefix twice on one worklog counts once
+                if (prefixes.indexOf(prefixes.get(i)) == i) acc.add(prefixes.get(i), secs);
+            }
+        }
+
+        List<WorklogAggregate> groups = acc.toList();
+        if (DAY.equals(groupBy) || WEEK.equals(groupBy)) {
+            groups.sort(Comparator.comparing(WorklogAggregate::getKey));
+        } else {
+            groups.sort(Comparator.comparingLong(WorklogAggregate::getTimeSpentSeconds).reversed()
+                    .thenComparing(WorklogAggregate::getKey));
+        }
+
+        WorklogAggregation out = new WorklogAggregation();
+        out.setFrom(from);
+        out.setTo(to);
+        out.setGroupBy(groupBy);
+        out.setTimeSpentSeconds(totalSeconds);
+        out.setWorklogCount(totalCount);
+        out.setGroups(groups);
+        return out;
+    }
+
+    // group key -> slot in the seconds and counts arrays
+    private static final class Groups {
+        private final Map<String, Integer> slots = new HashMap<>();
+        private final List<String> keys = new ArrayList<>();
+        private long[] seconds = new long[16];
+        private int[] counts = new int[16];
+
+        void add(String key, int secs) {
+            Integer slot = slots.get(key);
+            if (slot == null) {
+                slot = keys.size();
+                keys.add(key);
+                slots.put(key, slot);
+                if (slot == seconds.length) {
+                    seconds = Arrays.copyOf(seconds, slot * 2);
+                    counts = Arrays.copyOf(counts, slot * 2);
+                }
+            }
+            seconds[slot] += secs;
+            counts[slot]++;
+        }
+
+        List<WorklogAggregate> toList() {
+            List<WorklogAggregate> out = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) out.add(new WorklogAggregate(keys.get(i), seconds[i], counts[i], format(seconds[i])));
+            return out;
+        }
+    }
+
+    private static String keyOf(WorklogEntry entry, String groupBy) {
+        if (TICKET.equals(groupBy)) return entry.getTicketNumber() == null ? NONE : entry.getTicketNumber();
+        String date = entry.getDate();
+        if (date == null) return NONE;
+        if (DAY.equals(groupBy)) return date;
+        try {
+            LocalDate day = LocalDate.parse(date);
+            return String.format("%d-W%02d", day.get(IsoFields.WEEK_BASED_YEAR), day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+        } catch (DateTimeParseException e) {
+            return NONE;
+        }
+    }
+
+    private static String format(long secs) {
+        return JiraService.formatSeconds((int) Math.min(secs, Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,368 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.jiraworklog.worklog_backend.dto.WorklogRecord;
+
+/**
+ * Worklogs held column by column instead of one {@link WorklogRecord} per row: the worklog id, epoch
+ * day and seconds in primitive arrays, and every string as an int ref into a pool of distinct values.
+ * Issue ids and keys share one pool, user names and display names another, comments a third; a
+ * {@code started} timestamp is its epoch day plus a pooled time of day ({@code T09:00:00.000+0100}),
+ * which repeats across most worklogs.
+ * <p>
+ * Rows are kept dense (a removed row is replaced by the last one) and scanned by date through an index
+ * of rows ordered by day, rebuilt on the first scan after a change. Pools only grow; the mirror starts a
+ * new store with every snapshot. Records are decoded on read, so changing one does not change the store.
+ * All methods are synchronized.
+ */
+final class WorklogColumns {
+
+    private static final int NULL = -1;
+
+    private long[] worklogIds = new long[16];
+    private int[] epochDays = new int[16];
+    private int[] seconds = new int[16];
+    private int[] issueIds = new int[16];
+    private int[] issueKeys = new int[16];
+    private int[] authors = new int[16];
+    private int[] authorNames = new int[16];
+    private int[] startedTimes = new int[16];
+    private int[] comments = new int[16];
+    // write counter value of each row's last put
+    private long[] stamps = new long[16];
+    private int size;
+    private long writes;
+
+    private final Pool tickets = new Pool();
+    private final Pool users = new Pool();
+    private final Pool times = new Pool();
+    private final Pool commentPool = new Pool();
+    private final LongIntMap rowById = new LongIntMap();
+
+    // row numbers ordered by (epoch day, row); null when out of date
+    private int[] byDay;
+
+    /**
+     * Estimated heap use of the store next to the same worklogs held one {@link WorklogRecord} per row, each
+     * with its own strings, in a map keyed by worklog id. Assumes a 64-bit JVM with compressed references.
+     */
+    record Footprint(int rows, int distinctTickets, int distinctUsers, int distinctComments,
+                     long columnarBytes, long rowObjectBytes) {}
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    synchronized boolean contains(long worklogId) {
+        return rowById.get(worklogId) != NULL;
+    }
+
+    /**
+     * Adds a worklog, or replaces the row with the same worklog id.
+     */
+    synchronized void put(WorklogRecord rec) {
+        int row = rowById.get(rec.getWorklogId());
+        if (row == NULL) {
+            if (size == worklogIds.length) grow(size * 2);
+            row = size++;
+            rowById.put(rec.getWorklogId(), row);
+        }
+        String started = rec.getStarted();
+        int day = WorklogMirrorSnapshot.epochDay(rec.getDate());
+        worklogIds[row] = rec.getWorklogId();
+        epochDays[row] = day;
+        seconds[row] = rec.getTimeSpentSeconds();
+        issueIds[row] = tickets.intern(rec.getIssueId());
+        issueKeys[row] = tickets.intern(rec.getIssueKey());
+        authors[row] = users.intern(rec.getAuthor());
+        authorNames[row] = users.intern(rec.getAuthorDisplayName());
+        startedTimes[row] = times.intern(day == WorklogMirrorSnapshot.NO_DAY ? started : started.substring(10));
+        comments[row] = commentPool.intern(rec.getComment());
+        stamps[row] = ++writes;
+        byDay = null;
+    }
+
+    synchronized boolean remove(long worklogId) {
+        int row = rowById.remove(worklogId);
+        if (row == NULL) return false;
+        int last = --size;
+        if (row != last) {
+            worklogIds[row] = worklogIds[last];
+            epochDays[row] = epochDays[last];
+            seconds[row] = seconds[last];
+            issueIds[row] = issueIds[last];
+            issueKeys[row] = issueKeys[last];
+            authors[row] = authors[last];
+            authorNames[row] = authorNames[last];
+            startedTimes[row] = startedTimes[last];
+            comments[row] = comments[last];
+            stamps[row] = stamps[last];
+            rowById.put(worklogIds[row], row);
+        }
+        byDay = null;
+        return true;
+    }
+
+    synchronized WorklogRecord get(long worklogId) {
+        int row = rowById.get(worklogId);
+        return row == NULL ? null : record(row);
+    }
+
+    /**
+     * Calls {@code action} with every worklog dated from {@code fromDay} to {@code toDay} (epoch days,
+     * inclusive), in date order. {@link WorklogMirrorSnapshot#NO_DAY} leaves that end open; worklogs without a
+     * date are only reached when {@code fromDay} is open.
+     */
+    synchronized void scan(int fromDay, int toDay, Consumer<WorklogRecord> action) {
+        if (byDay == null) byDay = sortByDay();
+        int i = fromDay == WorklogMirrorSnapshot.NO_DAY ? 0 : firstOnOrAfter(fromDay);
+        for (; i < size; i++) {
+            int row = byDay[i];
+            if (toDay != WorklogMirrorSnapshot.NO_DAY && epochDays[row] > toDay) break;
+            action.accept(record(row));
+        }
+    }
+
+    synchronized void forEach(Consumer<WorklogRecord> action) {
+        for (int row = 0; row < size; row++) action.accept(record(row));
+    }
+
+    /**
+     * Adds every worklog to {@code out} and returns the current write stamp, for {@link #forEachWrittenAfter}.
+     */
+    synchronized long copyTo(List<WorklogRecord> out) {
+        for (int row = 0; row < size; row++) out.add(record(row));
+        return writes;
+    }
+
+    /**
+     * Calls {@code action} with the worklogs put since {@link #copyTo} returned {@code stamp}.
+     */
+    synchronized void forEachWrittenAfter(long stamp, Consumer<WorklogRecord> action) {
+        for (int row = 0; row < size; row++) {
+            if (stamps[row] > stamp) action.accept(record(row));
+        }
+    }
+
+    synchronized Footprint footprint() {
+        long columnar = longArray(worklogIds.length) + longArray(stamps.length) + 8 * intArray(worklogIds.length)
+                + (byDay == null ? 0 : intArray(byDay.length)) + rowById.bytes()
+                + tickets.bytes() + users.bytes() + times.bytes() + commentPool.bytes();
+
+        // WorklogRecord: header, long, int and six references; a map node and boxed key per row
+        long perRow = align(12 + 8 + 4 + 6 * 4) + 32 + 16 + 4;
+        long rowObjects = align(16 + 4L * Math.max(16, size * 4 / 3)) + perRow * size;
+        for (int row = 0; row < size; row++) {
+            rowObjects += tickets.stringBytes(issueIds[row]) + tickets.stringBytes(issueKeys[row])
+                    + users.stringBytes(authors[row]) + users.stringBytes(authorNames[row])
+                    + commentPool.stringBytes(comments[row]) + startedBytes(row);
+        }
+        return new Footprint(size, tickets.size(), users.size(), commentPool.size(), columnar, rowObjects);
+    }
+
+    private WorklogRecord record(int row) {
+        WorklogRecord rec = new WorklogRecord();
+        rec.setWorklogId(worklogIds[row]);
+        rec.setIssueId(tickets.value(issueIds[row]));
+        rec.setIssueKey(tickets.value(issueKeys[row]));
+        rec.setAuthor(users.value(authors[row]));
+        rec.setAuthorDisplayName(users.value(authorNames[row]));
+        String time = times.value(startedTimes[row]);
+        rec.setStarted(epochDays[row] == WorklogMirrorSnapshot.NO_DAY ? time : LocalDate.ofEpochDay(epochDays[row]) + time);
+        rec.setTimeSpentSeconds(seconds[row]);
+        rec.setComment(commentPool.value(comments[row]));
+        return rec;
+    }
+
+    private int[] sortByDay() {
+        // (day, row) packed into one long so a primitive sort does the work
+        long[] keys = new long[size];
+        for (int row = 0; row < size; row++) keys[row] = ((long) epochDays[row] << 32) | row;
+        Arrays.sort(keys);
+        int[] out = new int[size];
+        for (int i = 0; i < size; i++) out[i] = (int) keys[i];
+        return out;
+    }
+
+    private int firstOnOrAfter(int day) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochDays[byDay[mid]] < day) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private void grow(int capacity) {
+        worklogIds = Arrays.copyOf(worklogIds, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        seconds = Arrays.copyOf(seconds, capacity);
+        issueIds = Arrays.copyOf(issueIds, capacity);
+        issueKeys = Arrays.copyOf(issueKeys, capacity);
+        authors = Arrays.copyOf(authors, capacity);
+        authorNames = Arrays.copyOf(authorNames, capacity);
+        startedTimes = Arrays.copyOf(startedTimes, capacity);
+        comments = Arrays.copyOf(comments, capacity);
+        stamps = Arrays.copyOf(stamps, capacity);
+    }
+
+    // the full started string as a row object would hold it
+    private long startedBytes(int row) {
+        String time = times.value(startedTimes[row]);
+        if (time == null) return 0;
+        int length = time.length() + (epochDays[row] == WorklogMirrorSnapshot.NO_DAY ? 0 : 10);
+        return stringBytes(length, Pool.isLatin1(time));
+    }
+
+    private static long stringBytes(int length, boolean latin1) {
+        return align(12 + 4 + 4) + align(16 + (long) length * (latin1 ? 1 : 2));
+    }
+
+    private static long intArray(int length) {
+        return align(16 + 4L * length);
+    }
+
+    private static long longArray(int length) {
+        return align(16 + 8L * length);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    // distinct strings in order of first use, ref -1 for null
+    private static final class Pool {
+        private final Map<String, Integer> refs = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private long[] sizes = new long[16];
+
+        int intern(String value) {
+            if (value == null) return NULL;
+            Integer ref = refs.get(value);
+            if (ref != null) return ref;
+            ref = values.size();
+            if (ref == sizes.length) sizes = Arrays.copyOf(sizes, ref * 2);
+            sizes[ref] = WorklogColumns.stringBytes(value.length(), isLatin1(value));
+            values.add(value);
+            refs.put(value, ref);
+            return ref;
+        }
+
+        String value(int ref) {
+            return ref == NULL ? null : values.get(ref);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        long stringBytes(int ref) {
+            return ref == NULL ? 0 : sizes[ref];
+        }
+
+        // strings, boxed refs, hash map nodes and table, list slots and the size cache
+        long bytes() {
+            long total = longArray(sizes.length) + intArray(values.size()) + align(16 + 4L * Math.max(16, values.size() * 4 / 3));
+            for (int i = 0; i < values.size(); i++) total += sizes[i] + 32 + (i < 128 ? 0 : 16);
+            return total;
+        }
+
+        static boolean isLatin1(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) > 0xFF) return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Open-addressing long-to-int map with linear probing and backward-shift deletion; absent keys read as -1.
+     */
+    private static final class LongIntMap {
+        private long[] keys = new long[16];
+        private int[] values = new int[16];
+        private boolean[] used = new boolean[16];
+        private int size;
+
+        int get(long key) {
+            int slot = slot(key);
+            return used[slot] ? values[slot] : NULL;
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 4 > keys.length * 3) grow();
+            int slot = slot(key);
+            if (!used[slot]) {
+                used[slot] = true;
+                keys[slot] = key;
+                size++;
+            }
+            values[slot] = value;
+        }
+
+        int remove(long key) {
+            int slot = slot(key);
+            if (!used[slot]) return NULL;
+            int removed = values[slot];
+            int mask = keys.length - 1;
+            // move later entries of the probe run back so lookups never stop at the hole
+            int hole = slot;
+            for (int next = (hole + 1) & mask; used[next]; next = (next + 1) & mask) {
+                int home = (int) mix(keys[next]) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    hole = next;
+                }
+            }
+            used[hole] = false;
+            size--;
+            return removed;
+        }
+
+        long bytes() {
+            return longArray(keys.length) + intArray(values.length) + align(16 + used.length);
+        }
+
+        private int slot(long key) {
+            int mask = keys.length - 1;
+            int slot = (int) mix(key) & mask;
+            while (used[slot] && keys[slot] != key) slot = (slot + 1) & mask;
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (!oldUsed[i]) continue;
+                int slot = slot(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+
+        private static long mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return h ^ (h >>> 32);
+        }
+    }
+}
@@ -0,0 +1,535 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.jiraworklog.worklog_backend.dto.JiraIssueSummary;
+import com.jiraworklog.worklog_backend.dto.JiraSearchResult;
+import com.jiraworklog.worklog_backend.dto.JiraWorklogResponse;
+import com.jiraworklog.worklog_backend.dto.WorklogChangePage;
+import com.jiraworklog.worklog_backend.dto.WorklogEntry;
+import com.jiraworklog.worklog_backend.dto.WorklogHistoryItem;
+import com.jiraworklog.worklog_backend.dto.WorklogMirrorStatus;
+import com.jiraworklog.worklog_backend.dto.WorklogRecord;
+import com.jiraworklog.worklog_backend.dto.WorklogRequest;
+import com.jiraworklog.worklog_backend.dto.WorklogStoreFootprint;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Local copy of Jira worklogs kept up to date by a background job. Each sync only pulls worklogs
+ * changed or deleted since the previous one (Jira's {@code /worklog/updated} and {@code /worklog/deleted}
+ * feeds), so calendar and history views can be answered without calling Jira.
+ * <p>
+ * The mirror is saved as a {@link WorklogMirrorSnapshot} periodically and at shutdown, and the newest one is
+ * mapped back at startup: the mirror is ready at once and the next sync only fetches what changed since.
+ * Changes after the snapshot are kept in an overlay on top of it until the next one is written, held as
+ * {@link WorklogColumns} rather than one object per worklog.
+ */
+@Service
+public class WorklogMirrorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorklogMirrorService.class);
+
+    private static final int WORKLOG_LIST_BATCH = 1000; // Jira limit for /worklog/list
+    private static final int ISSUE_SEARCH_BATCH = 100;
+    private static final Pattern SNAPSHOT_FILE = Pattern.compile("worklog-mirror-(\\d+)\\.snapshot");
+
+    private final JiraService jiraService;
+
+    private final Object stateLock = new Object();
+    private volatile MirrorState state = new MirrorState(WorklogMirrorSnapshot.EMPTY);
+    private volatile boolean dirty;
+    private long generation;
+    private final Map<String, JiraIssueSummary> issuesById = new ConcurrentHashMap<>();
+    private final List<Consumer<WorklogRecord>> listeners = new CopyOnWriteArrayList<>();
+    private final List<LongConsumer> removalListeners = new CopyOnWriteArrayList<>();
+
+    @Value("${worklog.mirror.enabled:false}")
+    private boolean enabled;
+
+    @Value("${worklog.mirror.initial-days:90}")
+    private int initialDays;
+
+    @Value("${worklog.mirror.snapshot-dir:data}")
+    private String snapshotDir;
+
+    // high-water marks of the updated and deleted feeds, 0 until the first successful sync
+    private volatile long updatedMark;
+    private volatile long deletedMark;
+    private volatile LocalDate coveredFrom;
+    private volatile Instant lastSyncedAt;
+    private volatile String lastError;
+
+    public WorklogMirrorService(JiraService jiraService) {
+        this.jiraService = jiraService;
+    }
+
+    /**
+     * Snapshot rows plus the changes applied since it was written: {@code overlay} holds new and updated
+     * worklogs, {@code shadowed} the ids of snapshot rows that were updated or deleted.
+     */
+    private record MirrorState(WorklogMirrorSnapshot base, WorklogColumns overlay, Set<Long> shadowed) {
+        MirrorState(WorklogMirrorSnapshot base) {
+            this(base, new WorklogColumns(), ConcurrentHashMap.newKeySet());
+        }
+
+        int size() {
+            return base.size() - shadowed.size() + overlay.size();
+        }
+    }
+
+    @PostConstruct
+    void loadSnapshot() {
+        if (!enabled) return;
+        for (Path file : snapshotFiles()) {
+            try {
+                WorklogMirrorSnapshot snapshot = WorklogMirrorSnapshot.open(file);
+                WorklogMirrorSnapshot.Marks marks = snapshot.marks();
+                for (JiraIssueSummary issue : snapshot.issues()) {
+                    if (issue.getId() != null) issuesById.put(issue.getId(), issue);
+                }
+                state = new MirrorState(snapshot);
+                generation = generationOf(file);
+                updatedMark = marks.updatedMark();
+                deletedMark = marks.deletedMark();
+                coveredFrom = marks.coveredFrom();
+                lastSyncedAt = Instant.ofEpochMilli(marks.lastSyncedAtMillis());
+                logger.info("Worklog mirror loaded {} worklogs from {} (synced at {})", snapshot.size(), file, lastSyncedAt);
+                return;
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Skipping worklog mirror snapshot {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${worklog.mirror.snapshot-interval-ms:600000}",
+            fixedDelayString = "${worklog.mirror.snapshot-interval-ms:600000}")
+    public void scheduledSnapshot() {
+        if (!enabled) return;
+        try {
+            writeSnapshot();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Writing the worklog mirror snapshot failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void saveSnapshot() {
+        scheduledSnapshot();
+    }
+
+    /**
+     * Writes the mirror to a new snapshot generation if it changed since the last one, maps it in place of
+     * the previous snapshot and removes older generations. Mapped files cannot be replaced on every platform,
+     * hence a new file each time; generations that cannot be deleted yet are removed by a later run.
+     */
+    synchronized void writeSnapshot() throws IOException {
+        if (!dirty || lastSyncedAt == null) return;
+        dirty = false;
+        MirrorState current = state;
+        List<WorklogRecord> records = new ArrayList<>(current.size());
+        for (int i = 0; i < current.base().size(); i++) {
+            if (!current.shadowed().contains(current.base().worklogId(i))) records.add(current.base().record(i));
+        }
+        long written = current.overlay().copyTo(records);
+        WorklogMirrorSnapshot.Marks marks = new WorklogMirrorSnapshot.Marks(updatedMark, deletedMark, coveredFrom,
+                lastSyncedAt.toEpochMilli());
+
+        Path file = Paths.get(snapshotDir).resolve("worklog-mirror-" + (generation + 1) + ".snapshot");
+        try {
+            WorklogMirrorSnapshot.write(file, marks, records, issuesById.values());
+        } catch (IOException e) {
+            dirty = true;
+            throw e;
+        }
+        WorklogMirrorSnapshot snapshot = WorklogMirrorSnapshot.open(file);
+        generation++;
+
+        synchronized (stateLock) {
+            // keep what was recorded while the file was being written
+            MirrorState next = new MirrorState(snapshot);
+            state.overlay().forEachWrittenAfter(written, rec -> put(next, rec));
+            if (!next.overlay().isEmpty()) dirty = true;
+            state = next;
+        }
+        for (Path old : snapshotFiles()) {
+            if (old.equals(file)) continue;
+            try {
+                Files.deleteIfExists(old);
+            } catch (IOException e) {
+                logger.debug("Could not delete old worklog mirror snapshot {}: {}", old, e.getMessage());
+            }
+        }
+        logger.debug("Worklog mirror snapshot written - {} worklogs to {}", records.size(), file);
+    }
+
+    // newest generation first
+    private List<Path> snapshotFiles() {
+        Path dir = Paths.get(snapshotDir);
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return files;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "worklog-mirror-*.snapshot")) {
+            for (Path file : stream) {
+                if (generationOf(file) >= 0) files.add(file);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not list worklog mirror snapshots in {}: {}", dir, e.getMessage());
+        }
+        files.sort(Comparator.comparingLong(WorklogMirrorService::generationOf).reversed());
+        return files;
+    }
+
+    private static long generationOf(Path file) {
+        Matcher m = SNAPSHOT_FILE.matcher(file.getFileName().toString());
+        if (!m.matches()) return -1;
+        try {
+            return Long.parseLong(m.group(1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Calls {@code listener} with every worklog added to or updated in the mirror from now on, and with
+     * worklogs created through this application even while the mirror itself is disabled. The same
+     * worklog may be reported more than once.
+     */
+    public void addListener(Consumer<WorklogRecord> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Calls {@code listener} with the id of every worklog removed from the mirror because it was deleted in Jira.
+     */
+    public void addRemovalListener(LongConsumer listener) {
+        removalListeners.add(listener);
+    }
+
+    /**
+     * Calls {@code action} with every worklog currently in the mirror, in no particular order.
+     */
+    public void forEachWorklog(Consumer<WorklogRecord> action) {
+        MirrorState s = state;
+        for (int i = 0; i < s.base().size(); i++) {
+            if (!s.shadowed().contains(s.base().worklogId(i))) action.accept(s.base().record(i));
+        }
+        s.overlay().forEach(action);
+    }
+
+    private void putAll(Collection<WorklogRecord> records) {
+        synchronized (stateLock) {
+            for (WorklogRecord rec : records) put(state, rec);
+            dirty = true;
+        }
+        notifyListeners(records);
+    }
+
+    private void notifyListeners(Collection<WorklogRecord> records) {
+        for (Consumer<WorklogRecord> listener : listeners) {
+            for (WorklogRecord rec : records) {
+                try {
+                    listener.accept(rec);
+                } catch (RuntimeException e) {
+                    logger.warn("Worklog mirror listener failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void put(MirrorState s, WorklogRecord rec) {
+        if (s.base().indexOf(rec.getWorklogId()) >= 0) s.shadowed().add(rec.getWorklogId());
+        s.overlay().put(rec);
+    }
+
+    private void removeAll(Collection<Long> ids) {
+        synchronized (stateLock) {
+            MirrorState s = state;
+            for (Long id : ids) {
+                s.overlay().remove(id);
+                if (s.base().indexOf(id) >= 0) s.shadowed().add(id);
+            }
+            dirty = true;
+        }
+        for (LongConsumer listener : removalListeners) {
+            for (Long id : ids) {
+                try {
+                    listener.accept(id);
+                } catch (RuntimeException e) {
+                    logger.warn("Worklog mirror listener failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${worklog.mirror.initial-delay-ms:5000}",
+            fixedDelayString = "${worklog.mirror.sync-interval-ms:60000}")
+    public void scheduledSync() {
+        if (!enabled) return;
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            logger.warn("Worklog mirror sync failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Pulls all worklog changes since the high-water mark. Changes are collected first and applied
+     * only when everything was fetched, so a failed sync leaves the mirror and its mark untouched.
+     */
+    public synchronized void sync() {
+        LocalDate from = coveredFrom;
+        long updatedSince = updatedMark;
+        long deletedSince = deletedMark;
+        if (lastSyncedAt == null) {
+            from = LocalDate.now(ZoneOffset.UTC).minusDays(initialDays);
+            updatedSince = from.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+            deletedSince = updatedSince;
+        }
+
+        Set<Long> updatedIds = new LinkedHashSet<>();
+        long updatedUntil = drain(jiraService::getUpdatedWorklogIds, updatedSince, updatedIds);
+        Set<Long> deletedIds = new LinkedHashSet<>();
+        long deletedUntil = drain(jiraService::getDeletedWorklogIds, deletedSince, deletedIds);
+
+        List<Long> ids = new ArrayList<>(updatedIds);
+        List<WorklogRecord> fetched = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i += WORKLOG_LIST_BATCH) {
+            fetched.addAll(jiraService.getWorklogsByIds(ids.subList(i, Math.min(ids.size(), i + WORKLOG_LIST_BATCH))));
+        }
+        resolveIssueKeys(fetched);
+
+        putAll(fetched);
+        removeAll(deletedIds);
+
+        // feeds are inclusive of "since", so the next sync may see the last change again; applying it twice is harmless
+        updatedMark = updatedUntil;
+        deletedMark = deletedUntil;
+        coveredFrom = from;
+        lastSyncedAt = Instant.now();
+        lastError = null;
+        logger.debug("Worklog mirror synced - updated={}, deleted={}, total={}", fetched.size(), deletedIds.size(), state.size());
+    }
+
+    private long drain(LongFunction<WorklogChangePage> feed, long since, Set<Long> ids) {
+        long cursor = since;
+        while (true) {
+            WorklogChangePage page = feed.apply(cursor);
+            ids.addAll(page.getWorklogIds());
+            boolean advanced = page.getUntil() > cursor;
+            cursor = Math.max(cursor, page.getUntil());
+            if (page.isLastPage() || !advanced) return cursor;
+        }
+    }
+
+    private void resolveIssueKeys(List<WorklogRecord> records) {
+        Set<String> missing = new LinkedHashSet<>();
+        for (WorklogRecord rec : records) {
+            if (rec.getIssueId() != null && !issuesById.containsKey(rec.getIssueId())) missing.add(rec.getIssueId());
+        }
+        List<String> ids = new ArrayList<>(missing);
+        for (int i = 0; i < ids.size(); i += ISSUE_SEARCH_BATCH) {
+            String jql = "id in (" + String.join(",", ids.subList(i, Math.min(ids.size(), i + ISSUE_SEARCH_BATCH))) + ")";
+            JiraSearchResult sr = jiraService.searchWorklogs(URLEncoder.encode(jql, StandardCharsets.UTF_8));
+            for (JiraIssueSummary issue : sr.getIssues()) {
+                if (issue.getId() != null) issuesById.put(issue.getId(), issue);
+            }
+        }
+        for (WorklogRecord rec : records) {
+            JiraIssueSummary issue = rec.getIssueId() == null ? null : issuesById.get(rec.getIssueId());
+            if (issue != null) rec.setIssueKey(issue.getKey());
+        }
+    }
+
+    /**
+     * Adds a worklog that was just created through this application, so it shows up before the next sync.
+     */
+    public void recordCreated(WorklogRequest request, JiraWorklogResponse response) {
+        if (response == null || response.getId() == null) return;
+        WorklogRecord rec = new WorklogRecord();
+        try {
+            rec.setWorklogId(Long.parseLong(response.getId()));
+        } catch (NumberFormatException e) {
+            return;
+        }
+        rec.setIssueKey(request.getTicketKey());
+        rec.setAuthor(request.getUsername());
+        rec.setAuthorDisplayName(response.getAuthor());
+        String started = response.getStarted() != null ? response.getStarted()
+                : request.getStarted() != null ? request.getStarted()
+                : request.getDate() != null ? request.getDate() + "T09:00:00.000+0000" : null;
+        rec.setStarted(started);
+        Integer secs = response.getTimeSpentSeconds() != null ? response.getTimeSpentSeconds() : request.getTimeSpentSeconds();
+        rec.setTimeSpentSeconds(secs == null ? 0 : secs);
+        rec.setComment(request.getComment());
+        if (enabled) putAll(List.of(rec));
+        else notifyListeners(List.of(rec));
+    }
+
+    public boolean isReady() {
+        return enabled && lastSyncedAt != null;
+    }
+
+    /**
+     * Whether the mirror holds complete data for every date from {@code fromDate} on.
+     */
+    public boolean covers(String fromDate) {
+        LocalDate covered = coveredFrom;
+        return isReady() && covered != null && fromDate != null && fromDate.compareTo(covered.toString()) >= 0;
+    }
+
+    /**
+     * The issue a mirrored worklog belongs to, or {@code null} if not known.
+     */
+    public JiraIssueSummary getIssue(String issueId) {
+        return issueId == null ? null : issuesById.get(issueId);
+    }
+
+    public Instant getLastSyncedAt() {
+        return lastSyncedAt;
+    }
+
+    public List<WorklogEntry> getWorklogsBetween(String fromDate, String toDate, String username) {
+        List<WorklogRecord> matching = findBetween(fromDate, toDate, username);
+        matching.sort(Comparator.comparing(WorklogRecord::getStarted).thenComparingLong(WorklogRecord::getWorklogId));
+        List<WorklogEntry> out = new ArrayList<>(matching.size());
+        for (WorklogRecord rec : matching) {
+            WorklogEntry we = new WorklogEntry();
+            we.setDate(rec.getDate());
+            we.setTicketNumber(rec.getIssueKey());
+            we.setWorkTime(JiraService.formatSeconds(rec.getTimeSpentSeconds()));
+            we.setTimeSpentSeconds(rec.getTimeSpentSeconds());
+            we.setComment(rec.getComment());
+            out.add(we);
+        }
+        return out;
+    }
+
+    /**
+     * One item per issue worked on in the last {@code days} days, most recent first, with the
+     * latest start time and the total time logged in that window.
+     */
+    public List<WorklogHistoryItem> getHistory(int days, String username) {
+        String fromDate = historyFrom(days).toString();
+        String toDate = LocalDate.now(ZoneOffset.UTC).plusDays(1).toString();
+        List<WorklogRecord> matching = findBetween(fromDate, toDate, username);
+        matching.sort(Comparator.comparing(WorklogRecord::getStarted).reversed());
+        Map<String, WorklogHistoryItem> byIssue = new LinkedHashMap<>();
+        for (WorklogRecord rec : matching) {
+            if (rec.getIssueKey() == null) continue;
+            WorklogHistoryItem item = byIssue.computeIfAbsent(rec.getIssueKey(), key -> {
+                WorklogHistoryItem h = new WorklogHistoryItem();
+                h.setTicketKey(key);
+                JiraIssueSummary issue = rec.getIssueId() == null ? null : issuesById.get(rec.getIssueId());
+                h.setSummary(issue == null ? null : issue.getSummary());
+                h.setAuthor(rec.getAuthorDisplayName() != null ? rec.getAuthorDisplayName() : rec.getAuthor());
+                h.setStarted(rec.getStarted());
+                h.setTimeSpentSeconds(0);
+                return h;
+            });
+            item.setTimeSpentSeconds(item.getTimeSpentSeconds() + rec.getTimeSpentSeconds());
+        }
+        return new ArrayList<>(byIssue.values());
+    }
+
+    /**
+     * Whether {@link #getHistory(int, String)} can be answered from the mirror for the last {@code days} days.
+     */
+    public boolean coversHistory(int days) {
+        return covers(historyFrom(days).toString());
+    }
+
+    // counted in UTC, like coveredFrom, so the window and the coverage check agree on what "today" is
+    private static LocalDate historyFrom(int days) {
+        return LocalDate.now(ZoneOffset.UTC).minusDays(days);
+    }
+
+    private List<WorklogRecord> findBetween(String fromDate, String toDate, String username) {
+        MirrorState s = state;
+        List<WorklogRecord> out = new ArrayList<>();
+        // snapshot rows are ordered by date: only rows in range are decoded
+        WorklogMirrorSnapshot base = s.base();
+        int fromDay = WorklogMirrorSnapshot.epochDay(fromDate);
+        int toDay = WorklogMirrorSnapshot.epochDay(toDate);
+        int i = fromDay == WorklogMirrorSnapshot.NO_DAY ? 0 : base.firstOnOrAfter(fromDay);
+        for (; i < base.size(); i++) {
+            if (toDay != WorklogMirrorSnapshot.NO_DAY && base.epochDay(i) > toDay) break;
+            if (s.shadowed().contains(base.worklogId(i))) continue;
+            WorklogRecord rec = base.record(i);
+            if (matches(rec, fromDate, toDate, username)) out.add(rec);
+        }
+        s.overlay().scan(fromDay, toDay, rec -> {
+            if (matches(rec, fromDate, toDate, username)) out.add(rec);
+        });
+        return out;
+    }
+
+    private static boolean matches(WorklogRecord rec, String fromDate, String toDate, String username) {
+        String date = rec.getDate();
+        if (date == null || date.compareTo(fromDate) < 0 || date.compareTo(toDate) > 0) return false;
+        return rec.isAuthoredBy(username);
+    }
+
+    /**
+     * Heap use of the overlay next to what the same worklogs would take as one object per row. Snapshot
+     * rows are not included: they live in the mapped file.
+     */
+    public WorklogStoreFootprint getFootprint() {
+        WorklogColumns.Footprint f = state.overlay().footprint();
+        WorklogStoreFootprint out = new WorklogStoreFootprint();
+        out.setRows(f.rows());
+        out.setDistinctTickets(f.distinctTickets());
+        out.setDistinctUsers(f.distinctUsers());
+        out.setDistinctComments(f.distinctComments());
+        out.setColumnarBytes(f.columnarBytes());
+        out.setRowObjectBytes(f.rowObjectBytes());
+        return out;
+    }
+
+    public WorklogMirrorStatus getStatus() {
+        WorklogMirrorStatus status = new WorklogMirrorStatus();
+        Instant synced = lastSyncedAt;
+        LocalDate covered = coveredFrom;
+        status.setEnabled(enabled);
+        status.setReady(isReady());
+        status.setLastSyncedAt(synced == null ? null : synced.toString());
+        status.setAgeSeconds(synced == null ? null : Duration.between(synced, Instant.now()).getSeconds());
+        status.setHighWaterMark(updatedMark);
+        status.setCoveredFrom(covered == null ? null : covered.toString());
+        status.setWorklogCount(state.size());
+        status.setLastError(lastError);
+        return status;
+    }
+}
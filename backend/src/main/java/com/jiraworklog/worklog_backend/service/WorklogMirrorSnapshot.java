@@ -0,0 +1,308 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.jiraworklog.worklog_backend.dto.JiraIssueSummary;
+import com.jiraworklog.worklog_backend.dto.WorklogRecord;
+
+/**
+ * Binary on-disk image of the worklog mirror, read through a read-only memory mapping. Opening a
+ * snapshot only checks its header; a record is decoded when a query reaches it.
+ *
+ * <pre>
+ * header (64 bytes)  magic, format, updatedMark, deletedMark, coveredFrom (epoch day), lastSyncedAt (ms),
+ *                    record count, issue count, offset of the string table, file length
+ * records            40 bytes each, ordered by day: worklogId, epoch day, timeSpentSeconds, and string
+ *                    refs for issueId, issueKey, author, authorDisplayName, started, comment
+ * id index           12 bytes each, ordered by worklogId: worklogId, record number
+ * issues             12 bytes each: string refs for id, key, summary
+ * string table       count, count + 1 offsets, then the UTF-8 bytes of each distinct string
+ * </pre>
+ * String ref -1 is {@code null}.
+ */
+final class WorklogMirrorSnapshot {
+
+    private static final int MAGIC = 0x574C4D53; // "WLMS"
+    private static final int FORMAT = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int RECORD_BYTES = 40;
+    private static final int ID_INDEX_BYTES = 12;
+    private static final int ISSUE_BYTES = 12;
+    static final int NO_DAY = Integer.MIN_VALUE;
+
+    static final WorklogMirrorSnapshot EMPTY = new WorklogMirrorSnapshot(null, ByteBuffer.allocate(0), 0, 0, 0, Long.MIN_VALUE, 0, 0, 0, 0);
+
+    private final Path file;
+    private final ByteBuffer buf;
+    private final long updatedMark;
+    private final long deletedMark;
+    private final long coveredFromDay;
+    private final long lastSyncedAtMillis;
+    private final int recordCount;
+    private final int issueCount;
+    private final int idIndexOffset;
+    private final int issuesOffset;
+    private final int stringCount;
+    private final int stringOffsetsOffset;
+    private final int stringDataOffset;
+
+    private WorklogMirrorSnapshot(Path file, ByteBuffer buf, long updatedMark, long deletedMark, long coveredFromDay,
+                                  long lastSyncedAtMillis, int recordCount, int issueCount, int stringsOffset, int stringCount) {
+        this.file = file;
+        this.buf = buf;
+        this.updatedMark = updatedMark;
+        this.deletedMark = deletedMark;
+        this.coveredFromDay = coveredFromDay;
+        this.lastSyncedAtMillis = lastSyncedAtMillis;
+        this.recordCount = recordCount;
+        this.issueCount = issueCount;
+        this.idIndexOffset = HEADER_BYTES + recordCount * RECORD_BYTES;
+        this.issuesOffset = idIndexOffset + recordCount * ID_INDEX_BYTES;
+        this.stringCount = stringCount;
+        this.stringOffsetsOffset = stringsOffset + 4;
+        this.stringDataOffset = stringOffsetsOffset + (stringCount + 1) * 4;
+    }
+
+    /**
+     * Where the mirror's sync stood when the snapshot was written.
+     */
+    record Marks(long updatedMark, long deletedMark, LocalDate coveredFrom, long lastSyncedAtMillis) {}
+
+    static WorklogMirrorSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) throw new IOException("Unexpected size " + size);
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buf.getInt(0) != MAGIC || buf.getInt(4) != FORMAT) throw new IOException("Not a worklog mirror snapshot");
+            if (buf.getLong(56) != size) throw new IOException("Truncated snapshot");
+            int recordCount = buf.getInt(40);
+            int issueCount = buf.getInt(44);
+            long stringsOffset = buf.getLong(48);
+            long expectedStrings = HEADER_BYTES + (long) recordCount * (RECORD_BYTES + ID_INDEX_BYTES) + (long) issueCount * ISSUE_BYTES;
+            if (recordCount < 0 || issueCount < 0 || stringsOffset != expectedStrings || stringsOffset + 8 > size) {
+                throw new IOException("Corrupt snapshot header");
+            }
+            int stringCount = buf.getInt((int) stringsOffset);
+            if (stringCount < 0 || stringsOffset + 4 + (stringCount + 1L) * 4 > size) throw new IOException("Corrupt string table");
+            return new WorklogMirrorSnapshot(file, buf, buf.getLong(8), buf.getLong(16), buf.getLong(24), buf.getLong(32),
+                    recordCount, issueCount, (int) stringsOffset, stringCount);
+        }
+    }
+
+    /**
+     * Writes a snapshot of {@code records} and {@code issues} to {@code file} through a temp file that is
+     * forced to disk and then renamed, so a crash never leaves a half-written snapshot under that name.
+     */
+    static void write(Path file, Marks marks, Collection<WorklogRecord> records, Collection<JiraIssueSummary> issues) throws IOException {
+        List<WorklogRecord> byDay = new ArrayList<>(records);
+        byDay.sort(Comparator.comparingInt((WorklogRecord r) -> epochDay(r.getDate())).thenComparingLong(WorklogRecord::getWorklogId));
+        int n = byDay.size();
+        long[][] ids = new long[n][];
+        for (int i = 0; i < n; i++) ids[i] = new long[] {byDay.get(i).getWorklogId(), i};
+        Arrays.sort(ids, Comparator.comparingLong(a -> a[0]));
+
+        StringTable strings = new StringTable();
+        int[] refs = new int[n * 6];
+        for (int i = 0; i < n; i++) {
+            WorklogRecord r = byDay.get(i);
+            refs[i * 6] = strings.ref(r.getIssueId());
+            refs[i * 6 + 1] = strings.ref(r.getIssueKey());
+            refs[i * 6 + 2] = strings.ref(r.getAuthor());
+            refs[i * 6 + 3] = strings.ref(r.getAuthorDisplayName());
+            refs[i * 6 + 4] = strings.ref(r.getStarted());
+            refs[i * 6 + 5] = strings.ref(r.getComment());
+        }
+        List<JiraIssueSummary> issueList = new ArrayList<>(issues);
+        int[] issueRefs = new int[issueList.size() * 3];
+        for (int i = 0; i < issueList.size(); i++) {
+            JiraIssueSummary issue = issueList.get(i);
+            issueRefs[i * 3] = strings.ref(issue.getId());
+            issueRefs[i * 3 + 1] = strings.ref(issue.getKey());
+            issueRefs[i * 3 + 2] = strings.ref(issue.getSummary());
+        }
+
+        long stringsOffset = HEADER_BYTES + (long) n * (RECORD_BYTES + ID_INDEX_BYTES) + (long) issueList.size() * ISSUE_BYTES;
+        long length = stringsOffset + 4 + (strings.size() + 1L) * 4 + strings.bytes;
+        if (length > Integer.MAX_VALUE) throw new IOException("Snapshot would exceed 2 GB");
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        if (file.toAbsolutePath().getParent() != null) Files.createDirectories(file.toAbsolutePath().getParent());
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeLong(marks.updatedMark());
+            out.writeLong(marks.deletedMark());
+            out.writeLong(marks.coveredFrom() == null ? Long.MIN_VALUE : marks.coveredFrom().toEpochDay());
+            out.writeLong(marks.lastSyncedAtMillis());
+            out.writeInt(n);
+            out.writeInt(issueList.size());
+            out.writeLong(stringsOffset);
+            out.writeLong(length);
+            for (int i = 0; i < n; i++) {
+                WorklogRecord r = byDay.get(i);
+                out.writeLong(r.getWorklogId());
+                out.writeInt(epochDay(r.getDate()));
+                out.writeInt(r.getTimeSpentSeconds());
+                for (int k = 0; k < 6; k++) out.writeInt(refs[i * 6 + k]);
+            }
+            for (long[] id : ids) {
+                out.writeLong(id[0]);
+                out.writeInt((int) id[1]);
+            }
+            for (int ref : issueRefs) out.writeInt(ref);
+            out.writeInt(strings.size());
+            int offset = 0;
+            out.writeInt(offset);
+            for (byte[] s : strings.values) {
+                offset += s.length;
+                out.writeInt(offset);
+            }
+            for (byte[] s : strings.values) out.write(s);
+            out.flush();
+            channel.force(false);
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    Path file() {
+        return file;
+    }
+
+    Marks marks() {
+        return new Marks(updatedMark, deletedMark,
+                coveredFromDay == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(coveredFromDay), lastSyncedAtMillis);
+    }
+
+    int size() {
+        return recordCount;
+    }
+
+    long worklogId(int i) {
+        return buf.getLong(HEADER_BYTES + i * RECORD_BYTES);
+    }
+
+    int epochDay(int i) {
+        return buf.getInt(HEADER_BYTES + i * RECORD_BYTES + 8);
+    }
+
+    /**
+     * Decodes record {@code i}.
+     */
+    WorklogRecord record(int i) {
+        int at = HEADER_BYTES + i * RECORD_BYTES;
+        WorklogRecord r = new WorklogRecord();
+        r.setWorklogId(buf.getLong(at));
+        r.setTimeSpentSeconds(buf.getInt(at + 12));
+        r.setIssueId(string(buf.getInt(at + 16)));
+        r.setIssueKey(string(buf.getInt(at + 20)));
+        r.setAuthor(string(buf.getInt(at + 24)));
+        r.setAuthorDisplayName(string(buf.getInt(at + 28)));
+        r.setStarted(string(buf.getInt(at + 32)));
+        r.setComment(string(buf.getInt(at + 36)));
+        return r;
+    }
+
+    /**
+     * The first record dated on or after {@code epochDay}, or {@link #size()}. Records without a date come first.
+     */
+    int firstOnOrAfter(long epochDay) {
+        int lo = 0;
+        int hi = recordCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochDay(mid) < epochDay) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * The record number of {@code worklogId}, or -1; a binary search over the id index.
+     */
+    int indexOf(long worklogId) {
+        int lo = 0;
+        int hi = recordCount - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long id = buf.getLong(idIndexOffset + mid * ID_INDEX_BYTES);
+            if (id < worklogId) lo = mid + 1;
+            else if (id > worklogId) hi = mid - 1;
+            else return buf.getInt(idIndexOffset + mid * ID_INDEX_BYTES + 8);
+        }
+        return -1;
+    }
+
+    List<JiraIssueSummary> issues() {
+        List<JiraIssueSummary> out = new ArrayList<>(issueCount);
+        for (int i = 0; i < issueCount; i++) {
+            int at = issuesOffset + i * ISSUE_BYTES;
+            JiraIssueSummary issue = new JiraIssueSummary();
+            issue.setId(string(buf.getInt(at)));
+            issue.setKey(string(buf.getInt(at + 4)));
+            issue.setSummary(string(buf.getInt(at + 8)));
+            out.add(issue);
+        }
+        return out;
+    }
+
+    private String string(int ref) {
+        if (ref < 0 || ref >= stringCount) return null;
+        int start = buf.getInt(stringOffsetsOffset + ref * 4);
+        int end = buf.getInt(stringOffsetsOffset + ref * 4 + 4);
+        byte[] bytes = new byte[end - start];
+        buf.get(stringDataOffset + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static int epochDay(String date) {
+        if (date == null) return NO_DAY;
+        try {
+            return (int) LocalDate.parse(date).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return NO_DAY;
+        }
+    }
+
+    // distinct strings in order of first use
+    private static final class StringTable {
+        private final Map<String, Integer> refs = new HashMap<>();
+        private final List<byte[]> values = new ArrayList<>();
+        private long bytes;
+
+        int ref(String s) {
+            if (s == null) return -1;
+            return refs.computeIfAbsent(s, k -> {
+                byte[] b = k.getBytes(StandardCharsets.UTF_8);
+                values.add(b);
+                bytes += b.length;
+                return values.size() - 1;
+            });
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+}
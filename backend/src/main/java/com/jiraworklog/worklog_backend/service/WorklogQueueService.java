@@ -0,0 +1,344 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientResponseException;
+
+import com.jiraworklog.worklog_backend.dto.JiraWorklogResponse;
+import com.jiraworklog.worklog_backend.dto.QueuedWorklog;
+import com.jiraworklog.worklog_backend.dto.WorklogJournalRecord;
+import com.jiraworklog.worklog_backend.dto.WorklogRequest;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Write-ahead queue for worklog creation. A worklog is accepted once it is in the on-disk journal;
+ * a background dispatcher then posts it to Jira, retrying transient failures with exponential backoff.
+ * The journal is replayed on startup, so accepted worklogs survive restarts and Jira outages.
+ *
+ * <p>An attempt is journaled before the Jira call is made. Until Jira gives a definite answer the
+ * entry is "in doubt": after a timeout, a 5xx, or a stop before the outcome is journaled, Jira may
+ * have stored the worklog anyway, so it is checked for a matching worklog before posting again.
+ */
+@Service
+public class WorklogQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorklogQueueService.class);
+
+    private final JiraService jiraService;
+    private final WorklogMirrorService worklogMirrorService;
+    private final JsonMapper jsonMapper;
+
+    @Value("${worklog.queue.journal-file:data/worklog-journal.ndjson}")
+    private String journalFile;
+
+    @Value("${worklog.queue.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${worklog.queue.retry-base-ms:2000}")
+    private long retryBaseMs;
+
+    @Value("${worklog.queue.retry-max-ms:300000}")
+    private long retryMaxMs;
+
+    @Value("${worklog.queue.poll-interval-ms:5000}")
+    private long pollIntervalMs;
+
+    @Value("${worklog.queue.sent-retention-days:7}")
+    private int sentRetentionDays;
+
+    @Value("${worklog.queue.compact-interval-ms:3600000}")
+    private long compactIntervalMs;
+
+    // insertion ordered by submission; all three guarded by this
+    private final Map<String, QueuedWorklog> entries = new LinkedHashMap<>();
+    private final Map<String, String> idsByIdempotencyKey = new HashMap<>();
+    private AppendOnlyJournal<WorklogJournalRecord> journal;
+
+    private ScheduledExecutorService dispatcher;
+
+    public WorklogQueueService(JiraService jiraService, WorklogMirrorService worklogMirrorService, JsonMapper jsonMapper) {
+        this.jiraService = jiraService;
+        this.worklogMirrorService = worklogMirrorService;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        replay();
+        dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "worklog-dispatcher");
+            t.setDaemon(true);
+            return t;
+        });
+        dispatcher.scheduleWithFixedDelay(this::drainQuietly, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+        dispatcher.scheduleWithFixedDelay(this::compactQuietly, compactIntervalMs, compactIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    void replay() throws IOException {
+        AppendOnlyJournal<WorklogJournalRecord> opened =
+                new AppendOnlyJournal<>(Paths.get(journalFile), jsonMapper, WorklogJournalRecord.class);
+        List<WorklogJournalRecord> records = opened.readAll();
+        synchronized (this) {
+            journal = opened;
+            for (WorklogJournalRecord record : records) apply(record);
+            compact();
+        }
+        logger.info("Worklog queue replayed {} journal records, {} pending", records.size(), list(QueuedWorklog.PENDING).size());
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (dispatcher != null) dispatcher.shutdownNow();
+        synchronized (this) {
+            if (journal != null) journal.close();
+        }
+    }
+
+    /**
+     * Journals the request and schedules it for delivery. A repeated {@code idempotencyKey} returns
+     * the entry created by the first submission instead of queueing the worklog again.
+     */
+    public QueuedWorklog submit(WorklogRequest request, String idempotencyKey) {
+        QueuedWorklog accepted;
+        synchronized (this) {
+            String key = idempotencyKey == null || idempotencyKey.isBlank() ? null : idempotencyKey.trim();
+            String existing = key == null ? null : idsByIdempotencyKey.get(key);
+            if (existing != null && entries.containsKey(existing)) return new QueuedWorklog(entries.get(existing));
+            String id = UUID.randomUUID().toString();
+            record(new WorklogJournalRecord(WorklogJournalRecord.SUBMITTED, id, System.currentTimeMillis(),
+                    key, request, null, null, null, null, null));
+            accepted = new QueuedWorklog(entries.get(id));
+        }
+        wakeDispatcher();
+        return accepted;
+    }
+
+    /**
+     * Puts a failed entry back in the queue with a fresh attempt budget.
+     *
+     * @return the entry, or {@code null} if there is none with this id
+     */
+    public QueuedWorklog retry(String id) {
+        QueuedWorklog out;
+        synchronized (this) {
+            QueuedWorklog e = entries.get(id);
+            if (e == null) return null;
+            if (QueuedWorklog.FAILED.equals(e.getStatus())) record(WorklogJournalRecord.of(WorklogJournalRecord.REQUEUED, id));
+            out = new QueuedWorklog(e);
+        }
+        wakeDispatcher();
+        return out;
+    }
+
+    public synchronized QueuedWorklog get(String id) {
+        QueuedWorklog e = entries.get(id);
+        return e == null ? null : new QueuedWorklog(e);
+    }
+
+    /**
+     * @param status {@code PENDING}, {@code SENT} or {@code FAILED}; {@code null} for all entries
+     */
+    public synchronized List<QueuedWorklog> list(String status) {
+        List<QueuedWorklog> out = new ArrayList<>();
+        for (QueuedWorklog e : entries.values()) {
+            if (status == null || status.equalsIgnoreCase(e.getStatus())) out.add(new QueuedWorklog(e));
+        }
+        return out;
+    }
+
+    private void wakeDispatcher() {
+        try {
+            if (dispatcher != null) dispatcher.execute(this::drainQuietly);
+        } catch (RejectedExecutionException e) {
+            // shutting down; the entry stays in the journal and is sent after the next start
+        }
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            logger.warn("Worklog queue dispatch failed: {}", e.getMessage());
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            synchronized (this) {
+                compact();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Worklog journal compaction failed: {}", e.getMessage());
+        }
+    }
+
+    // runs only on the dispatcher thread, so an entry is never sent by two threads at once
+    void drain() {
+        List<QueuedWorklog> due = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            for (QueuedWorklog e : entries.values()) {
+                if (QueuedWorklog.PENDING.equals(e.getStatus()) && e.getNextAttemptAt() <= now) due.add(new QueuedWorklog(e));
+            }
+        }
+        due.sort(Comparator.comparingLong(QueuedWorklog::getSubmittedAt));
+        for (QueuedWorklog e : due) {
+            if (Thread.currentThread().isInterrupted()) return;
+            dispatch(e);
+        }
+    }
+
+    private void dispatch(QueuedWorklog e) {
+        int attempt = e.getAttempts() + 1;
+        boolean posted = false;
+        try {
+            JiraWorklogResponse created = null;
+            if (e.isInDoubt()) {
+                created = jiraService.findMatchingWorklog(e.getRequest());
+                if (created != null) logger.info("Queued worklog {} was already created in Jira as {}", e.getId(), created.getId());
+            }
+            if (created == null) {
+                synchronized (this) {
+                    record(new WorklogJournalRecord(WorklogJournalRecord.ATTEMPT, e.getId(), System.currentTimeMillis(),
+                            null, null, attempt, null, null, null, null));
+                }
+                posted = true;
+                created = jiraService.createWorklog(e.getRequest());
+            }
+            synchronized (this) {
+                record(new WorklogJournalRecord(WorklogJournalRecord.SENT, e.getId(), System.currentTimeMillis(),
+                        null, null, null, null, null, created, false));
+            }
+            worklogMirrorService.recordCreated(e.getRequest(), created);
+        } catch (RestClientResponseException ex) {
+            int status = ex.getStatusCode().value();
+            // other 4xx answers (bad issue key, no permission, invalid time) will not change on retry
+            boolean rejected = ex.getStatusCode().is4xxClientError();
+            boolean permanent = rejected && status != 408 && status != 429;
+            // a 4xx answer to the POST means it was not stored; a 5xx may come after Jira committed it
+            boolean inDoubt = posted ? !rejected : e.isInDoubt();
+            failed(e, attempt, "Jira returned " + status + ": " + ex.getStatusText(), permanent, inDoubt);
+        } catch (UncheckedIOException ex) {
+            // the journal could not be written; leave the entry as it is and let the next poll retry
+            logger.error("Worklog journal write failed for {}: {}", e.getId(), ex.getMessage());
+        } catch (RuntimeException ex) {
+            // a timeout or dropped connection says nothing about whether Jira stored the worklog
+            failed(e, attempt, ex.getMessage(), false, posted || e.isInDoubt());
+        }
+    }
+
+    private void failed(QueuedWorklog e, int attempt, String error, boolean permanent, boolean inDoubt) {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            if (permanent || attempt >= maxAttempts) {
+                logger.warn("Queued worklog {} for {} failed after {} attempt(s): {}", e.getId(), e.getRequest().getTicketKey(), attempt, error);
+                record(new WorklogJournalRecord(WorklogJournalRecord.FAILED, e.getId(), now, null, null, attempt, error, null, null, inDoubt));
+            } else {
+                long backoff = Math.min(retryMaxMs, retryBaseMs << Math.min(attempt - 1, 20));
+                record(new WorklogJournalRecord(WorklogJournalRecord.RETRY, e.getId(), now, null, null, attempt, error,
+                        now + backoff, null, inDoubt));
+            }
+        }
+    }
+
+    // callers hold the lock; the record is on disk before the in-memory state changes
+    private void record(WorklogJournalRecord record) {
+        try {
+            journal.append(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write worklog journal", e);
+        }
+        apply(record);
+    }
+
+    private void apply(WorklogJournalRecord r) {
+        if (WorklogJournalRecord.SUBMITTED.equals(r.type())) {
+            QueuedWorklog e = new QueuedWorklog();
+            e.setId(r.id());
+            e.setIdempotencyKey(r.idempotencyKey());
+            e.setRequest(r.request());
+            e.setStatus(QueuedWorklog.PENDING);
+            e.setSubmittedAt(r.at());
+            e.setUpdatedAt(r.at());
+            entries.put(r.id(), e);
+            if (r.idempotencyKey() != null) idsByIdempotencyKey.put(r.idempotencyKey(), r.id());
+            return;
+        }
+        QueuedWorklog e = entries.get(r.id());
+        if (e == null) return; // compacted away
+        e.setUpdatedAt(r.at());
+        if (r.attempts() != null) e.setAttempts(r.attempts());
+        switch (r.type()) {
+            case WorklogJournalRecord.ATTEMPT -> e.setInDoubt(true);
+            case WorklogJournalRecord.SENT -> {
+                e.setStatus(QueuedWorklog.SENT);
+                e.setWorklog(r.worklog());
+                e.setInDoubt(false);
+                e.setLastError(null);
+            }
+            case WorklogJournalRecord.RETRY -> {
+                if (r.inDoubt() != null) e.setInDoubt(r.inDoubt());
+                e.setLastError(r.error());
+                e.setNextAttemptAt(r.nextAttemptAt() == null ? 0 : r.nextAttemptAt());
+            }
+            case WorklogJournalRecord.FAILED -> {
+                e.setStatus(QueuedWorklog.FAILED);
+                if (r.inDoubt() != null) e.setInDoubt(r.inDoubt());
+                e.setLastError(r.error());
+            }
+            case WorklogJournalRecord.REQUEUED -> {
+                e.setStatus(QueuedWorklog.PENDING);
+                e.setAttempts(0);
+                e.setNextAttemptAt(0);
+            }
+            default -> logger.warn("Unknown worklog journal record type {}", r.type());
+        }
+    }
+
+    // Rewrites the journal as one SUBMITTED record plus one state record per entry, dropping old sent entries.
+    // Runs at startup and then every worklog.queue.compact-interval-ms; callers hold the lock.
+    void compact() throws IOException {
+        long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(sentRetentionDays);
+        entries.values().removeIf(e -> QueuedWorklog.SENT.equals(e.getStatus()) && e.getUpdatedAt() < cutoff);
+        idsByIdempotencyKey.values().retainAll(entries.keySet());
+
+        List<WorklogJournalRecord> out = new ArrayList<>(entries.size() * 2);
+        for (QueuedWorklog e : entries.values()) {
+            String id = e.getId();
+            long at = e.getUpdatedAt();
+            out.add(new WorklogJournalRecord(WorklogJournalRecord.SUBMITTED, id, e.getSubmittedAt(),
+                    e.getIdempotencyKey(), e.getRequest(), null, null, null, null, null));
+            if (QueuedWorklog.SENT.equals(e.getStatus())) {
+                out.add(new WorklogJournalRecord(WorklogJournalRecord.SENT, id, at, null, null, e.getAttempts(), null, null,
+                        e.getWorklog(), false));
+            } else if (QueuedWorklog.FAILED.equals(e.getStatus())) {
+                out.add(new WorklogJournalRecord(WorklogJournalRecord.FAILED, id, at, null, null, e.getAttempts(),
+                        e.getLastError(), null, null, e.isInDoubt()));
+            } else if (e.getAttempts() > 0 || e.isInDoubt()) {
+                out.add(new WorklogJournalRecord(WorklogJournalRecord.RETRY, id, at, null, null, e.getAttempts(),
+                        e.getLastError(), e.getNextAttemptAt(), null, e.isInDoubt()));
+            }
+        }
+        journal.rewrite(out);
+    }
+}
@@ -0,0 +1,224 @@
+package com.jiraworklog.worklog_backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.jiraworklog.worklog_backend.dto.JiraIssueSummary;
+import com.jiraworklog.worklog_backend.dto.WorklogEntry;
+import com.jiraworklog.worklog_backend.dto.WorklogRecord;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Inverted index over the comments, ticket keys and issue summaries of the worklogs of
+ * {@code worklog.username} in the worklog mirror, kept up to date as worklogs are synced, created and
+ * deleted. Each indexed version of a worklog is a document with a dense id; a posting list holds the
+ * ids of the documents containing a term as varint-encoded gaps. An updated worklog becomes a new
+ * document and its old one is marked dead.
+ */
+@Service
+public class WorklogSearchIndex {
+
+    public static final int MAX_LIMIT = 500;
+
+    // words, numbers and dotted versions such as 4.2.1
+    private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{N}]+(?:\\.[\\p{L}\\p{N}]+)*");
+
+    private final WorklogMirrorService worklogMirrorService;
+
+    @Value("${worklog.username:arek}")
+    private String worklogUsername;
+
+    private final List<WorklogRecord> documents = new ArrayList<>();
+    private int[] epochDays = new int[64];
+    private final BitSet dead = new BitSet();
+    private final Map<Long, Integer> documentByWorklog = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /**
+     * Matches newest first ({@code items}, at most the limit asked for) and their total number.
+     */
+    public record Result(List<WorklogEntry> items, int total) {}
+
+    public WorklogSearchIndex(WorklogMirrorService worklogMirrorService) {
+        this.worklogMirrorService = worklogMirrorService;
+    }
+
+    @PostConstruct
+    void init() {
+        worklogMirrorService.addListener(this::add);
+        worklogMirrorService.addRemovalListener(this::remove);
+        worklogMirrorService.forEachWorklog(this::add);
+    }
+
+    synchronized void add(WorklogRecord rec) {
+        if (!rec.isAuthoredBy(worklogUsername)) return;
+        Integer previous = documentByWorklog.get(rec.getWorklogId());
+        if (previous != null) {
+            WorklogRecord indexed = documents.get(previous);
+            if (sameContent(indexed, rec)) return;
+            dead.set(previous);
+        }
+        int doc = documents.size();
+        documents.add(rec);
+        if (doc == epochDays.length) epochDays = Arrays.copyOf(epochDays, doc * 2);
+        epochDays[doc] = WorklogMirrorSnapshot.epochDay(rec.getDate());
+        documentByWorklog.put(rec.getWorklogId(), doc);
+
+        JiraIssueSummary issue = worklogMirrorService.getIssue(rec.getIssueId());
+        Set<String> terms = new LinkedHashSet<>();
+        terms(rec.getComment(), terms);
+        terms(rec.getIssueKey(), terms);
+        if (issue != null) terms(issue.getSummary(), terms);
+        for (String term : terms) postings.computeIfAbsent(term, t -> new Postings()).add(doc);
+    }
+
+    synchronized void remove(long worklogId) {
+        Integer doc = documentByWorklog.remove(worklogId);
+        if (doc != null) dead.set(doc);
+    }
+
+    /**
+     * Worklogs containing every term of {@code query} in their comment, ticket key or issue summary, dated
+     * between {@code fromDate} and {@code toDate} (inclusive, either may be {@code null}), newest first.
+     */
+    public Result search(String query, String fromDate, String toDate, int limit) {
+        Set<String> terms = new LinkedHashSet<>();
+        terms(query, terms);
+        if (terms.isEmpty()) return new Result(List.of(), 0);
+        int from = fromDate == null ? Integer.MIN_VALUE : WorklogMirrorSnapshot.epochDay(fromDate);
+        int to = toDate == null ? Integer.MAX_VALUE : WorklogMirrorSnapshot.epochDay(toDate);
+
+        List<WorklogRecord> matching = new ArrayList<>();
+        synchronized (this) {
+            // rarest term first keeps the intermediate result small
+            List<Postings> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Postings p = postings.get(term);
+                if (p == null) return new Result(List.of(), 0);
+                lists.add(p);
+            }
+            lists.sort((a, b) -> Integer.compare(a.count, b.count));
+            int[] docs = lists.get(0).decode();
+            for (int i = 1; i < lists.size() && docs.length > 0; i++) docs = lists.get(i).intersect(docs);
+            for (int doc : docs) {
+                if (dead.get(doc) || epochDays[doc] < from || epochDays[doc] > to) continue;
+                matching.add(documents.get(doc));
+            }
+        }
+
+        matching.sort((a, b) -> {
+            int byStarted = compareNullsFirst(b.getStarted(), a.getStarted());
+            return byStarted != 0 ? byStarted : Long.compare(b.getWorklogId(), a.getWorklogId());
+        });
+        List<WorklogEntry> out = new ArrayList<>(Math.min(limit, matching.size()));
+        for (WorklogRecord rec : matching.subList(0, Math.min(limit, matching.size()))) {
+            WorklogEntry we = new WorklogEntry();
+            we.setDate(rec.getDate());
+            we.setTicketNumber(rec.getIssueKey());
+            we.setWorkTime(JiraService.formatSeconds(rec.getTimeSpentSeconds()));
+            we.setTimeSpentSeconds(rec.getTimeSpentSeconds());
+            we.setComment(rec.getComment());
+            out.add(we);
+        }
+        return new Result(out, matching.size());
+    }
+
+    public synchronized int size() {
+        return documentByWorklog.size();
+    }
+
+    private static void terms(String text, Set<String> out) {
+        if (text == null) return;
+        Matcher m = TERM.matcher(text.toLowerCase(Locale.ROOT));
+        while (m.find()) out.add(m.group());
+    }
+
+    private static boolean sameContent(WorklogRecord a, WorklogRecord b) {
+        return Objects.equals(a.getComment(), b.getComment()) && Objects.equals(a.getIssueKey(), b.getIssueKey())
+                && Objects.equals(a.getStarted(), b.getStarted()) && a.getTimeSpentSeconds() == b.getTimeSpentSeconds();
+    }
+
+    private static int compareNullsFirst(String a, String b) {
+        if (a == null) return b == null ? 0 : -1;
+        return b == null ? 1 : a.compareTo(b);
+    }
+
+    /**
+     * Increasing document ids stored as varint-encoded gaps; documents are only ever appended.
+     */
+    private static final class Postings {
+        private byte[] bytes = new byte[4];
+        private int length;
+        private int count;
+        private int last = -1;
+
+        void add(int doc) {
+            if (doc <= last) return;
+            int gap = doc - last;
+            last = doc;
+            count++;
+            if (length + 5 > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+            while ((gap & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            bytes[length++] = (byte) gap;
+        }
+
+        int[] decode() {
+            int[] out = new int[count];
+            int doc = -1;
+            int pos = 0;
+            for (int i = 0; i < count; i++) {
+                int gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[pos++];
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                doc += gap;
+                out[i] = doc;
+            }
+            return out;
+        }
+
+        // the documents of {@code docs} (increasing) that are also in this list, decoded as it goes
+        int[] intersect(int[] docs) {
+            int[] out = new int[Math.min(docs.length, count)];
+            int n = 0;
+            int doc = -1;
+            int pos = 0;
+            int j = 0;
+            for (int i = 0; i < count && j < docs.length; i++) {
+                int gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[pos++];
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                doc += gap;
+                while (j < docs.length && docs[j] < doc) j++;
+                if (j < docs.length && docs[j] == doc) out[n++] = docs[j++];
+            }
+            return Arrays.copyOf(out, n);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.jiraworklog.worklog_backend.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.jiraworklog.worklog_backend.service.JiraService;
+import com.jiraworklog.worklog_backend.support.FakeJiraServer;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+class WorklogControllerStreamTests {
+
+    private final String today = LocalDate.now().toString();
+    private final JsonMapper jsonMapper = new JsonMapper();
+
+    private FakeJiraServer jira;
+    private WorklogController controller;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jira = new FakeJiraServer();
+        JiraService jiraService = new JiraService(new RestTemplate());
+        ReflectionTestUtils.setField(jiraService, "jiraUrl", jira.url());
+        ReflectionTestUtils.setField(jiraService, "worklogFetchConcurrency", 2);
+        ReflectionTestUtils.setField(jiraService, "searchPageSize", 2);
+        // only the Jira client and the mapper are used by the stream endpoint
+        controller = new WorklogController(jiraService, null, null, null, null, null, null, null, null, null, null,
+                null, null, jsonMapper);
+        ReflectionTestUtils.setField(controller, "worklogUsername", "a");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jira.close();
+    }
+
+    @Test
+    void writesOneLinePerWorklogThenTheFailures() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            FakeJiraServer.Issue issue = jira.addIssue("DUM-" + i, "Issue " + i);
+            jira.addWorklog(issue, "a", today + "T09:00:00.000+0000", 900, "first " + i);
+            jira.addWorklog(issue, "a", today + "T10:00:00.000+0000", 1800, "second " + i);
+        }
+        jira.failPath("/rest/api/2/issue/DUM-2/worklog", 500);
+
+        ResponseEntity<StreamingResponseBody> response = controller.streamWorklogsBetween(today, today);
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        List<JsonNode> lines = out.toString(StandardCharsets.UTF_8).lines().map(jsonMapper::readTree).toList();
+        assertEquals(5, lines.size());
+        assertEquals(List.of("first 1", "second 1", "first 3", "second 3"),
+                lines.subList(0, 4).stream().map(l -> l.get("comment").asString()).toList());
+        assertEquals("DUM-2", lines.get(4).get("failure").get("issueKey").asString());
+    }
+}
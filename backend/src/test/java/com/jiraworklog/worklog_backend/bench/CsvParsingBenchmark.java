@@ -0,0 +1,144 @@
+package com.jiraworklog.worklog_backend.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.jiraworklog.worklog_backend.csv.CsvCodecs;
+import com.jiraworklog.worklog_backend.csv.CsvReader;
+import com.jiraworklog.worklog_backend.dto.PrefixMapping;
+
+/**
+ * Parsing a {@code prefixes.csv}-shaped file: the shared {@link CsvReader} versus the parsers it
+ * replaced (the per-line {@code StringBuilder} tokenizer of {@code PrefixesService}/{@code FavoritesService}
+ * and the {@code String.split} of {@code CsvService}). Compare time and {@code gc.alloc.rate.norm}.
+ *
+ * <p>Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.jiraworklog.worklog_backend.bench.CsvParsingBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvParsingBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private String csv;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder("# id,type,prefix,label,enabled\n");
+        for (int i = 0; i < rows; i++) {
+            sb.append("3f2b8c1e-0000-4000-8000-").append(String.format("%012d", i)).append(',')
+                    .append("keyword").append(i % 50).append(',')
+                    .append("[P").append(i % 50).append("],");
+            // every tenth label needs quoting, as labels with commas do in real files
+            if (i % 10 == 0) sb.append("\"Label ").append(i).append(", with \"\"quotes\"\"\"");
+            else sb.append("Label ").append(i);
+            sb.append(',').append(i % 3 != 0).append('\n');
+        }
+        csv = sb.toString();
+    }
+
+    @Benchmark
+    public List<PrefixMapping> csvReader() throws IOException {
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            return reader.readAll(CsvCodecs.PREFIX_MAPPING);
+        }
+    }
+
+    @Benchmark
+    public List<PrefixMapping> legacyTokenizer() throws IOException {
+        List<PrefixMapping> prefixes = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new StringReader(csv))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] parts = legacyParseCsvLine(line);
+                if (parts.length >= 5) {
+                    PrefixMapping pm = new PrefixMapping();
+                    pm.setId(parts[0]);
+                    pm.setType(parts[1]);
+                    pm.setPrefix(parts[2]);
+                    pm.setLabel(parts[3]);
+                    pm.setEnabled(Boolean.parseBoolean(parts[4]));
+                    prefixes.add(pm);
+                }
+            }
+        }
+        return prefixes;
+    }
+
+    // note: splits quoted commas, so its rows are wrong for every tenth line; kept for the cost comparison
+    @Benchmark
+    public List<String[]> legacySplit() throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new StringReader(csv))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] parts = line.split(",");
+                for (int i = 0; i < parts.length; i++) parts[i] = parts[i].trim();
+                rows.add(parts);
+            }
+        }
+        return rows;
+    }
+
+    // the tokenizer formerly copied in PrefixesService and FavoritesService
+    private static String[] legacyParseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuotes = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+            } else if (c == ',' && !inQuotes) {
+                fields.add(current.toString().trim());
+                current = new StringBuilder();
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString().trim());
+        return fields.toArray(new String[0]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CsvParsingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,104 @@
+package com.jiraworklog.worklog_backend.bench;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.jiraworklog.worklog_backend.dto.jira.JiraWorklog;
+import com.jiraworklog.worklog_backend.dto.jira.JiraWorklogPage;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Decoding of a {@code /rest/api/2/issue/{key}/worklog} response: the former generic {@code Map}
+ * tree versus the typed records that skip unused fields. Compare {@code gc.alloc.rate.norm}
+ * (bytes allocated per response) in the output.
+ *
+ * <p>Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.jiraworklog.worklog_backend.bench.JiraPayloadDecodingBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JiraPayloadDecodingBenchmark {
+
+    @Param({"50", "500"})
+    public int worklogs;
+
+    private final JsonMapper mapper = new JsonMapper();
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        // shaped like a real Jira Server response, including the fields we never read
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"startAt\":0,\"maxResults\":").append(worklogs).append(",\"total\":").append(worklogs).append(",\"worklogs\":[");
+        for (int i = 0; i < worklogs; i++) {
+            if (i > 0) sb.append(',');
+            String user = "{\"self\":\"https://jira.example.com/rest/api/2/user?username=a\",\"name\":\"a\",\"key\":\"JIRAUSER1\","
+                    + "\"emailAddress\":\"a@example.com\",\"avatarUrls\":{\"48x48\":\"https://jira.example.com/a48.png\","
+                    + "\"24x24\":\"https://jira.example.com/a24.png\",\"16x16\":\"https://jira.example.com/a16.png\","
+                    + "\"32x32\":\"https://jira.example.com/a32.png\"},\"displayName\":\"A User\",\"active\":true,"
+                    + "\"timeZone\":\"Europe/Warsaw\"}";
+            sb.append("{\"self\":\"https://jira.example.com/rest/api/2/issue/10000/worklog/").append(20000 + i).append("\",")
+                    .append("\"author\":").append(user).append(",\"updateAuthor\":").append(user).append(',')
+                    .append("\"comment\":\"[DEV] implementation of part ").append(i).append("\",")
+                    .append("\"created\":\"2026-01-08T09:00:00.000+0100\",\"updated\":\"2026-01-08T09:00:00.000+0100\",")
+                    .append("\"started\":\"2026-01-08T09:00:00.000+0100\",\"timeSpent\":\"1h 30m\",")
+                    .append("\"timeSpentSeconds\":5400,\"id\":\"").append(20000 + i).append("\",\"issueId\":\"10000\"}");
+        }
+        sb.append("]}");
+        payload = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public long mapTree() {
+        Map body = mapper.readValue(payload, Map.class);
+        long secs = 0;
+        for (Object w : (List) body.get("worklogs")) {
+            Map wm = (Map) w;
+            Object name = ((Map) wm.get("author")).get("name");
+            Object tss = wm.get("timeSpentSeconds");
+            if (name != null && tss instanceof Number) secs += ((Number) tss).intValue() + wm.get("started").toString().length();
+        }
+        return secs;
+    }
+
+    @Benchmark
+    public long typedRecords() {
+        JiraWorklogPage page = mapper.readValue(payload, JiraWorklogPage.class);
+        long secs = 0;
+        for (JiraWorklog w : page.worklogs()) {
+            if (w.author() != null && w.author().name() != null) secs += w.timeSpentSecondsOrZero() + w.started().length();
+        }
+        return secs;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JiraPayloadDecodingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,149 @@
+package com.jiraworklog.worklog_backend.bench;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.jiraworklog.worklog_backend.dto.PrefixMapping;
+import com.jiraworklog.worklog_backend.service.KeywordAutomaton;
+import com.jiraworklog.worklog_backend.service.RuleSet;
+
+/**
+ * Prefix suggestion for one comment against thousands of prefix mappings: the {@link KeywordAutomaton}
+ * that {@code SuggestionService} now uses versus the per-mapping {@code contains} loop with
+ * {@code List.contains} dedupe it replaced. {@code buildAutomaton} is the cost paid once per prefix change.
+ * The same number of {@code rules_mappings.csv} rules is matched by the compiled {@link RuleSet} and by the
+ * {@code startsWith}/{@code contains} loop it replaced.
+ *
+ * <p>Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.jiraworklog.worklog_backend.bench.SuggestionBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuggestionBenchmark {
+
+    @Param({"1000", "10000"})
+    public int mappings;
+
+    private List<PrefixMapping> prefixes;
+    private List<String> keywords;
+    private List<String> prefixByKeyword;
+    private KeywordAutomaton automaton;
+    private String comment;
+    private List<Map<String, String>> rules;
+    private RuleSet ruleSet;
+    private String ticketKey;
+
+    @Setup
+    public void setUp() {
+        prefixes = new ArrayList<>(mappings);
+        keywords = new ArrayList<>(mappings);
+        prefixByKeyword = new ArrayList<>(mappings);
+        for (int i = 0; i < mappings; i++) {
+            PrefixMapping pm = new PrefixMapping();
+            pm.setId("p" + i);
+            pm.setType("Keyword" + i);
+            // a few hundred distinct prefixes shared by many mappings
+            pm.setPrefix("[P" + (i % 300) + "]");
+            pm.setEnabled(i % 5 != 0);
+            prefixes.add(pm);
+            keywords.add(pm.isEnabled() ? pm.getType().toLowerCase(Locale.ROOT) : null);
+            prefixByKeyword.add(pm.isEnabled() ? pm.getPrefix() : null);
+        }
+        automaton = KeywordAutomaton.build(keywords);
+        rules = new ArrayList<>(mappings);
+        for (int i = 0; i < mappings; i++) {
+            rules.add(Map.of("type", "PRJ" + i, "prefix", "[R" + (i % 300) + "]", "defaultComment", "topic " + i));
+        }
+        ruleSet = RuleSet.compile(rules);
+        ticketKey = "PRJ" + (mappings / 2) + "-123";
+        comment = "Daily sync on keyword17 and keyword42, then code review of KEYWORD" + (mappings - 1)
+                + " follow-ups with the team before the release";
+    }
+
+    @Benchmark
+    public List<String> automaton() {
+        String bc = comment.toLowerCase(Locale.ROOT);
+        BitSet matched = automaton.match(bc);
+        Set<String> suggestions = new LinkedHashSet<>();
+        for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) suggestions.add(prefixByKeyword.get(i));
+        return new ArrayList<>(suggestions);
+    }
+
+    @Benchmark
+    public List<String> legacyContainsLoop() {
+        List<String> suggestions = new ArrayList<>();
+        String bc = comment.toLowerCase(Locale.ROOT);
+        for (PrefixMapping pm : prefixes) {
+            if (!pm.isEnabled()) continue;
+            String type = pm.getType();
+            String prefix = pm.getPrefix();
+            if (type != null && !type.isBlank() && bc.contains(type.toLowerCase(Locale.ROOT))) {
+                if (prefix != null && !suggestions.contains(prefix)) suggestions.add(prefix);
+            }
+        }
+        List<String> unique = new ArrayList<>();
+        for (String s : suggestions) if (s != null && !s.isBlank() && !unique.contains(s)) unique.add(s);
+        return unique;
+    }
+
+    @Benchmark
+    public List<RuleSet.Match> compiledRules() {
+        return ruleSet.match(ticketKey, comment);
+    }
+
+    @Benchmark
+    public List<String> legacyRulesLoop() {
+        List<String> suggestions = new ArrayList<>();
+        String bc = comment.toLowerCase(Locale.ROOT);
+        for (Map<String, String> map : rules) {
+            String type = map.get("type");
+            String prefix = map.get("prefix");
+            String defaultComment = map.get("defaultComment");
+            if (type != null && ticketKey.toUpperCase(Locale.ROOT).startsWith(type.toUpperCase(Locale.ROOT))) {
+                if (prefix != null && !suggestions.contains(prefix)) suggestions.add(prefix);
+            }
+            if (defaultComment != null && !defaultComment.isEmpty() && bc.contains(defaultComment.toLowerCase(Locale.ROOT))) {
+                if (prefix != null && !suggestions.contains(prefix)) suggestions.add(prefix);
+            }
+        }
+        return suggestions;
+    }
+
+    @Benchmark
+    public KeywordAutomaton buildAutomaton() {
+        return KeywordAutomaton.build(keywords);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SuggestionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,164 @@
+package com.jiraworklog.worklog_backend.bench;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.jiraworklog.worklog_backend.support.FakeJiraServer;
+
+/**
+ * End-to-end load run of the worklog API against {@link FakeJiraServer}: concurrent clients call
+ * {@code GET /api/worklogs/list} and {@code POST /api/worklogs}, and p50, p99 and throughput are logged.
+ * Tagged {@code load}, so it only runs with {@code mvn test -Pload-test}. The p99 is checked only when
+ * {@code -Dloadtest.max-p99-ms} is set, because the numbers depend on the machine.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class WorklogApiLoadBenchmarkTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorklogApiLoadBenchmarkTests.class);
+
+    private static final int ISSUES = 50;
+    private static final int WORKLOGS_PER_ISSUE = 20;
+    private static final int CLIENTS = 16;
+    private static final int WARMUP_REQUESTS = 20;
+    private static final int REQUESTS = 200;
+    private static final Long MAX_P99_MS = Long.getLong("loadtest.max-p99-ms");
+
+    private static final FakeJiraServer jira = startJira();
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final String auth = "Basic " + Base64.getEncoder().encodeToString("admin:admin".getBytes(StandardCharsets.UTF_8));
+    private final String today = LocalDate.now().toString();
+
+    @Value("${local.server.port}")
+    private int port;
+
+    private record Stats(int requests, double p50Ms, double p99Ms, double throughput) {}
+
+    private static FakeJiraServer startJira() {
+        try {
+            FakeJiraServer server = new FakeJiraServer();
+            server.populate(ISSUES, WORKLOGS_PER_ISSUE, "a", 30);
+            server.setLatency(Duration.ofMillis(2), Duration.ofMillis(3));
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void jiraProperties(DynamicPropertyRegistry registry) throws IOException {
+        String journal = Files.createTempDirectory("worklog-queue").resolve("journal.ndjson").toString();
+        registry.add("jira.url", jira::url);
+        registry.add("worklog.username", () -> "a");
+        // measure the Jira path, not the local mirror
+        registry.add("worklog.mirror.enabled", () -> "false");
+        registry.add("worklog.queue.journal-file", () -> journal);
+        registry.add("jira.rate-limit.requests-per-second", () -> "100000");
+        registry.add("jira.rate-limit.burst", () -> "100000");
+        registry.add("jira.rate-limit.initial-concurrency", () -> "64");
+        registry.add("jira.rate-limit.max-concurrency", () -> "256");
+    }
+
+    @AfterAll
+    static void stopJira() {
+        jira.close();
+    }
+
+    @Test
+    void listWorklogs() throws Exception {
+        String from = LocalDate.now().minusDays(30).toString();
+        Stats stats = run("GET /api/worklogs/list", i -> get("/api/worklogs/list?from=" + from + "&to=" + today));
+        assertP99(stats);
+    }
+
+    @Test
+    void createWorklogs() throws Exception {
+        Stats stats = run("POST /api/worklogs", i -> post("/api/worklogs",
+                "{\"ticketKey\":\"LOAD-" + (1 + i % ISSUES) + "\",\"date\":\"" + today
+                        + "\",\"timeSpentSeconds\":900,\"comment\":\"[DEV] load " + i + "\"}"));
+        assertP99(stats);
+    }
+
+    private Stats run(String name, IntFunction<HttpRequest> requests) throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            assertEquals(200, http.send(requests.apply(i), HttpResponse.BodyHandlers.discarding()).statusCode());
+        }
+        long[] latencies = new long[REQUESTS];
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+            List<Future<Integer>> statuses = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                int n = i;
+                statuses.add(clients.submit(() -> {
+                    long t0 = System.nanoTime();
+                    HttpResponse<byte[]> resp = http.send(requests.apply(WARMUP_REQUESTS + n), HttpResponse.BodyHandlers.ofByteArray());
+                    latencies[n] = System.nanoTime() - t0;
+                    return resp.statusCode();
+                }));
+            }
+            for (Future<Integer> status : statuses) assertEquals(200, status.get());
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        Stats stats = new Stats(REQUESTS, percentileMs(latencies, 0.50), percentileMs(latencies, 0.99), REQUESTS / seconds);
+        logger.info("{}: {} requests, {} clients, p50={} ms, p99={} ms, throughput={} req/s", name, stats.requests(), CLIENTS,
+                String.format("%.1f", stats.p50Ms()), String.format("%.1f", stats.p99Ms()), String.format("%.0f", stats.throughput()));
+        return stats;
+    }
+
+    private static void assertP99(Stats stats) {
+        if (MAX_P99_MS == null) return;
+        assertTrue(stats.p99Ms() <= MAX_P99_MS, "p99 " + stats.p99Ms() + " ms exceeds " + MAX_P99_MS + " ms");
+    }
+
+    private static double percentileMs(long[] sorted, double p) {
+        int idx = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, idx))] / 1e6;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", auth)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", auth)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.jiraworklog.worklog_backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+class GzipDecompressingInterceptorTests {
+
+    private static final String JSON = "{\"issues\":[{\"key\":\"DUM-1\",\"fields\":{\"summary\":\"Żaneta's daily\"}}]}";
+
+    private final GzipDecompressingInterceptor interceptor = new GzipDecompressingInterceptor();
+    private final MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://jira/rest/api/2/search"));
+
+    private static byte[] gzip(String text) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void inflatesGzipBodiesAndDropsTheEncodingHeaders() throws Exception {
+        byte[] compressed = gzip(JSON);
+        MockClientHttpResponse raw = new MockClientHttpResponse(compressed, HttpStatus.OK);
+        raw.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        raw.getHeaders().setContentLength(compressed.length);
+        raw.getHeaders().set(HttpHeaders.CONTENT_TYPE, "application/json");
+
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], (req, body) -> raw);
+
+        assertEquals("gzip", request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+        assertEquals(JSON, new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+        assertFalse(response.getHeaders().containsHeader(HttpHeaders.CONTENT_ENCODING));
+        assertFalse(response.getHeaders().containsHeader(HttpHeaders.CONTENT_LENGTH));
+        assertEquals("application/json", response.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE));
+    }
+
+    @Test
+    void passesIdentityBodiesThrough() throws Exception {
+        MockClientHttpResponse raw = new MockClientHttpResponse(JSON.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, "identity");
+
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], (req, body) -> raw);
+
+        assertSame(raw, response);
+        assertEquals("identity", request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+        assertEquals(JSON, new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void emptyGzipBodyReadsAsEmpty() throws Exception {
+        MockClientHttpResponse raw = new MockClientHttpResponse(new byte[0], HttpStatus.NO_CONTENT);
+        raw.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "GZIP");
+
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], (req, body) -> raw);
+
+        assertEquals(204, response.getStatusCode().value());
+        assertEquals(0, response.getBody().readAllBytes().length);
+    }
+}
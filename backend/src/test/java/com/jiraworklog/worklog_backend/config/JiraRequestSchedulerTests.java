@@ -0,0 +1,56 @@
+package com.jiraworklog.worklog_backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+class JiraRequestSchedulerTests {
+
+    private final MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://jira/rest/api/2/search"));
+
+    @Test
+    void retriesAfterRetryAfterAndHalvesConcurrency() throws Exception {
+        JiraRequestScheduler scheduler = new JiraRequestScheduler(100, 10, 8, 1, 32, 5000, 3, 5000);
+        Deque<ClientHttpResponse> responses = new ArrayDeque<>();
+        MockClientHttpResponse throttled = new MockClientHttpResponse(new byte[0], HttpStatus.TOO_MANY_REQUESTS);
+        throttled.getHeaders().set("Retry-After", "0");
+        responses.add(throttled);
+        responses.add(new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+        ClientHttpRequestExecution execution = (req, body) -> responses.removeFirst();
+
+        long start = System.nanoTime();
+        ClientHttpResponse response = scheduler.intercept(request, new byte[0], execution);
+
+        assertEquals(200, response.getStatusCode().value());
+        // a 429 pauses for at least a second even when Retry-After says 0
+        assertTrue(System.nanoTime() - start >= 900_000_000L);
+        assertEquals(1, scheduler.snapshot().getRetries());
+        assertEquals(1, scheduler.snapshot().getLimitDecreases());
+        assertTrue(scheduler.snapshot().getConcurrencyLimit() < 5);
+        assertEquals(0, scheduler.snapshot().getInFlight());
+    }
+
+    @Test
+    void rejectsRequestsThatCannotStartBeforeTheDeadline() throws Exception {
+        // one token, refilled every 10 s, and only 100 ms of queueing allowed
+        JiraRequestScheduler scheduler = new JiraRequestScheduler(0.1, 1, 8, 1, 32, 100, 0, 5000);
+        ClientHttpRequestExecution execution = (req, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+
+        scheduler.intercept(request, new byte[0], execution);
+
+        assertThrows(JiraThrottledException.class, () -> scheduler.intercept(request, new byte[0], execution));
+        assertEquals(1, scheduler.snapshot().getRejected());
+    }
+}
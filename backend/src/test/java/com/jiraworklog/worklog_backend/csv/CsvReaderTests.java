@@ -0,0 +1,66 @@
+package com.jiraworklog.worklog_backend.csv;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.jiraworklog.worklog_backend.dto.FavoriteWorklog;
+
+class CsvReaderTests {
+
+    @Test
+    void readsQuotedFieldsCommentsAndBlankLines() throws Exception {
+        String csv = "# id,ticketKey,comment,defaultTimeMinutes\r\n"
+                + "\n"
+                + " 1 , DUM-1 , daily ,15\r\n"
+                + "2,DUM-2,\"review, \"\"fast\"\"\nsecond line\",30\n"
+                + "3,DUM-3,,abc";
+        List<String[]> rows = new CsvReader(new StringReader(csv)).readAll(CsvReader::toArray);
+
+        assertEquals(3, rows.size());
+        assertArrayEquals(new String[] {"1", "DUM-1", "daily", "15"}, rows.get(0));
+        assertArrayEquals(new String[] {"2", "DUM-2", "review, \"fast\"\nsecond line", "30"}, rows.get(1));
+        assertArrayEquals(new String[] {"3", "DUM-3", "", "abc"}, rows.get(2));
+    }
+
+    @Test
+    void handlesFieldsSpanningTheBuffer() throws Exception {
+        String longValue = "x".repeat(20_000);
+        String csv = "a," + longValue + ",\"" + longValue + "\"\nb,c\n";
+        CsvReader reader = new CsvReader(new StringReader(csv));
+
+        reader.next();
+        assertEquals(longValue, reader.get(1));
+        assertEquals(longValue, reader.get(2));
+        reader.next();
+        assertEquals("c", reader.get(1));
+        assertFalse(reader.next());
+    }
+
+    @Test
+    void writerOutputReadsBackUnchanged() throws Exception {
+        List<FavoriteWorklog> favorites = List.of(
+                new FavoriteWorklog("1", "DUM-1", "plain", 15),
+                new FavoriteWorklog("2", "DUM-2", " padded, \"quoted\"\nmultiline ", 30),
+                new FavoriteWorklog("#3", "DUM-3", "", 45));
+        StringWriter sw = new StringWriter();
+        CsvWriter writer = new CsvWriter(sw);
+        writer.comment(CsvCodecs.FAVORITE_WORKLOG_HEADER);
+        for (FavoriteWorklog f : favorites) CsvCodecs.writeFavoriteWorklog(writer, f);
+
+        List<FavoriteWorklog> read = new CsvReader(new StringReader(sw.toString())).readAll(CsvCodecs.FAVORITE_WORKLOG);
+
+        List<String> expected = new ArrayList<>();
+        for (FavoriteWorklog f : favorites) expected.add(f.getId() + "|" + f.getTicketKey() + "|" + f.getComment() + "|" + f.getDefaultTimeMinutes());
+        List<String> actual = new ArrayList<>();
+        for (FavoriteWorklog f : read) actual.add(f.getId() + "|" + f.getTicketKey() + "|" + f.getComment() + "|" + f.getDefaultTimeMinutes());
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,92 @@
+package com.jiraworklog.worklog_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class DataFileWatcherTests {
+
+    @TempDir
+    Path dir;
+
+    private DataFileWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        watcher = new DataFileWatcher();
+        ReflectionTestUtils.setField(watcher, "enabled", true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        watcher.close();
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) return false;
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    // like an editor saving the file: write a temp file, then rename it over the original
+    private static void editExternally(Path file, String content) throws Exception {
+        Path tmp = Files.createTempFile(file.getParent(), "edit", ".tmp");
+        Files.writeString(tmp, content, StandardCharsets.UTF_8);
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Test
+    void notifiesOnlyTheListenersOfTheChangedFile() throws Exception {
+        AtomicInteger prefixes = new AtomicInteger();
+        AtomicInteger rules = new AtomicInteger();
+        watcher.watch(dir.resolve("prefixes.csv"), prefixes::incrementAndGet);
+        watcher.watch(dir.resolve("rules_mappings.csv"), rules::incrementAndGet);
+
+        editExternally(dir.resolve("prefixes.csv"), "p1,daily,[SCM],Daily,true\n");
+        assertTrue(await(() -> prefixes.get() > 0));
+
+        int seen = prefixes.get();
+        Files.delete(dir.resolve("prefixes.csv"));
+        assertTrue(await(() -> prefixes.get() > seen));
+        assertEquals(0, rules.get());
+    }
+
+    @Test
+    void settingsStoreReloadsExternalEditsButNotItsOwnWrites() throws Exception {
+        CsvSettingsStore store = new CsvSettingsStore(dir, watcher);
+        AtomicInteger reloads = new AtomicInteger();
+        AtomicReference<Optional<String>> seen = new AtomicReference<>();
+        store.put("prefixes_enabled", "true");
+        store.watch("prefixes_enabled", () -> {
+            // a real store re-reads the file, which also records its new stamp
+            seen.set(store.get("prefixes_enabled"));
+            reloads.incrementAndGet();
+        });
+
+        store.put("prefixes_enabled", "false");
+        Thread.sleep(500);
+        assertEquals(0, reloads.get());
+
+        editExternally(dir.resolve("prefixes_enabled.cfg"), "maybe\n");
+        assertTrue(await(() -> reloads.get() > 0));
+        assertEquals(Optional.of("maybe"), seen.get());
+    }
+}
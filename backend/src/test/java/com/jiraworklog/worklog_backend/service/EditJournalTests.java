@@ -0,0 +1,96 @@
+package com.jiraworklog.worklog_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.jiraworklog.worklog_backend.dto.FavoriteWorklog;
+import com.jiraworklog.worklog_backend.dto.StoreEdit;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class EditJournalTests {
+
+    @TempDir
+    Path dir;
+
+    private final JsonMapper jsonMapper = new JsonMapper();
+
+    @Test
+    void replaysEditsOnTopOfSnapshotAndSurvivesReopen() throws Exception {
+        Path file = dir.resolve("favorites.journal");
+        EditJournal<FavoriteWorklog> journal = new EditJournal<>(file, jsonMapper, FavoriteWorklog.class, FavoriteWorklog::getId);
+        journal.append(StoreEdit.put("1", new FavoriteWorklog("1", "DUM-1", "daily", 15)));
+        journal.append(StoreEdit.put("2", new FavoriteWorklog("2", "DUM-2", "review", 30)));
+        journal.append(StoreEdit.put("1", new FavoriteWorklog("1", "DUM-1", "daily, planning", 45)));
+        journal.append(StoreEdit.delete("3"));
+        journal.close();
+
+        EditJournal<FavoriteWorklog> reopened = new EditJournal<>(file, jsonMapper, FavoriteWorklog.class, FavoriteWorklog::getId);
+        List<FavoriteWorklog> base = List.of(new FavoriteWorklog("3", "DUM-3", "old", 10));
+        List<FavoriteWorklog> items = reopened.replay(base);
+
+        assertEquals(2, items.size());
+        assertEquals("daily, planning", items.get(0).getComment());
+        assertEquals(45, items.get(0).getDefaultTimeMinutes());
+        assertEquals("DUM-2", items.get(1).getTicketKey());
+        reopened.close();
+    }
+
+    @Test
+    void dropBeforeKeepsEditsAppendedAfterTheSnapshot() throws Exception {
+        Path file = dir.resolve("prefixes.journal");
+        EditJournal<FavoriteWorklog> journal = new EditJournal<>(file, jsonMapper, FavoriteWorklog.class, FavoriteWorklog::getId);
+        journal.append(StoreEdit.put("1", new FavoriteWorklog("1", "DUM-1", "a", 15)));
+        long snapshotAt = journal.position();
+        journal.append(StoreEdit.put("2", new FavoriteWorklog("2", "DUM-2", "b", 15)));
+
+        journal.dropBefore(snapshotAt);
+        journal.append(StoreEdit.delete("2"));
+        journal.append(StoreEdit.put("4", new FavoriteWorklog("4", "DUM-4", "d", 15)));
+
+        List<FavoriteWorklog> items = journal.replay(List.of(new FavoriteWorklog("1", "DUM-1", "a", 15)));
+        assertEquals(List.of("1", "4"), items.stream().map(FavoriteWorklog::getId).toList());
+        assertEquals(3, Files.readAllLines(file).size());
+        journal.close();
+    }
+
+    @Test
+    void openingCutsOffATornLastLineSoTheNextAppendSurvives() throws Exception {
+        Path file = dir.resolve("favorites.journal");
+        EditJournal<FavoriteWorklog> journal = new EditJournal<>(file, jsonMapper, FavoriteWorklog.class, FavoriteWorklog::getId);
+        journal.append(StoreEdit.put("1", new FavoriteWorklog("1", "DUM-1", "daily", 15)));
+        journal.close();
+        long intact = Files.size(file);
+        // a crash in the middle of an append; the comment is longer than one read buffer
+        Files.writeString(file, "{\"op\":\"PUT\",\"id\":\"2\",\"value\":{\"comment\":\"" + "x".repeat(10_000),
+                StandardOpenOption.APPEND);
+
+        EditJournal<FavoriteWorklog> reopened = new EditJournal<>(file, jsonMapper, FavoriteWorklog.class, FavoriteWorklog::getId);
+        assertEquals(intact, Files.size(file));
+        reopened.append(StoreEdit.put("3", new FavoriteWorklog("3", "DUM-3", "review", 30)));
+        reopened.close();
+
+        EditJournal<FavoriteWorklog> replayed = new EditJournal<>(file, jsonMapper, FavoriteWorklog.class, FavoriteWorklog::getId);
+        assertEquals(List.of("1", "3"), replayed.replay(List.of()).stream().map(FavoriteWorklog::getId).toList());
+        replayed.close();
+    }
+
+    @Test
+    void openingEmptiesAJournalHoldingOnlyATornLine() throws Exception {
+        Path file = dir.resolve("prefixes.journal");
+        Files.writeString(file, "{\"op\":\"DEL");
+
+        EditJournal<FavoriteWorklog> journal = new EditJournal<>(file, jsonMapper, FavoriteWorklog.class, FavoriteWorklog::getId);
+        assertEquals(0, Files.size(file));
+        journal.append(StoreEdit.delete("1"));
+        assertEquals(1, Files.readAllLines(file).size());
+        journal.close();
+    }
+}
@@ -0,0 +1,46 @@
+package com.jiraworklog.worklog_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class FavoriteTicketsServiceTests {
+
+    private final AtomicInteger reads = new AtomicInteger();
+    private volatile List<Map<String, String>> tickets = List.of(Map.of("id", "1", "key", "DUM-1", "label", "Daily"));
+
+    private final CsvService csv = new CsvService() {
+        @Override
+        public List<Map<String, String>> loadFavoriteTickets() {
+            reads.incrementAndGet();
+            if (tickets == null) throw new IllegalStateException("unreadable");
+            return tickets;
+        }
+    };
+
+    @Test
+    void servesSnapshotFromMemoryAndBumpsVersionOnReload() {
+        FavoriteTicketsService service = new FavoriteTicketsService(csv, new DataFileWatcher());
+        service.init();
+        FavoriteTicketsService.Snapshot first = service.getSnapshot();
+        assertSame(first, service.getSnapshot());
+        assertEquals(1, reads.get());
+        assertEquals("DUM-1", first.tickets().get(0).get("key"));
+
+        tickets = List.of(Map.of("id", "2", "key", "DUM-2", "label", "Review"));
+        service.reload();
+        FavoriteTicketsService.Snapshot second = service.getSnapshot();
+        assertEquals(first.version() + 1, second.version());
+        assertEquals("DUM-2", second.tickets().get(0).get("key"));
+
+        // a failed reload keeps the previous snapshot and version
+        tickets = null;
+        service.reload();
+        assertSame(second, service.getSnapshot());
+    }
+}
@@ -0,0 +1,67 @@
+package com.jiraworklog.worklog_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.jiraworklog.worklog_backend.dto.FavoriteWorklog;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class FavoritesServiceTests {
+
+    @TempDir
+    Path dir;
+
+    private CsvStorageBackend storage;
+    private FavoritesService favorites;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        storage = new CsvStorageBackend(dir, true, new DataFileWatcher(), new JsonMapper());
+        favorites = new FavoritesService(storage);
+        favorites.init();
+        for (int i = 0; i < 120; i++) {
+            favorites.addFavorite(new FavoriteWorklog("f" + i, "DUM-" + (i % 7), "comment " + i, 15 * (1 + i % 4)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+    }
+
+    @Test
+    void pagesSortedFavorites() {
+        FavoritesService.Page first = favorites.findFavorites(null, "defaultTimeMinutes", true, 0, 50);
+        assertEquals(120, first.total());
+        assertEquals(50, first.items().size());
+        assertEquals(60, first.items().get(0).getDefaultTimeMinutes());
+        // ties keep stored order
+        assertEquals(List.of("f3", "f7"), first.items().subList(0, 2).stream().map(FavoriteWorklog::getId).toList());
+
+        FavoritesService.Page last = favorites.findFavorites(null, null, false, 2, 50);
+        assertEquals(20, last.items().size());
+        assertEquals("f100", last.items().get(0).getId());
+    }
+
+    @Test
+    void looksUpByTicketKeyAndFollowsEdits() {
+        assertEquals(18, favorites.findFavorites("dum-0", null, false, 0, 100).total());
+
+        favorites.updateFavorite("f0", new FavoriteWorklog(null, "DUM-99", "moved", 30));
+        favorites.deleteFavorite("f7");
+
+        assertEquals(16, favorites.findFavorites("DUM-0", null, false, 0, 100).total());
+        assertEquals("f0", favorites.findFavorites("DUM-99", null, false, 0, 100).items().get(0).getId());
+        assertEquals(119, favorites.getAllFavorites().size());
+        assertThrows(RuntimeException.class, () -> favorites.deleteFavorite("f7"));
+    }
+}
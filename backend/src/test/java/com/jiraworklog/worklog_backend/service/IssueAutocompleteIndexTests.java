@@ -0,0 +1,85 @@
+package com.jiraworklog.worklog_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.client.RestTemplate;
+
+import com.jiraworklog.worklog_backend.dto.FavoriteWorklog;
+import com.jiraworklog.worklog_backend.dto.JiraIssueSummary;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class IssueAutocompleteIndexTests {
+
+    @TempDir
+    Path dir;
+
+    private CsvStorageBackend storage;
+    private FavoritesService favorites;
+    private IssueAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        storage = new CsvStorageBackend(dir, true, new DataFileWatcher(), new JsonMapper());
+        favorites = new FavoritesService(storage);
+        favorites.init();
+        index = new IssueAutocompleteIndex(favorites, new CsvService(), new WorklogMirrorService(new JiraService(new RestTemplate())));
+        index.init();
+        index.record("DUM-1", "Daily standup meetings", 1_000);
+        index.record("DUM-12", "Release planning", 3_000);
+        index.record("DUM-120", "Fix login page", 2_000);
+        index.record("OPS-7", "Plan the data centre move", 4_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+    }
+
+    @Test
+    void completesKeyPrefixesMostRecentFirst() {
+        assertEquals(List.of("DUM-12", "DUM-120", "DUM-1"), keys(index.complete("dum-1", 10)));
+        assertEquals(List.of("DUM-12", "DUM-120"), keys(index.complete("DUM-1", 2)));
+        assertEquals(List.of(), index.complete("XYZ", 10));
+    }
+
+    @Test
+    void keepsOnlyTheBestMatchesOfShortPrefixes() {
+        for (int i = 0; i < 500; i++) index.record("BIG-" + i, "Bulk issue " + i, 10_000 + i);
+        assertEquals(List.of("BIG-499", "BIG-498", "BIG-497"), keys(index.complete("B", 3)));
+        assertEquals(List.of("BIG-499", "BIG-498"), keys(index.complete("bulk", 2)));
+        assertEquals(List.of(), index.complete("bulk nothing", 5));
+    }
+
+    @Test
+    void completesSummaryWordsAndNgrams() {
+        assertEquals(List.of("OPS-7", "DUM-12"), keys(index.complete("plan", 10)));
+        assertEquals(List.of("DUM-1"), keys(index.complete("stand meet", 10)));
+        assertEquals(List.of("OPS-7"), keys(index.complete("pl centre", 10)));
+        // "og" only occurs inside a word
+        assertEquals(List.of(), index.complete("og", 10));
+    }
+
+    @Test
+    void followsNewIssuesSummariesAndFavorites() {
+        index.record("DUM-1", "Daily sync", 5_000);
+        assertEquals(List.of("DUM-1"), keys(index.complete("sync", 10)));
+        assertEquals(List.of(), index.complete("standup", 10));
+
+        favorites.addFavorite(new FavoriteWorklog("f1", "NEW-5", "review", 30));
+        List<JiraIssueSummary> found = index.complete("new", 10);
+        assertEquals(List.of("NEW-5"), keys(found));
+        assertEquals(null, found.get(0).getSummary());
+    }
+
+    private static List<String> keys(List<JiraIssueSummary> issues) {
+        return issues.stream().map(JiraIssueSummary::getKey).toList();
+    }
+}
@@ -0,0 +1,136 @@
+package com.jiraworklog.worklog_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.jiraworklog.worklog_backend.dto.JiraIssueSummary;
+
+class IssueSummaryCacheTests {
+
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private volatile boolean jiraDown;
+    private volatile boolean emptyBody;
+
+    // issues starting with NOPE do not exist
+    private final JiraService jira = new JiraService(new RestTemplate()) {
+        @Override
+        public JiraIssueSummary getIssueSummary(String key) {
+            calls.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (jiraDown) throw HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null);
+            if (emptyBody) return null;
+            if (key.startsWith("NOPE")) throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+            return new JiraIssueSummary("1", key, "Summary of " + key);
+        }
+    };
+
+    private IssueSummaryCache cache(int maxSize) {
+        IssueSummaryCache cache = new IssueSummaryCache(jira);
+        ReflectionTestUtils.setField(cache, "maxSize", maxSize);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 600L);
+        ReflectionTestUtils.setField(cache, "negativeTtlSeconds", 30L);
+        return cache;
+    }
+
+    private int calls(String key) {
+        AtomicInteger n = calls.get(key);
+        return n == null ? 0 : n.get();
+    }
+
+    @Test
+    void concurrentLookupsShareOneJiraCall() throws Exception {
+        IssueSummaryCache cache = cache(10);
+        release = new CountDownLatch(1);
+        List<Future<JiraIssueSummary>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) results.add(executor.submit(() -> cache.get("dum-1")));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (cache.getStats().getCoalesced() < 7 && System.nanoTime() < deadline) Thread.sleep(5);
+            release.countDown();
+            JiraIssueSummary first = results.get(0).get();
+            for (Future<JiraIssueSummary> r : results) assertSame(first, r.get());
+        }
+        assertEquals(1, calls("dum-1"));
+        assertEquals(1, cache.getStats().getMisses());
+        assertEquals(7, cache.getStats().getCoalesced());
+    }
+
+    @Test
+    void remembersMissingIssuesForTheNegativeTtl() {
+        IssueSummaryCache cache = cache(10);
+        assertNull(cache.get("NOPE-1"));
+        assertNull(cache.get("nope-1"));
+        assertEquals(1, calls("NOPE-1"));
+        assertEquals(1, cache.getStats().getNegativeHits());
+
+        ReflectionTestUtils.setField(cache, "negativeTtlSeconds", 0L);
+        assertNull(cache.get("NOPE-2"));
+        assertNull(cache.get("NOPE-2"));
+        assertEquals(2, calls("NOPE-2"));
+        assertEquals(1, cache.getStats().getExpirations());
+    }
+
+    @Test
+    void doesNotCacheOtherFailures() {
+        IssueSummaryCache cache = cache(10);
+        jiraDown = true;
+        assertThrows(HttpServerErrorException.class, () -> cache.get("DUM-1"));
+        jiraDown = false;
+        assertEquals("Summary of DUM-1", cache.get("DUM-1").getSummary());
+        assertEquals(2, calls("DUM-1"));
+    }
+
+    @Test
+    void doesNotCacheEmptyResponsesAsMissing() {
+        IssueSummaryCache cache = cache(10);
+        emptyBody = true;
+        assertThrows(IllegalStateException.class, () -> cache.get("DUM-1"));
+        assertEquals(0, cache.getStats().getSize());
+        emptyBody = false;
+        assertEquals("Summary of DUM-1", cache.get("DUM-1").getSummary());
+        assertEquals(2, calls("DUM-1"));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedIssue() {
+        IssueSummaryCache cache = cache(2);
+        cache.get("DUM-1");
+        cache.get("DUM-2");
+        cache.get("DUM-1"); // DUM-2 is now the least recently used
+        cache.get("DUM-3");
+        assertEquals(1, cache.getStats().getEvictions());
+        assertEquals(2, cache.getStats().getSize());
+
+        cache.get("DUM-1");
+        cache.get("DUM-3");
+        assertEquals(1, calls("DUM-1"));
+        assertEquals(1, calls("DUM-3"));
+        cache.get("DUM-2");
+        assertEquals(2, calls("DUM-2"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.jiraworklog.worklog_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.jiraworklog.worklog_backend.dto.JiraIssueSummary;
+import com.jiraworklog.worklog_backend.dto.JiraSearchResult;
+
+class JiraSearchPageIteratorTests {
+
+    private final List<Integer> requested = Collections.synchronizedList(new ArrayList<>());
+
+    // serves issues DUM-1..DUM-count; total -1 leaves it out, as some Jira versions do
+    private JiraSearchPageIterator.PageFetcher fetcher(int count, boolean reportTotal) {
+        return (startAt, maxResults) -> {
+            requested.add(startAt);
+            List<JiraIssueSummary> issues = new ArrayList<>();
+            for (int i = startAt; i < Math.min(count, startAt + maxResults); i++) {
+                issues.add(new JiraIssueSummary(Integer.toString(i + 1), "DUM-" + (i + 1), "Issue " + (i + 1)));
+            }
+            JiraSearchResult page = new JiraSearchResult(issues);
+            page.setStartAt(startAt);
+            page.setMaxResults(maxResults);
+            if (reportTotal) page.setTotal(count);
+            return page;
+        };
+    }
+
+    private static List<String> keys(JiraSearchPageIterator it) {
+        List<String> out = new ArrayList<>();
+        it.forEachRemaining(issue -> out.add(issue.getKey()));
+        return out;
+    }
+
+    @Test
+    void withoutTotalStopsAtTheFirstShortPage() {
+        List<String> keys = keys(new JiraSearchPageIterator(fetcher(5, false), 2));
+        assertEquals(List.of("DUM-1", "DUM-2", "DUM-3", "DUM-4", "DUM-5"), keys);
+        assertEquals(List.of(0, 2, 4), requested);
+    }
+
+    @Test
+    void withoutTotalAFullLastPageCostsOneEmptyRequest() {
+        List<String> keys = keys(new JiraSearchPageIterator(fetcher(4, false), 2));
+        assertEquals(List.of("DUM-1", "DUM-2", "DUM-3", "DUM-4"), keys);
+        assertEquals(List.of(0, 2, 4), requested);
+    }
+
+    @Test
+    void withTotalStopsAtTheLastPage() {
+        List<String> keys = keys(new JiraSearchPageIterator(fetcher(4, true), 2));
+        assertEquals(List.of("DUM-1", "DUM-2", "DUM-3", "DUM-4"), keys);
+        assertEquals(List.of(0, 2), requested);
+    }
+
+    @Test
+    void emptyResultAndFailedPage() {
+        assertFalse(new JiraSearchPageIterator(fetcher(0, false), 2).hasNext());
+
+        JiraSearchPageIterator failing = new JiraSearchPageIterator((startAt, maxResults) -> {
+            if (startAt > 0) throw new IllegalStateException("page " + startAt);
+            return fetcher(4, false).fetch(startAt, maxResults);
+        }, 2);
+        failing.next();
+        failing.next();
+        IllegalStateException e = assertThrows(IllegalStateException.class, failing::hasNext);
+        assertEquals("page 2", e.getMessage());
+    }
+}
@@ -0,0 +1,143 @@
+package com.jiraworklog.worklog_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.jiraworklog.worklog_backend.dto.WorklogBatchResult;
+import com.jiraworklog.worklog_backend.dto.WorklogEntry;
+import com.jiraworklog.worklog_backend.dto.WorklogFetchFailure;
+import com.jiraworklog.worklog_backend.dto.WorklogFetchResult;
+import com.jiraworklog.worklog_backend.dto.WorklogRequest;
+import com.jiraworklog.worklog_backend.support.FakeJiraServer;
+
+class JiraServiceTests {
+
+    private final String today = LocalDate.now().toString();
+
+    private FakeJiraServer jira;
+    private JiraService jiraService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jira = new FakeJiraServer();
+        jiraService = new JiraService(new RestTemplate());
+        ReflectionTestUtils.setField(jiraService, "jiraUrl", jira.url());
+        ReflectionTestUtils.setField(jiraService, "worklogFetchConcurrency", 3);
+        ReflectionTestUtils.setField(jiraService, "searchPageSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jira.close();
+    }
+
+    private void addIssues(int count) {
+        for (int i = 1; i <= count; i++) {
+            FakeJiraServer.Issue issue = jira.addIssue("DUM-" + i, "Issue " + i);
+            jira.addWorklog(issue, "a", today + "T09:00:00.000+0000", 600 * i, "work " + i);
+        }
+    }
+
+    @Test
+    void keepsSearchOrderAndReportsFailedIssues() {
+        addIssues(7);
+        // random latency makes the per-issue calls complete out of order
+        jira.setLatency(Duration.ZERO, Duration.ofMillis(30));
+        jira.failPath("/rest/api/2/issue/DUM-2/worklog", 500);
+        jira.failPath("/rest/api/2/issue/DUM-5/worklog", 404);
+
+        WorklogFetchResult result = jiraService.fetchWorklogsBetween(today, today, "a");
+
+        assertEquals(List.of("DUM-1", "DUM-3", "DUM-4", "DUM-6", "DUM-7"),
+                result.getEntries().stream().map(WorklogEntry::getTicketNumber).toList());
+        assertEquals(List.of("DUM-2", "DUM-5"),
+                result.getFailures().stream().map(WorklogFetchFailure::getIssueKey).toList());
+    }
+
+    @Test
+    void sequentialFetchGivesTheSameResult() {
+        addIssues(4);
+        ReflectionTestUtils.setField(jiraService, "worklogFetchConcurrency", 1);
+        jira.failPath("/rest/api/2/issue/DUM-3/worklog", 500);
+
+        WorklogFetchResult result = jiraService.fetchWorklogsBetween(today, today, "a");
+
+        assertEquals(List.of("DUM-1", "DUM-2", "DUM-4"),
+                result.getEntries().stream().map(WorklogEntry::getTicketNumber).toList());
+        assertEquals(List.of("DUM-3"), result.getFailures().stream().map(WorklogFetchFailure::getIssueKey).toList());
+    }
+
+    @Test
+    void streamsOneBatchPerIssueAndReportsFailedSearch() {
+        addIssues(3);
+        List<String> batches = new ArrayList<>();
+        List<WorklogFetchFailure> failures = jiraService.streamWorklogsBetween(today, today, "a",
+                batch -> batches.add(batch.get(0).getTicketNumber()));
+        assertEquals(List.of("DUM-1", "DUM-2", "DUM-3"), batches);
+        assertEquals(List.of(), failures);
+
+        jira.failPath("/rest/api/2/search", 503);
+        batches.clear();
+        failures = jiraService.streamWorklogsBetween(today, today, "a", batch -> batches.add(batch.get(0).getTicketNumber()));
+        assertEquals(List.of(), batches);
+        assertEquals(1, failures.size());
+        assertNull(failures.get(0).getIssueKey());
+    }
+
+    @Test
+    void laterSearchPageFailureKeepsEarlierIssues() {
+        addIssues(5);
+        // pages hold two issues; the second page fails
+        jira.failSearchFrom(2, 500);
+        List<String> batches = new ArrayList<>();
+        List<WorklogFetchFailure> failures = jiraService.streamWorklogsBetween(today, today, "a",
+                batch -> batches.add(batch.get(0).getTicketNumber()));
+
+        assertEquals(List.of("DUM-1", "DUM-2"), batches);
+        assertEquals(1, failures.size());
+        assertNull(failures.get(0).getIssueKey());
+    }
+
+    @Test
+    void batchResultsFollowInputOrderWithPartialFailures() {
+        addIssues(4);
+        ReflectionTestUtils.setField(jiraService, "worklogSubmitConcurrency", 2);
+        jira.setLatency(Duration.ZERO, Duration.ofMillis(30));
+        jira.failPath("/rest/api/2/issue/DUM-3/worklog", 500);
+        List<WorklogRequest> requests = new ArrayList<>();
+        for (String key : List.of("DUM-1", "NOPE-1", "DUM-2", "DUM-3", "DUM-4")) {
+            WorklogRequest r = new WorklogRequest();
+            r.setTicketKey(key);
+            r.setTimeSpentSeconds(900);
+            r.setComment("batch");
+            r.setDate(today);
+            requests.add(r);
+        }
+
+        List<WorklogBatchResult> results = jiraService.createWorklogs(requests);
+
+        assertEquals(List.of(0, 1, 2, 3, 4), results.stream().map(WorklogBatchResult::getIndex).toList());
+        assertEquals(List.of("DUM-1", "NOPE-1", "DUM-2", "DUM-3", "DUM-4"),
+                results.stream().map(WorklogBatchResult::getTicketKey).toList());
+        assertEquals(List.of(WorklogBatchResult.CREATED, WorklogBatchResult.FAILED, WorklogBatchResult.CREATED,
+                        WorklogBatchResult.FAILED, WorklogBatchResult.CREATED),
+                results.stream().map(WorklogBatchResult::getStatus).toList());
+        assertEquals(404, results.get(1).getJiraStatus());
+        assertEquals(500, results.get(3).getJiraStatus());
+        assertNotNull(results.get(0).getWorklog().getId());
+        // four seeded worklogs plus the three created by the batch
+        assertEquals(7, jira.worklogCount());
+    }
+}
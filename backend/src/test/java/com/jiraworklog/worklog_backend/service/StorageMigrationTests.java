@@ -0,0 +1,105 @@
+package com.jiraworklog.worklog_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.jiraworklog.worklog_backend.dto.FavoriteWorklog;
+import com.jiraworklog.worklog_backend.dto.PrefixMapping;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class StorageMigrationTests {
+
+    @TempDir
+    Path dir;
+
+    private final JsonMapper jsonMapper = new JsonMapper();
+    private final DataFileWatcher watcher = new DataFileWatcher();
+
+    @Test
+    void copiesCsvFilesAndJournaledEditsIntoTheDatabase() throws Exception {
+        Files.writeString(dir.resolve("prefixes.csv"), "# id,type,prefix,label,enabled\np1,daily,[SCM],Daily,true\n");
+        Files.writeString(dir.resolve("favorites.csv"), "f1,DUM-1,\"review, fast\",15\n");
+        Files.writeString(dir.resolve("constant_prefixes.csv"), "DEV\nANA\n");
+        Files.writeString(dir.resolve("prefixes_enabled.cfg"), "false");
+
+        try (CsvStorageBackend csv = new CsvStorageBackend(dir, true, watcher, jsonMapper);
+             JdbcStorageBackend jdbc = new JdbcStorageBackend(dir)) {
+            // journaled, not yet in favorites.csv
+            csv.favorites().put(new FavoriteWorklog("f2", "DUM-2", "daily", 30));
+
+            assertTrue(StorageMigration.migrateIfEmpty(csv, jdbc));
+
+            assertEquals(List.of("f1", "f2"), jdbc.favorites().findAll().stream().map(FavoriteWorklog::getId).toList());
+            assertEquals("review, fast", jdbc.favorites().findById("f1").orElseThrow().getComment());
+            PrefixMapping prefix = jdbc.prefixes().findById("p1").orElseThrow();
+            assertEquals("[SCM]", prefix.getPrefix());
+            assertTrue(prefix.isEnabled());
+            assertEquals(List.of("DEV", "ANA"), jdbc.constantPrefixes().findAll());
+            assertEquals(Map.of("prefixes_enabled", "false", StorageMigration.STATE_SETTING, "done csv"),
+                    jdbc.settings().findAll());
+
+            assertFalse(StorageMigration.migrateIfEmpty(csv, jdbc));
+        }
+    }
+
+    @Test
+    void redoesAnInterruptedMigrationAndSkipsDuplicateIds() throws Exception {
+        Files.writeString(dir.resolve("prefixes.csv"), "p1,daily,[SCM],Daily,true\n");
+        Files.writeString(dir.resolve("constant_prefixes.csv"), "DEV\nANA\nDEV\n");
+
+        try (CsvStorageBackend csv = new CsvStorageBackend(dir, true, watcher, jsonMapper);
+             JdbcStorageBackend jdbc = new JdbcStorageBackend(dir)) {
+            // a run that stopped after the first store
+            jdbc.settings().put(StorageMigration.STATE_SETTING, "started csv");
+            jdbc.prefixes().replaceAll(csv.prefixes().findAll());
+
+            assertTrue(StorageMigration.migrateIfEmpty(csv, jdbc));
+            assertEquals(List.of("DEV", "ANA"), jdbc.constantPrefixes().findAll());
+            assertEquals(List.of("p1"), jdbc.prefixes().findAll().stream().map(PrefixMapping::getId).toList());
+            assertFalse(StorageMigration.migrateIfEmpty(csv, jdbc));
+        }
+    }
+
+    @Test
+    void leavesATargetWithItsOwnDataAlone() throws Exception {
+        Files.writeString(dir.resolve("constant_prefixes.csv"), "DEV\n");
+
+        try (CsvStorageBackend csv = new CsvStorageBackend(dir, true, watcher, jsonMapper);
+             JdbcStorageBackend jdbc = new JdbcStorageBackend(dir)) {
+            jdbc.constantPrefixes().put("OPS");
+
+            assertFalse(StorageMigration.migrateIfEmpty(csv, jdbc));
+            assertEquals(List.of("OPS"), jdbc.constantPrefixes().findAll());
+        }
+    }
+
+    @Test
+    void databaseKeepsInsertionOrderAcrossUpdates() {
+        try (JdbcStorageBackend jdbc = new JdbcStorageBackend(dir)) {
+            RecordStore<FavoriteWorklog> favorites = jdbc.favorites();
+            favorites.put(new FavoriteWorklog("a", "DUM-1", "first", 15));
+            favorites.put(new FavoriteWorklog("b", "DUM-2", "second", 15));
+            favorites.put(new FavoriteWorklog("a", "DUM-1", "first, edited", 45));
+            favorites.delete("missing");
+
+            List<FavoriteWorklog> all = favorites.findAll();
+            assertEquals(List.of("a", "b"), all.stream().map(FavoriteWorklog::getId).toList());
+            assertEquals(45, all.get(0).getDefaultTimeMinutes());
+        }
+
+        // reopened from disk
+        try (JdbcStorageBackend jdbc = new JdbcStorageBackend(dir)) {
+            assertEquals("first, edited", jdbc.favorites().findById("a").orElseThrow().getComment());
+        }
+    }
+}
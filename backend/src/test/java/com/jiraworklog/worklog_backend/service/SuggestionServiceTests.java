@@ -0,0 +1,140 @@
+package com.jiraworklog.worklog_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.jiraworklog.worklog_backend.dto.JiraWorklogResponse;
+import com.jiraworklog.worklog_backend.dto.PrefixMapping;
+import com.jiraworklog.worklog_backend.dto.SuggestionExplanation;
+import com.jiraworklog.worklog_backend.dto.WorklogRequest;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class SuggestionServiceTests {
+
+    @TempDir
+    Path dir;
+
+    private CsvStorageBackend storage;
+    private PrefixesService prefixes;
+    private WorklogMirrorService mirror;
+    private RulesMappingService rulesMapping;
+    private List<Map<String, String>> rules = List.of();
+    private SuggestionService suggestions;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(dir.resolve("prefixes.csv"), """
+                p1,daily,[SCM],Daily,true
+                p2,he,[HE],He,true
+                p3,she,[SHE],She,true
+                p4,hers,[HE],Hers,true
+                p5,review,[REV],Review,false
+                p6,Code Review,[CR],Code review,true
+                """);
+        storage = new CsvStorageBackend(dir, true, new DataFileWatcher(), new JsonMapper());
+        prefixes = new PrefixesService(storage);
+        prefixes.init();
+        mirror = new WorklogMirrorService(new JiraService(new RestTemplate()));
+        CsvService csv = new CsvService() {
+            @Override
+            public List<Map<String, String>> loadRulesMappings() {
+                return rules;
+            }
+        };
+        rulesMapping = new RulesMappingService(csv, new DataFileWatcher());
+        rulesMapping.init();
+        suggestions = new SuggestionService(prefixes, rulesMapping, mirror);
+        ReflectionTestUtils.setField(suggestions, "worklogUsername", "a");
+        ReflectionTestUtils.setField(suggestions, "halfLifeDays", 30.0);
+        ReflectionTestUtils.setField(suggestions, "projectWeight", 0.25);
+        ReflectionTestUtils.setField(suggestions, "learnedLimit", 2);
+        suggestions.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+    }
+
+    @Test
+    void suggestsPrefixesOfOverlappingKeywordsInMappingOrder() {
+        assertEquals(List.of("[HE]", "[SHE]"), suggestions.suggestPrefixes(null, "USHERS"));
+        assertEquals(List.of("[SCM]", "[CR]"), suggestions.suggestPrefixes(null, "daily code review"));
+        assertEquals(List.of(), suggestions.suggestPrefixes(null, "review"));
+        assertEquals(List.of(), suggestions.suggestPrefixes(null, null));
+    }
+
+    @Test
+    void followsPrefixChanges() {
+        assertEquals(List.of(), suggestions.suggestPrefixes(null, "planning"));
+        PrefixMapping planning = new PrefixMapping();
+        planning.setType("plan");
+        planning.setPrefix("[PLN]");
+        planning.setEnabled(true);
+        prefixes.addPrefix(planning);
+        assertEquals(List.of("[PLN]"), suggestions.suggestPrefixes(null, "planning"));
+        prefixes.deletePrefix("p1");
+        assertEquals(List.of(), suggestions.suggestPrefixes(null, "daily"));
+    }
+
+    @Test
+    void learnsRecentCommentsAndPrefixesPerTicketAndProject() {
+        LocalDate today = LocalDate.now();
+        created(1, "DUM-1", "[DEV] code review", today.minusDays(120));
+        created(2, "DUM-1", "[DEV] code review", today.minusDays(100));
+        created(3, "DUM-1", "[SCM][DEV]  standup ", today.minusDays(1));
+        created(4, "DUM-2", "[ANA] estimation", today);
+        // the same worklog again, as after a sync
+        created(3, "DUM-1", "[SCM][DEV]  standup ", today.minusDays(1));
+
+        // two reviews months ago weigh less than yesterday's standup, and even than today's estimation elsewhere in the project
+        assertEquals(List.of("standup", "estimation"), suggestions.suggestComments("dum-1"));
+        assertEquals(List.of("[SCM]", "DEV", "SCM"), suggestions.suggestPrefixes("DUM-1", "daily"));
+        // a ticket never worked on gets its project's history
+        assertEquals(List.of("estimation", "standup"), suggestions.suggestComments("DUM-99"));
+        assertEquals(List.of(), suggestions.suggestComments("OTHER-1"));
+    }
+
+    @Test
+    void explainsRuleMatchesAndPicksUpNewRules() {
+        rules = List.of(
+                Map.of("type", "DUM", "prefix", "[DUM]", "defaultComment", ""),
+                Map.of("type", "OPS", "prefix", "[OPS]", "defaultComment", "Standup"),
+                Map.of("type", "DUM-1", "prefix", "[ONE]", "defaultComment", "daily"));
+        rulesMapping.reload();
+
+        List<SuggestionExplanation> explained = suggestions.explainPrefixes("dum-12", "Daily STANDUP");
+        assertEquals(List.of("DUM:rule-ticket-key:DUM", "OPS:rule-keyword:Standup", "ONE:rule-ticket-key:DUM-1",
+                "ONE:rule-keyword:daily", "[SCM]:prefix-mapping:daily"), explained.stream()
+                .map(e -> e.getPrefix() + ":" + e.getSource() + ":" + e.getMatch()).toList());
+        assertEquals(List.of("DUM", "OPS", "ONE", "[SCM]"), SuggestionService.prefixesOf(explained));
+
+        rules = List.of(Map.of("type", "OPS", "prefix", "OPS", "defaultComment", "standup"));
+        rulesMapping.reload();
+        assertEquals(List.of(), suggestions.suggestPrefixes("DUM-12", "review"));
+    }
+
+    private void created(long id, String ticketKey, String comment, LocalDate date) {
+        WorklogRequest request = new WorklogRequest();
+        request.setTicketKey(ticketKey);
+        request.setComment(comment);
+        request.setUsername("a");
+        request.setDate(date.toString());
+        JiraWorklogResponse response = new JiraWorklogResponse();
+        response.setId(Long.toString(id));
+        mirror.recordCreated(request, response);
+    }
+}
@@ -0,0 +1,72 @@
+package com.jiraworklog.worklog_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.jiraworklog.worklog_backend.dto.WorklogEntry;
+import com.jiraworklog.worklog_backend.dto.WorklogGapDay;
+import com.jiraworklog.worklog_backend.dto.WorklogGapReport;
+
+class TimesheetGapServiceTests {
+
+    private final TimesheetGapService service = new TimesheetGapService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxHours", 12.0);
+        ReflectionTestUtils.setField(service, "holidays", new String[] {"2025-12-25", "2025-12-26", "not-a-date"});
+        service.init();
+    }
+
+    @Test
+    void flagsShortWorkingDaysAndOverbookedDays() {
+        // Mon 2025-12-22 .. Sun 2025-12-28; 25th and 26th are holidays
+        List<WorklogEntry> entries = List.of(
+                entry("2025-12-22", 8 * 3600),
+                entry("2025-12-23", 4 * 3600),
+                entry("2025-12-23", 3600),
+                entry("2025-12-24", 13 * 3600),
+                entry("2025-12-27", 13 * 3600),
+                entry("2025-12-29", 3600));
+        WorklogGapReport report = service.findGaps(entries, LocalDate.parse("2025-12-22"), LocalDate.parse("2025-12-28"), 8);
+
+        assertEquals(3, report.getWorkingDays());
+        assertEquals(3 * 8 * 3600, report.getExpectedSeconds());
+        assertEquals(39 * 3600, report.getLoggedSeconds());
+        assertEquals(List.of("2025-12-23 deficit -10800", "2025-12-24 surplus 3600", "2025-12-27 surplus 3600"), describe(report));
+        assertEquals(1, report.getDeficitDays());
+        assertEquals(3 * 3600, report.getDeficitSeconds());
+        assertEquals(2, report.getSurplusDays());
+        assertEquals(2 * 3600, report.getSurplusSeconds());
+    }
+
+    @Test
+    void coversAFullYear() {
+        WorklogGapReport report = service.findGaps(List.of(), LocalDate.parse("2024-01-01"), LocalDate.parse("2024-12-31"), 7.5);
+        // 2024 has 262 weekdays
+        assertEquals(262, report.getWorkingDays());
+        assertEquals(262, report.getDeficitDays());
+        assertEquals(27000, report.getTargetSeconds());
+        assertEquals(262L * 27000, report.getDeficitSeconds());
+    }
+
+    private static List<String> describe(WorklogGapReport report) {
+        List<String> out = new ArrayList<>();
+        for (WorklogGapDay day : report.getDays()) out.add(day.getDate() + " " + day.getType() + " " + day.getDeltaSeconds());
+        return out;
+    }
+
+    private static WorklogEntry entry(String date, int seconds) {
+        WorklogEntry we = new WorklogEntry();
+        we.setDate(date);
+        we.setTimeSpentSeconds(seconds);
+        return we;
+    }
+}
@@ -0,0 +1,75 @@
+package com.jiraworklog.worklog_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.jiraworklog.worklog_backend.dto.WorklogAggregate;
+import com.jiraworklog.worklog_backend.dto.WorklogAggregation;
+import com.jiraworklog.worklog_backend.dto.WorklogEntry;
+
+class WorklogAggregatorTests {
+
+    private final List<WorklogEntry> entries = List.of(
+            entry("2025-12-28", "DUM-1", 3600, "[DEV][SCM] daily"),
+            entry("2025-12-29", "DUM-2", 1800, "[DEV] review"),
+            entry("2025-12-29", "DUM-1", 5400, "estimation"),
+            entry("2026-01-04", "DUM-2", 900, "[SCM] release [DEV]"));
+
+    @Test
+    void groupsByDayAndIsoWeekInDateOrder() {
+        WorklogAggregation byDay = WorklogAggregator.aggregate(entries, WorklogAggregator.DAY, "2025-12-28", "2026-01-04");
+        assertEquals(11700, byDay.getTimeSpentSeconds());
+        assertEquals(4, byDay.getWorklogCount());
+        assertEquals(List.of("2025-12-28", "2025-12-29", "2026-01-04"), keys(byDay));
+        assertEquals(7200, byDay.getGroups().get(1).getTimeSpentSeconds());
+        assertEquals("2 godz.", byDay.getGroups().get(1).getWorkTime());
+
+        // 2025-12-29 starts ISO week 1 of 2026
+        WorklogAggregation byWeek = WorklogAggregator.aggregate(entries, WorklogAggregator.WEEK, null, null);
+        assertEquals(List.of("2025-W52", "2026-W01"), keys(byWeek));
+        assertEquals(8100, byWeek.getGroups().get(1).getTimeSpentSeconds());
+        assertEquals(3, byWeek.getGroups().get(1).getWorklogCount());
+    }
+
+    @Test
+    void groupsByTicketAndPrefixMostTimeFirst() {
+        WorklogAggregation byTicket = WorklogAggregator.aggregate(entries, WorklogAggregator.TICKET, null, null);
+        assertEquals(List.of("DUM-1", "DUM-2"), keys(byTicket));
+        assertEquals(9000, byTicket.getGroups().get(0).getTimeSpentSeconds());
+
+        // only leading tags count: the trailing [DEV] of "release" is text
+        WorklogAggregation byPrefix = WorklogAggregator.aggregate(entries, WorklogAggregator.PREFIX, null, null);
+        assertEquals(List.of("", "DEV", "SCM"), keys(byPrefix));
+        assertEquals(5400, byPrefix.getGroups().get(0).getTimeSpentSeconds());
+        assertEquals(5400, byPrefix.getGroups().get(1).getTimeSpentSeconds());
+        assertEquals(2, byPrefix.getGroups().get(1).getWorklogCount());
+        assertEquals(4500, byPrefix.getGroups().get(2).getTimeSpentSeconds());
+        assertEquals(11700, byPrefix.getTimeSpentSeconds());
+    }
+
+    @Test
+    void rejectsUnknownGrouping() {
+        assertFalse(WorklogAggregator.isGroupBy("month"));
+        assertFalse(WorklogAggregator.isGroupBy(null));
+    }
+
+    private static List<String> keys(WorklogAggregation aggregation) {
+        List<String> out = new ArrayList<>();
+        for (WorklogAggregate group : aggregation.getGroups()) out.add(group.getKey());
+        return out;
+    }
+
+    private static WorklogEntry entry(String date, String ticket, int seconds, String comment) {
+        WorklogEntry we = new WorklogEntry();
+        we.setDate(date);
+        we.setTicketNumber(ticket);
+        we.setTimeSpentSeconds(seconds);
+        we.setComment(comment);
+        return we;
+    }
+}
@@ -0,0 +1,88 @@
+package com.jiraworklog.worklog_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.jiraworklog.worklog_backend.dto.WorklogRecord;
+
+class WorklogColumnsTests {
+
+    private final WorklogColumns columns = new WorklogColumns();
+
+    @Test
+    void decodesWhatWasPutAndReplacesById() {
+        columns.put(record(1, "2026-01-08T09:15:00.000+0100", "DUM-1", 3600, "[DEV] review"));
+        columns.put(record(2, null, null, 0, null));
+        columns.put(record(1, "2026-01-09T10:00:00.000+0100", "DUM-2", 1800, "[DEV] review"));
+
+        WorklogRecord rec = columns.get(1);
+        assertEquals(2, columns.size());
+        assertEquals("2026-01-09T10:00:00.000+0100", rec.getStarted());
+        assertEquals("DUM-2", rec.getIssueKey());
+        assertEquals("a", rec.getAuthor());
+        assertEquals(1800, rec.getTimeSpentSeconds());
+        assertEquals("[DEV] review", rec.getComment());
+        assertNull(columns.get(2).getStarted());
+        assertNull(columns.get(2).getComment());
+    }
+
+    @Test
+    void scansDateRangesInDateOrderAfterRemovals() {
+        for (int i = 0; i < 40; i++) {
+            columns.put(record(i, String.format("2026-01-%02dT09:00:00.000+0100", 28 - i % 28), "DUM-" + i % 3, 60, "daily"));
+        }
+        assertTrue(columns.remove(5));
+        assertFalse(columns.remove(5));
+
+        List<String> dates = new ArrayList<>();
+        columns.scan(WorklogMirrorSnapshot.epochDay("2026-01-22"), WorklogMirrorSnapshot.epochDay("2026-01-23"),
+                rec -> dates.add(rec.getDate() + "#" + rec.getWorklogId()));
+        // worklog 5 (2026-01-23) was removed; 33 is the other one on that day
+        assertEquals(List.of("2026-01-22#6", "2026-01-22#34", "2026-01-23#33"), dates);
+        assertEquals(39, columns.size());
+    }
+
+    @Test
+    void reportsWritesAfterACopy() {
+        columns.put(record(1, "2026-01-08T09:00:00.000+0100", "DUM-1", 60, "a"));
+        List<WorklogRecord> copied = new ArrayList<>();
+        long stamp = columns.copyTo(copied);
+        columns.put(record(2, "2026-01-08T09:00:00.000+0100", "DUM-1", 60, "b"));
+
+        List<Long> later = new ArrayList<>();
+        columns.forEachWrittenAfter(stamp, rec -> later.add(rec.getWorklogId()));
+        assertEquals(1, copied.size());
+        assertEquals(List.of(2L), later);
+    }
+
+    @Test
+    void isSmallerThanOneObjectPerRow() {
+        for (int i = 0; i < 5000; i++) {
+            columns.put(record(i, "2026-01-" + (10 + i % 20) + "T09:00:00.000+0100", "DUM-" + i % 50, 900, "[DEV] daily standup"));
+        }
+        WorklogColumns.Footprint footprint = columns.footprint();
+        assertEquals(5000, footprint.rows());
+        assertEquals(1, footprint.distinctComments());
+        assertTrue(footprint.columnarBytes() * 3 < footprint.rowObjectBytes(), footprint.toString());
+    }
+
+    private static WorklogRecord record(long id, String started, String issueKey, int seconds, String comment) {
+        WorklogRecord rec = new WorklogRecord();
+        rec.setWorklogId(id);
+        rec.setIssueId(issueKey == null ? null : "1" + issueKey.substring(4));
+        rec.setIssueKey(issueKey);
+        rec.setAuthor("a");
+        rec.setAuthorDisplayName("Arek");
+        rec.setStarted(started);
+        rec.setTimeSpentSeconds(seconds);
+        rec.setComment(comment);
+        return rec;
+    }
+}
@@ -0,0 +1,170 @@
+package com.jiraworklog.worklog_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.jiraworklog.worklog_backend.dto.WorklogEntry;
+import com.jiraworklog.worklog_backend.dto.WorklogHistoryItem;
+import com.jiraworklog.worklog_backend.support.FakeJiraServer;
+
+class WorklogMirrorServiceTests {
+
+    @TempDir
+    Path dir;
+
+    private final String today = LocalDate.now().toString();
+
+    private FakeJiraServer jira;
+    private JiraService jiraService;
+    private WorklogMirrorService mirror;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jira = new FakeJiraServer();
+        jiraService = new JiraService(new RestTemplate());
+        ReflectionTestUtils.setField(jiraService, "jiraUrl", jira.url());
+        ReflectionTestUtils.setField(jiraService, "worklogFetchConcurrency", 4);
+        ReflectionTestUtils.setField(jiraService, "searchPageSize", 50);
+        mirror = newMirror();
+    }
+
+    private WorklogMirrorService newMirror() {
+        WorklogMirrorService m = new WorklogMirrorService(jiraService);
+        ReflectionTestUtils.setField(m, "enabled", true);
+        ReflectionTestUtils.setField(m, "initialDays", 30);
+        ReflectionTestUtils.setField(m, "snapshotDir", dir.toString());
+        return m;
+    }
+
+    @AfterEach
+    void tearDown() {
+        jira.close();
+    }
+
+    @Test
+    void initialSyncServesRangeFromMirror() {
+        FakeJiraServer.Issue issue = jira.addIssue("DUM-1", "Daily");
+        jira.addWorklog(issue, "a", today + "T09:00:00.000+0000", 5400, "[SCM] daily");
+        jira.addWorklog(issue, "someone-else", today + "T10:00:00.000+0000", 600, "other");
+
+        assertFalse(mirror.covers(today));
+        mirror.sync();
+
+        assertTrue(mirror.covers(today));
+        List<WorklogEntry> entries = mirror.getWorklogsBetween(today, today, "a");
+        assertEquals(1, entries.size());
+        assertEquals("DUM-1", entries.get(0).getTicketNumber());
+        assertEquals("1 godz. 30 min", entries.get(0).getWorkTime());
+
+        List<WorklogHistoryItem> history = mirror.getHistory(7, "a");
+        assertEquals(1, history.size());
+        assertEquals("Daily", history.get(0).getSummary());
+    }
+
+    @Test
+    void historyWindowIsCountedInUtcLikeTheCoverage() {
+        String oldest = LocalDate.now(ZoneOffset.UTC).minusDays(30).toString();
+        FakeJiraServer.Issue issue = jira.addIssue("DUM-5", "Planning");
+        jira.addWorklog(issue, "a", oldest + "T12:00:00.000+0000", 900, "planning");
+        mirror.sync();
+
+        TimeZone zone = TimeZone.getDefault();
+        // UTC-12 and UTC+14: at any hour, at least one of them is on a different date than UTC
+        for (String id : List.of("Etc/GMT+12", "Etc/GMT-14")) {
+            try {
+                TimeZone.setDefault(TimeZone.getTimeZone(id));
+                assertTrue(mirror.coversHistory(30), id);
+                assertFalse(mirror.coversHistory(31), id);
+                assertEquals(List.of("DUM-5"), mirror.getHistory(30, "a").stream().map(WorklogHistoryItem::getTicketKey).toList(), id);
+            } finally {
+                TimeZone.setDefault(zone);
+            }
+        }
+    }
+
+    @Test
+    void incrementalSyncAppliesUpdatesAndDeletesSinceHighWaterMark() {
+        FakeJiraServer.Issue issue = jira.addIssue("DUM-2", "Meetings");
+        FakeJiraServer.Worklog kept = jira.addWorklog(issue, "a", today + "T09:00:00.000+0000", 900, "standup");
+        FakeJiraServer.Worklog removed = jira.addWorklog(issue, "a", today + "T11:00:00.000+0000", 1800, "review");
+        mirror.sync();
+        long mark = mirror.getStatus().getHighWaterMark();
+
+        jira.updateWorklog(kept.id(), 1200, "standup + planning");
+        jira.deleteWorklog(removed.id());
+        mirror.sync();
+
+        assertEquals(mark, jira.updatedSinceRequests().get(jira.updatedSinceRequests().size() - 1));
+        List<WorklogEntry> entries = mirror.getWorklogsBetween(today, today, "a");
+        assertEquals(1, entries.size());
+        assertEquals("standup + planning", entries.get(0).getComment());
+        assertEquals("20 min", entries.get(0).getWorkTime());
+    }
+
+    @Test
+    void syncFailsAndKeepsItsMarkWhenWorklogListHasNoBody() {
+        FakeJiraServer.Issue issue = jira.addIssue("DUM-4", "Ops");
+        jira.addWorklog(issue, "a", today + "T09:00:00.000+0000", 900, "deploy");
+        mirror.sync();
+        long mark = mirror.getStatus().getHighWaterMark();
+
+        jira.addWorklog(issue, "a", today + "T10:00:00.000+0000", 600, "rollback");
+        jira.answerWithEmptyBody("/rest/api/2/worklog/list");
+        assertThrows(IllegalStateException.class, mirror::sync);
+        assertEquals(mark, mirror.getStatus().getHighWaterMark());
+        assertEquals(1, mirror.getWorklogsBetween(today, today, "a").size());
+
+        jira.clearEmptyBodies();
+        mirror.sync();
+        assertEquals(2, mirror.getWorklogsBetween(today, today, "a").size());
+    }
+
+    @Test
+    void restartsFromSnapshotAndSyncsOnlyLaterChanges() throws Exception {
+        FakeJiraServer.Issue issue = jira.addIssue("DUM-3", "Support");
+        FakeJiraServer.Worklog first = jira.addWorklog(issue, "a", today + "T09:00:00.000+0000", 900, "ticket, triage");
+        jira.addWorklog(issue, "a", today + "T13:00:00.000+0000", 1800, "call");
+        mirror.sync();
+        mirror.writeSnapshot();
+        long mark = mirror.getStatus().getHighWaterMark();
+
+        WorklogMirrorService restarted = newMirror();
+        restarted.loadSnapshot();
+        assertTrue(restarted.covers(today));
+        assertEquals(2, restarted.getStatus().getWorklogCount());
+        assertEquals("ticket, triage", restarted.getWorklogsBetween(today, today, "a").get(0).getComment());
+        assertEquals("Support", restarted.getHistory(7, "a").get(0).getSummary());
+
+        jira.updateWorklog(first.id(), 600, "triage");
+        restarted.sync();
+        assertEquals(mark, jira.updatedSinceRequests().get(jira.updatedSinceRequests().size() - 1));
+        List<WorklogEntry> entries = restarted.getWorklogsBetween(today, today, "a");
+        assertEquals(2, entries.size());
+        assertEquals("triage", entries.get(0).getComment());
+
+        // the updated row replaces its snapshot copy in the next generation
+        restarted.writeSnapshot();
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(List.of("worklog-mirror-2.snapshot"), files.map(f -> f.getFileName().toString()).toList());
+        }
+        assertEquals(2, restarted.getStatus().getWorklogCount());
+        assertEquals("triage", restarted.getWorklogsBetween(today, today, "a").get(0).getComment());
+    }
+}
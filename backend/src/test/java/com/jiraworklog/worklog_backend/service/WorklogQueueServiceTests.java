@@ -0,0 +1,197 @@
+package com.jiraworklog.worklog_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.jiraworklog.worklog_backend.dto.QueuedWorklog;
+import com.jiraworklog.worklog_backend.dto.WorklogRequest;
+import com.jiraworklog.worklog_backend.support.FakeJiraServer;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class WorklogQueueServiceTests {
+
+    @TempDir
+    Path dir;
+
+    private FakeJiraServer jira;
+    private JiraService jiraService;
+    private WorklogQueueService queue;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jira = new FakeJiraServer();
+        jira.addIssue("DUM-1", "Daily");
+        jiraService = new JiraService(new RestTemplate());
+        ReflectionTestUtils.setField(jiraService, "jiraUrl", jira.url());
+        queue = newQueue(0, 0);
+    }
+
+    // does not start the dispatcher; tests call drain() themselves
+    private WorklogQueueService newQueue(long retryBaseMs, long retryMaxMs) throws Exception {
+        WorklogQueueService q = new WorklogQueueService(jiraService, new WorklogMirrorService(jiraService), new JsonMapper());
+        ReflectionTestUtils.setField(q, "journalFile", dir.resolve("queue.ndjson").toString());
+        ReflectionTestUtils.setField(q, "maxAttempts", 3);
+        ReflectionTestUtils.setField(q, "retryBaseMs", retryBaseMs);
+        ReflectionTestUtils.setField(q, "retryMaxMs", retryMaxMs);
+        ReflectionTestUtils.setField(q, "sentRetentionDays", 7);
+        q.replay();
+        return q;
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        queue.stop();
+        jira.close();
+    }
+
+    private static WorklogRequest request(String ticketKey, String comment) {
+        WorklogRequest r = new WorklogRequest();
+        r.setTicketKey(ticketKey);
+        r.setTimeSpentSeconds(900);
+        r.setComment(comment);
+        r.setDate(LocalDate.now().toString());
+        return r;
+    }
+
+    private static void waitUntil(long millis) throws InterruptedException {
+        Thread.sleep(Math.max(0, millis - System.currentTimeMillis()) + 5);
+    }
+
+    @Test
+    void replaysJournalAfterRestart() throws Exception {
+        QueuedWorklog sent = queue.submit(request("DUM-1", "standup"), "key-1");
+        queue.drain();
+        jira.setErrorRate(1.0);
+        QueuedWorklog pending = queue.submit(request("DUM-1", "review"), null);
+        queue.drain();
+        queue.stop();
+
+        queue = newQueue(0, 0);
+        QueuedWorklog replayedSent = queue.get(sent.getId());
+        assertEquals(QueuedWorklog.SENT, replayedSent.getStatus());
+        assertEquals(1, jira.worklogCount());
+        QueuedWorklog replayedPending = queue.get(pending.getId());
+        assertEquals(QueuedWorklog.PENDING, replayedPending.getStatus());
+        assertEquals(1, replayedPending.getAttempts());
+        assertTrue(replayedPending.getLastError().contains("503"));
+        assertEquals(sent.getId(), queue.submit(request("DUM-1", "standup"), "key-1").getId());
+
+        jira.setErrorRate(0);
+        queue.drain();
+        assertEquals(QueuedWorklog.SENT, queue.get(pending.getId()).getStatus());
+        assertEquals(2, jira.worklogCount());
+    }
+
+    @Test
+    void backsOffExponentiallyAndFailsAfterMaxAttempts() throws Exception {
+        queue.stop();
+        queue = newQueue(100, 150);
+        jira.setErrorRate(1.0);
+        QueuedWorklog e = queue.submit(request("DUM-1", "daily"), null);
+
+        queue.drain();
+        QueuedWorklog first = queue.get(e.getId());
+        assertEquals(1, first.getAttempts());
+        assertEquals(100, first.getNextAttemptAt() - first.getUpdatedAt());
+        queue.drain(); // not due yet
+        assertEquals(1, queue.get(e.getId()).getAttempts());
+
+        waitUntil(first.getNextAttemptAt());
+        queue.drain();
+        QueuedWorklog second = queue.get(e.getId());
+        assertEquals(2, second.getAttempts());
+        assertEquals(150, second.getNextAttemptAt() - second.getUpdatedAt());
+
+        waitUntil(second.getNextAttemptAt());
+        queue.drain();
+        assertEquals(QueuedWorklog.FAILED, queue.get(e.getId()).getStatus());
+
+        jira.setErrorRate(0);
+        assertEquals(QueuedWorklog.PENDING, queue.retry(e.getId()).getStatus());
+        queue.drain();
+        assertEquals(QueuedWorklog.SENT, queue.get(e.getId()).getStatus());
+        assertEquals(1, jira.worklogCount());
+    }
+
+    @Test
+    void retryAfterServerErrorFindsWorklogJiraAlreadyStored() {
+        jira.failAfterCommit(1);
+        QueuedWorklog e = queue.submit(request("DUM-1", "deploy"), null);
+
+        queue.drain();
+        QueuedWorklog failed = queue.get(e.getId());
+        assertEquals(QueuedWorklog.PENDING, failed.getStatus());
+        assertTrue(failed.isInDoubt());
+        assertEquals(1, jira.worklogCount());
+
+        queue.drain();
+        QueuedWorklog sent = queue.get(e.getId());
+        assertEquals(QueuedWorklog.SENT, sent.getStatus());
+        assertFalse(sent.isInDoubt());
+        assertEquals(1, jira.worklogCount());
+    }
+
+    @Test
+    void entryStaysInDoubtAcrossRestart() throws Exception {
+        jira.failAfterCommit(1);
+        QueuedWorklog e = queue.submit(request("DUM-1", "deploy"), null);
+        queue.drain();
+        queue.stop();
+
+        queue = newQueue(0, 0);
+        assertTrue(queue.get(e.getId()).isInDoubt());
+        queue.drain();
+        assertEquals(QueuedWorklog.SENT, queue.get(e.getId()).getStatus());
+        assertEquals(1, jira.worklogCount());
+    }
+
+    @Test
+    void rejectedWorklogFailsAtOnceAndIsNotInDoubt() {
+        QueuedWorklog e = queue.submit(request("NOPE-1", "typo"), null);
+        queue.drain();
+        QueuedWorklog failed = queue.get(e.getId());
+        assertEquals(QueuedWorklog.FAILED, failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+        assertFalse(failed.isInDoubt());
+    }
+
+    @Test
+    void compactionDropsOldSentEntriesWhileRunning() throws Exception {
+        ReflectionTestUtils.setField(queue, "sentRetentionDays", 0);
+        QueuedWorklog sent = queue.submit(request("DUM-1", "standup"), "key-1");
+        queue.drain();
+        jira.setErrorRate(1.0);
+        QueuedWorklog pending = queue.submit(request("DUM-1", "review"), null);
+        queue.drain();
+        Thread.sleep(5);
+
+        synchronized (queue) {
+            queue.compact();
+        }
+        assertNull(queue.get(sent.getId()));
+        assertEquals(List.of(pending.getId()), queue.list(null).stream().map(QueuedWorklog::getId).toList());
+        // one SUBMITTED and one RETRY record left for the pending entry
+        assertEquals(2, Files.readAllLines(dir.resolve("queue.ndjson")).size());
+
+        queue.stop();
+        queue = newQueue(0, 0);
+        QueuedWorklog replayed = queue.get(pending.getId());
+        assertEquals(1, replayed.getAttempts());
+        assertTrue(replayed.isInDoubt());
+    }
+}
@@ -0,0 +1,93 @@
+package com.jiraworklog.worklog_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.jiraworklog.worklog_backend.dto.WorklogEntry;
+import com.jiraworklog.worklog_backend.support.FakeJiraServer;
+
+class WorklogSearchIndexTests {
+
+    private final LocalDate today = LocalDate.now();
+
+    private FakeJiraServer jira;
+    private WorklogMirrorService mirror;
+    private WorklogSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jira = new FakeJiraServer();
+        JiraService jiraService = new JiraService(new RestTemplate());
+        ReflectionTestUtils.setField(jiraService, "jiraUrl", jira.url());
+        ReflectionTestUtils.setField(jiraService, "worklogFetchConcurrency", 4);
+        ReflectionTestUtils.setField(jiraService, "searchPageSize", 50);
+        mirror = new WorklogMirrorService(jiraService);
+        ReflectionTestUtils.setField(mirror, "enabled", true);
+        ReflectionTestUtils.setField(mirror, "initialDays", 30);
+        index = new WorklogSearchIndex(mirror);
+        ReflectionTestUtils.setField(index, "worklogUsername", "a");
+        index.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jira.close();
+    }
+
+    @Test
+    void findsCommentsKeysAndSummariesNewestFirst() {
+        FakeJiraServer.Issue release = jira.addIssue("DUM-1", "Release train");
+        FakeJiraServer.Issue support = jira.addIssue("DUM-2", "Customer support");
+        jira.addWorklog(release, "a", started(3), 3600, "[DEV] release 4.2 hotfix");
+        jira.addWorklog(release, "a", started(1), 1800, "Release 4.2 hotfix, second round");
+        jira.addWorklog(release, "a", started(0), 900, "release 4.3 planning");
+        jira.addWorklog(support, "a", started(2), 600, "hotfix for a customer");
+        jira.addWorklog(support, "someone-else", started(0), 600, "release 4.2 hotfix");
+        mirror.sync();
+
+        WorklogSearchIndex.Result result = index.search("release 4.2 HOTFIX", null, null, 10);
+        assertEquals(2, result.total());
+        assertEquals(List.of("Release 4.2 hotfix, second round", "[DEV] release 4.2 hotfix"), comments(result));
+        assertEquals(3600, result.items().get(1).getTimeSpentSeconds());
+
+        assertEquals(List.of("hotfix for a customer"), comments(index.search("customer hotfix", null, null, 10)));
+        assertEquals(3, index.search("dum-1", null, null, 10).total());
+        assertEquals(3, index.search("train", null, null, 10).total());
+        assertEquals(1, index.search("hotfix", today.minusDays(2).toString(), today.minusDays(1).toString(), 1).items().size());
+        assertEquals(2, index.search("hotfix", today.minusDays(2).toString(), today.minusDays(1).toString(), 1).total());
+        assertEquals(0, index.search("deploy", null, null, 10).total());
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        FakeJiraServer.Issue issue = jira.addIssue("DUM-3", "Ops");
+        FakeJiraServer.Worklog edited = jira.addWorklog(issue, "a", started(1), 600, "database upgrade");
+        FakeJiraServer.Worklog removed = jira.addWorklog(issue, "a", started(0), 600, "database backup");
+        mirror.sync();
+        assertEquals(2, index.search("database", null, null, 10).total());
+
+        jira.updateWorklog(edited.id(), 900, "schema migration");
+        jira.deleteWorklog(removed.id());
+        mirror.sync();
+
+        assertEquals(0, index.search("database", null, null, 10).total());
+        assertEquals(List.of("schema migration"), comments(index.search("migration", null, null, 10)));
+        assertEquals(1, index.size());
+    }
+
+    private String started(int daysAgo) {
+        return today.minusDays(daysAgo) + "T09:00:00.000+0000";
+    }
+
+    private static List<String> comments(WorklogSearchIndex.Result result) {
+        return result.items().stream().map(WorklogEntry::getComment).toList();
+    }
+}
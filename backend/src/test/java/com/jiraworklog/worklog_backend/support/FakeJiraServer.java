@@ -0,0 +1,400 @@
+package com.jiraworklog.worklog_backend.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Minimal in-process stand-in for the Jira REST API v2, backed by in-memory issues and worklogs.
+ * Latency and a failure rate can be injected, and {@link #populate} generates bulk data for load tests.
+ *
+ * <p>{@link #main} runs it standalone on port 8081 (the default {@code jira.url}) for manual testing.
+ */
+public class FakeJiraServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FakeJiraServer.class);
+
+    private static final Pattern ID_IN = Pattern.compile("id in \\(([^)]*)\\)");
+    private static final Pattern ISSUE_PATH = Pattern.compile("/rest/api/2/issue/([^/]+)(/worklog)?");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final JsonMapper json = new JsonMapper();
+
+    private final Map<String, Issue> issuesById = new ConcurrentSkipListMap<>(); // ids grow with insertion, so searches are stable
+    private final Map<String, Issue> issuesByKey = new ConcurrentHashMap<>();
+    private final Map<Long, Worklog> worklogs = new ConcurrentHashMap<>();
+    private final Map<Long, Long> deletedAt = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong(10000);
+
+    private final List<Long> updatedSinceRequests = new CopyOnWriteArrayList<>();
+
+    private volatile long latencyMillis;
+    private volatile long latencyJitterMillis;
+    private volatile double errorRate;
+    private final Set<String> emptyBodyPaths = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> failingPaths = new ConcurrentHashMap<>();
+    private final AtomicInteger failuresAfterCommit = new AtomicInteger();
+    private volatile int failSearchFrom = Integer.MAX_VALUE;
+    private volatile int searchFailureStatus;
+
+    public record Issue(String id, String key, String summary) {}
+
+    public record Worklog(long id, String issueId, String author, String started, int timeSpentSeconds,
+                          String comment, long updatedMillis) {}
+
+    public FakeJiraServer() throws IOException {
+        this(0);
+    }
+
+    public FakeJiraServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/rest/api/2/", this::handle);
+        // one virtual thread per exchange, so injected latency does not serialise concurrent clients
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static void main(String[] args) throws IOException {
+        FakeJiraServer jira = new FakeJiraServer(args.length > 0 ? Integer.parseInt(args[0]) : 8081);
+        jira.populate(100, 20, "a", 30);
+        jira.setLatency(Duration.ofMillis(50), Duration.ofMillis(50));
+        logger.info("Fake Jira listening on {}", jira.url());
+    }
+
+    /**
+     * Every response is delayed by {@code base} plus a uniformly random extra of up to {@code jitter}.
+     */
+    public FakeJiraServer setLatency(Duration base, Duration jitter) {
+        this.latencyMillis = base.toMillis();
+        this.latencyJitterMillis = jitter.toMillis();
+        return this;
+    }
+
+    /**
+     * Answers requests to {@code path} with {@code 200 OK} and no body until {@link #clearEmptyBodies()}.
+     */
+    public FakeJiraServer answerWithEmptyBody(String path) {
+        emptyBodyPaths.add(path);
+        return this;
+    }
+
+    public FakeJiraServer clearEmptyBodies() {
+        emptyBodyPaths.clear();
+        return this;
+    }
+
+    /**
+     * Answers requests to {@code path} with {@code status} and a Jira error body until {@link #clearFailingPaths()}.
+     */
+    public FakeJiraServer failPath(String path, int status) {
+        failingPaths.put(path, status);
+        return this;
+    }
+
+    public FakeJiraServer clearFailingPaths() {
+        failingPaths.clear();
+        failSearchFrom = Integer.MAX_VALUE;
+        return this;
+    }
+
+    /**
+     * Answers searches with {@code startAt >= startAt} with {@code status}, so the first pages succeed and
+     * a later one fails. {@link #clearFailingPaths()} clears it.
+     */
+    public FakeJiraServer failSearchFrom(int startAt, int status) {
+        searchFailureStatus = status;
+        failSearchFrom = startAt;
+        return this;
+    }
+
+    /**
+     * The next {@code count} worklog POSTs store the worklog but answer {@code 503 Service Unavailable},
+     * like a Jira node that fails after committing.
+     */
+    public FakeJiraServer failAfterCommit(int count) {
+        failuresAfterCommit.set(count);
+        return this;
+    }
+
+    /**
+     * Fraction (0..1) of requests answered with {@code 503 Service Unavailable}.
+     */
+    public FakeJiraServer setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    /**
+     * Adds {@code issues} issues ({@code LOAD-1}, {@code LOAD-2}, ...) with {@code worklogsPerIssue}
+     * worklogs each, by {@code author}, spread over the last {@code days} days.
+     */
+    public void populate(int issues, int worklogsPerIssue, String author, int days) {
+        LocalDate today = LocalDate.now();
+        for (int i = 1; i <= issues; i++) {
+            Issue issue = addIssue("LOAD-" + i, "Generated issue " + i);
+            for (int w = 0; w < worklogsPerIssue; w++) {
+                String started = today.minusDays((long) (i + w) % Math.max(1, days)) + "T09:00:00.000+0000";
+                addWorklog(issue, author, started, 900 * (1 + w % 8), "[DEV] generated work " + w);
+            }
+        }
+    }
+
+    public int worklogCount() {
+        return worklogs.size();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public Issue addIssue(String key, String summary) {
+        Issue issue = new Issue(Long.toString(ids.incrementAndGet()), key, summary);
+        issuesById.put(issue.id(), issue);
+        issuesByKey.put(key, issue);
+        return issue;
+    }
+
+    public Worklog addWorklog(Issue issue, String author, String started, int seconds, String comment) {
+        Worklog w = new Worklog(ids.incrementAndGet(), issue.id(), author, started, seconds, comment, System.currentTimeMillis());
+        worklogs.put(w.id(), w);
+        return w;
+    }
+
+    public Worklog updateWorklog(long id, int seconds, String comment) {
+        Worklog old = worklogs.get(id);
+        Worklog w = new Worklog(id, old.issueId(), old.author(), old.started(), seconds, comment, System.currentTimeMillis());
+        worklogs.put(id, w);
+        return w;
+    }
+
+    public void deleteWorklog(long id) {
+        worklogs.remove(id);
+        deletedAt.put(id, System.currentTimeMillis());
+    }
+
+    public List<Long> updatedSinceRequests() {
+        return updatedSinceRequests;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        // drained up front: parsing closes the stream, and an unread body must not be left behind the response
+        byte[] requestBody;
+        try (InputStream in = ex.getRequestBody()) {
+            requestBody = in.readAllBytes();
+        }
+        try {
+            simulateLatency();
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                respond(ex, 503, Map.of("errorMessages", List.of("Injected failure")));
+                return;
+            }
+            String path = ex.getRequestURI().getPath();
+            Integer failure = failingPaths.get(path);
+            if (failure != null) {
+                respond(ex, failure, Map.of("errorMessages", List.of("Injected failure for " + path)));
+                return;
+            }
+            if (emptyBodyPaths.contains(path)) {
+                ex.sendResponseHeaders(200, -1);
+                ex.close();
+                return;
+            }
+            Map<String, String> query = query(ex.getRequestURI());
+            Matcher issuePath = ISSUE_PATH.matcher(path);
+            if (issuePath.matches()) {
+                handleIssue(ex, issuePath.group(1), issuePath.group(2) != null, query, requestBody);
+            } else if (path.equals("/rest/api/2/worklog/updated")) {
+                long since = Long.parseLong(query.getOrDefault("since", "0"));
+                updatedSinceRequests.add(since);
+                Map<Long, Long> changes = new LinkedHashMap<>();
+                worklogs.values().forEach(w -> changes.put(w.id(), w.updatedMillis()));
+                respond(ex, 200, changePage(changes, since));
+            } else if (path.equals("/rest/api/2/worklog/deleted")) {
+                long since = Long.parseLong(query.getOrDefault("since", "0"));
+                respond(ex, 200, changePage(deletedAt, since));
+            } else if (path.equals("/rest/api/2/worklog/list")) {
+                Map<?, ?> body = json.readValue(requestBody, Map.class);
+                List<Object> out = new ArrayList<>();
+                for (Object id : (List<?>) body.get("ids")) {
+                    Worklog w = worklogs.get(((Number) id).longValue());
+                    if (w != null) out.add(worklogJson(w));
+                }
+                respond(ex, 200, out);
+            } else if (path.equals("/rest/api/2/search")) {
+                if (Integer.parseInt(query.getOrDefault("startAt", "0")) >= failSearchFrom) {
+                    respond(ex, searchFailureStatus, Map.of("errorMessages", List.of("Injected search failure")));
+                    return;
+                }
+                respond(ex, 200, search(query));
+            } else {
+                respond(ex, 404, Map.of("errorMessages", List.of("Not found: " + path)));
+            }
+        } catch (RuntimeException e) {
+            respond(ex, 500, Map.of("errorMessages", List.of(String.valueOf(e.getMessage()))));
+        }
+    }
+
+    private void handleIssue(HttpExchange ex, String key, boolean worklogPath, Map<String, String> query,
+                             byte[] requestBody) throws IOException {
+        Issue issue = issuesByKey.get(key);
+        if (issue == null) {
+            respond(ex, 404, Map.of("errorMessages", List.of("Issue does not exist or you do not have permission to see it.")));
+        } else if (!worklogPath) {
+            respond(ex, 200, issueJson(issue));
+        } else if ("POST".equals(ex.getRequestMethod())) {
+            Map<?, ?> body = json.readValue(requestBody, Map.class);
+            Object author = body.get("author") instanceof Map<?, ?> a ? a.get("name") : null;
+            Object started = body.get("started");
+            Object seconds = body.get("timeSpentSeconds");
+            Worklog w = addWorklog(issue, author == null ? "admin" : author.toString(),
+                    started == null ? LocalDate.now() + "T09:00:00.000+0000" : started.toString(),
+                    seconds instanceof Number n ? n.intValue() : 0, (String) body.get("comment"));
+            if (failuresAfterCommit.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                respond(ex, 503, Map.of("errorMessages", List.of("Injected failure after commit")));
+            } else {
+                respond(ex, 201, worklogJson(w));
+            }
+        } else {
+            List<Worklog> all = new ArrayList<>();
+            for (Worklog w : worklogs.values()) {
+                if (w.issueId().equals(issue.id())) all.add(w);
+            }
+            all.sort((a, b) -> Long.compare(a.id(), b.id()));
+            int startAt = Integer.parseInt(query.getOrDefault("startAt", "0"));
+            int maxResults = Integer.parseInt(query.getOrDefault("maxResults", "1000"));
+            List<Object> page = new ArrayList<>();
+            for (int i = startAt; i < Math.min(all.size(), startAt + maxResults); i++) page.add(worklogJson(all.get(i)));
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("startAt", startAt);
+            out.put("maxResults", maxResults);
+            out.put("total", all.size());
+            out.put("worklogs", page);
+            respond(ex, 200, out);
+        }
+    }
+
+    private void simulateLatency() {
+        long millis = latencyMillis + (latencyJitterMillis > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMillis + 1) : 0);
+        if (millis <= 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Map<String, Object> changePage(Map<Long, Long> changes, long since) {
+        List<Object> values = new ArrayList<>();
+        long until = since;
+        for (Map.Entry<Long, Long> e : changes.entrySet()) {
+            if (e.getValue() < since) continue;
+            values.add(Map.of("worklogId", e.getKey(), "updatedTime", e.getValue()));
+            until = Math.max(until, e.getValue());
+        }
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("values", values);
+        page.put("since", since);
+        page.put("until", until);
+        page.put("lastPage", true);
+        return page;
+    }
+
+    private Map<String, Object> search(Map<String, String> query) {
+        String jql = query.getOrDefault("jql", "");
+        int startAt = Integer.parseInt(query.getOrDefault("startAt", "0"));
+        int maxResults = Integer.parseInt(query.getOrDefault("maxResults", "50"));
+        List<Issue> matches = new ArrayList<>();
+        Matcher m = ID_IN.matcher(jql);
+        if (m.find()) {
+            for (String id : m.group(1).split(",")) {
+                Issue issue = issuesById.get(id.trim());
+                if (issue != null) matches.add(issue);
+            }
+        } else {
+            matches.addAll(issuesById.values());
+        }
+        List<Object> issues = new ArrayList<>();
+        for (int i = startAt; i < Math.min(matches.size(), startAt + maxResults); i++) {
+            issues.add(issueJson(matches.get(i)));
+        }
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("startAt", startAt);
+        out.put("maxResults", maxResults);
+        out.put("total", matches.size());
+        out.put("issues", issues);
+        return out;
+    }
+
+    private static Map<String, Object> issueJson(Issue issue) {
+        return Map.of("id", issue.id(), "key", issue.key(), "fields", Map.of("summary", issue.summary()));
+    }
+
+    private Map<String, Object> worklogJson(Worklog w) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("id", Long.toString(w.id()));
+        out.put("issueId", w.issueId());
+        out.put("author", Map.of("name", w.author(), "displayName", w.author()));
+        out.put("started", w.started());
+        out.put("timeSpentSeconds", w.timeSpentSeconds());
+        out.put("comment", w.comment() == null ? "" : w.comment());
+        return out;
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> out = new HashMap<>();
+        String raw = uri.getRawQuery();
+        if (raw == null) return out;
+        for (String part : raw.split("&")) {
+            int eq = part.indexOf('=');
+            if (eq < 0) continue;
+            out.put(part.substring(0, eq), URLDecoder.decode(part.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return out;
+    }
+
+    private void respond(HttpExchange ex, int status, Object body) throws IOException {
+        byte[] bytes = json.writeValueAsBytes(body);
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
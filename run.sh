@@ -12,5 +12,9 @@ if [ -f "$ROOT_DIR/.env" ]; then
   echo "Using .env from: $ROOT_DIR/.env"
 fi
 
-java -jar "$JAR_PATH" "$@"
+# Connection pool of the JDK HTTP client used for Jira calls. These are JVM-wide settings, so they
+# are passed here rather than in application.properties; set JAVA_OPTS to override them.
+JAVA_OPTS="${JAVA_OPTS:--Djdk.httpclient.keepalive.timeout=120}"
+
+java $JAVA_OPTS -jar "$JAR_PATH" "$@"
 